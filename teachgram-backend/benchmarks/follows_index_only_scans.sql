@@ -0,0 +1,44 @@
+-- Confere que as consultas de relacionamento de follows rodam como Index Only Scan.
+--
+-- Uso (banco com as migrations aplicadas e alguns dados de follows):
+--   psql "$POSTGRES_DB" -v follower="'<uuid>'" -v following="'<uuid>'" -f benchmarks/follows_index_only_scans.sql
+--
+-- Em cada plano, o nó sobre follows deve ser "Index Only Scan" com "Heap Fetches: 0"
+-- (logo após o VACUUM). Heap fetches altos em produção indicam visibility map
+-- desatualizado, ou seja, autovacuum atrasado para a tabela.
+
+\set ON_ERROR_STOP on
+
+VACUUM (ANALYZE) follows;
+
+\echo '== Existência: follower segue following? (PK follows_pkey)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT 1 FROM follows WHERE follower_id = :follower AND following_id = :following LIMIT 1;
+
+\echo '== Existência inversa: following segue follower? (PK follows_pkey)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT 1 FROM follows WHERE following_id = :follower AND follower_id = :following LIMIT 1;
+
+\echo '== Status em lote (findFollowerIdsAmong, PK follows_pkey)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT follower_id FROM follows WHERE following_id = :following AND follower_id IN (:follower);
+
+\echo '== Contadores (countByFollower_Id / countByFollowing_Id)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT count(*) FROM follows WHERE follower_id = :follower;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT count(*) FROM follows WHERE following_id = :following;
+
+\echo '== Primeira página de seguidores (idx_follows_following_keyset)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT f.follower_id, f.followed_at FROM follows f
+WHERE f.following_id = :following
+ORDER BY f.followed_at DESC, f.follower_id DESC
+LIMIT 21;
+
+\echo '== Primeira página de seguindo (idx_follows_follower_keyset)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT f.following_id, f.followed_at FROM follows f
+WHERE f.follower_id = :follower
+ORDER BY f.followed_at DESC, f.following_id DESC
+LIMIT 21;
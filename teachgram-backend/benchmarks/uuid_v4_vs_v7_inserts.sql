@@ -0,0 +1,81 @@
+-- Benchmark de inserção: PK UUIDv4 (aleatória) x UUIDv7 (ordenada por tempo).
+--
+-- Uso (banco de desenvolvimento com as migrations aplicadas, pois usa uuid_generate_v7()):
+--   psql "$POSTGRES_DB" -v rows=1000000 -f benchmarks/uuid_v4_vs_v7_inserts.sql
+--
+-- Para cada tipo de chave, mede o tempo de inserir :rows linhas no formato da tabela
+-- follows (um lote e depois 1000 lotes pequenos, simulando rajadas de follow), o tamanho
+-- do índice da PK e a densidade das folhas (pgstattuple, se disponível).
+-- Com v7 o esperado é índice menor (folhas ~90% cheias contra ~70% do v4) e menos
+-- páginas tocadas por insert; a diferença cresce quando o índice não cabe no shared_buffers.
+
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+    \set rows 1000000
+\endif
+
+CREATE EXTENSION IF NOT EXISTS pgstattuple;
+
+DROP TABLE IF EXISTS bench_follows_v4;
+DROP TABLE IF EXISTS bench_follows_v7;
+
+CREATE UNLOGGED TABLE bench_follows_v4 (
+    id           UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    follower_id  UUID NOT NULL,
+    following_id UUID NOT NULL,
+    followed_at  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE UNLOGGED TABLE bench_follows_v7 (
+    id           UUID PRIMARY KEY DEFAULT uuid_generate_v7(),
+    follower_id  UUID NOT NULL,
+    following_id UUID NOT NULL,
+    followed_at  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+\timing on
+
+\echo '== v4: carga única'
+INSERT INTO bench_follows_v4 (follower_id, following_id)
+SELECT uuid_generate_v4(), uuid_generate_v4() FROM generate_series(1, :rows);
+
+\echo '== v7: carga única'
+INSERT INTO bench_follows_v7 (follower_id, following_id)
+SELECT uuid_generate_v4(), uuid_generate_v4() FROM generate_series(1, :rows);
+
+\echo '== v4: 1000 lotes sobre a tabela já carregada'
+DO $$
+BEGIN
+    FOR i IN 1..1000 LOOP
+        INSERT INTO bench_follows_v4 (follower_id, following_id)
+        SELECT uuid_generate_v4(), uuid_generate_v4() FROM generate_series(1, 100);
+    END LOOP;
+END
+$$;
+
+\echo '== v7: 1000 lotes sobre a tabela já carregada'
+DO $$
+BEGIN
+    FOR i IN 1..1000 LOOP
+        INSERT INTO bench_follows_v7 (follower_id, following_id)
+        SELECT uuid_generate_v4(), uuid_generate_v4() FROM generate_series(1, 100);
+    END LOOP;
+END
+$$;
+
+\timing off
+
+\echo '== Tamanho do índice da PK e densidade das folhas'
+SELECT 'v4' AS key_type,
+       pg_size_pretty(pg_relation_size('bench_follows_v4_pkey')) AS pk_index_size,
+       (pgstatindex('bench_follows_v4_pkey')).avg_leaf_density,
+       (pgstatindex('bench_follows_v4_pkey')).leaf_fragmentation
+UNION ALL
+SELECT 'v7',
+       pg_size_pretty(pg_relation_size('bench_follows_v7_pkey')),
+       (pgstatindex('bench_follows_v7_pkey')).avg_leaf_density,
+       (pgstatindex('bench_follows_v7_pkey')).leaf_fragmentation;
+
+DROP TABLE bench_follows_v4;
+DROP TABLE bench_follows_v7;
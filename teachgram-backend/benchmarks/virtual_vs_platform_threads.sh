@@ -0,0 +1,105 @@
+#!/usr/bin/env bash
+# Comparação de throughput e latência: requisições em platform threads (pool do Tomcat)
+# x virtual threads (spring.threads.virtual.enabled), com o mesmo pool de conexões.
+#
+# Uso (na pasta teachgram-backend, com o .env do docker compose preenchido):
+#   benchmarks/virtual_vs_platform_threads.sh
+#   RPS_LEVELS="200 400 800 1600" DURATION=120s USERS=50000 DB_POOL_SIZE=10 benchmarks/virtual_vs_platform_threads.sh
+#
+# Para cada modo, recria o container da API (rate limit desligado) e roda o teste de carga
+# (src/loadtest, cenário padrão: signin/feed/perfil/curtida/follow) em cada taxa de RPS_LEVELS.
+# A população sintética é criada uma vez, na primeira rodada, e reaproveitada nas demais.
+# Saídas em target/loadtest/threads/<modo>/<rps>/: relatório, .hgrm por endpoint e métricas
+# do Prometheus antes e depois da rodada. No fim, uma tabela por modo e taxa com:
+#   achieved  rps realmente atingido (open model: abaixo do alvo = chegadas descartadas)
+#   p50/p99   latência do feed (GET /api/posts), medida desde o início agendado
+#   5xx/io    erros (no modo virtual, falta de conexão vira 5xx após connection-timeout)
+#   pool wait tempo médio para obter conexão do Hikari; perto de zero = o banco sobra
+#   threads   threads de plataforma vivas na JVM
+#   pinned    no modo virtual, pontos distintos em que uma virtual thread bloqueou presa à
+#             carrier (-Djdk.tracePinnedThreads=short, no log do container); deve ser 0
+#
+# O que esperar: enquanto o pool de conexões não satura, os dois modos empatam. Acima
+# disso, platform threads enfileiram no Tomcat (até 200 threads, depois no accept) e
+# virtual threads enfileiram no Hikari; o ganho das virtual threads aparece em rotas que
+# bloqueiam fora do banco (hash de senha, fan-out do resumo de perfil) e no consumo de
+# memória por requisição em espera. Se pool wait subir sem a CPU do Postgres estar cheia,
+# aumente DB_POOL_SIZE; se a CPU do Postgres estiver cheia, mais conexões só pioram o p99.
+
+set -euo pipefail
+
+RPS_LEVELS=${RPS_LEVELS:-"200 400 800"}
+DURATION=${DURATION:-60s}
+WARMUP=${WARMUP:-15s}
+USERS=${USERS:-20000}
+DB_POOL_SIZE=${DB_POOL_SIZE:-10}
+BASE_URL=${BASE_URL:-http://localhost:8080}
+OUT=target/loadtest/threads
+
+export DB_POOL_SIZE
+export APPLICATION_RATE_LIMIT_ENABLED=false
+
+wait_for_api() {
+    for _ in $(seq 1 90); do
+        if curl -sf "$BASE_URL/actuator/health" > /dev/null; then
+            return 0
+        fi
+        sleep 2
+    done
+    echo "API não respondeu em $BASE_URL/actuator/health" >&2
+    exit 1
+}
+
+metric() {
+    # soma de todas as séries da métrica no texto do Prometheus
+    awk -v name="$2" '$1 ~ "^"name"({|$)" { sum += $NF } END { printf "%.6f", sum + 0 }' "$1"
+}
+
+./mvnw -q -Ploadtest test-compile
+
+seed=true
+for mode in platform virtual; do
+    if [ "$mode" = virtual ]; then
+        export SPRING_THREADS_VIRTUAL_ENABLED=true
+        export JAVA_TOOL_OPTIONS="-Djdk.tracePinnedThreads=short"
+    else
+        export SPRING_THREADS_VIRTUAL_ENABLED=false
+        export JAVA_TOOL_OPTIONS=""
+    fi
+    docker compose up -d db
+    docker compose up -d --build --force-recreate --no-deps app
+    wait_for_api
+
+    for rps in $RPS_LEVELS; do
+        dir="$OUT/$mode/$rps"
+        mkdir -p "$dir"
+        echo "== $mode threads, $rps rps"
+        curl -sf "$BASE_URL/actuator/prometheus" > "$dir/prometheus-before.txt"
+        ./mvnw -q -Ploadtest exec:exec -Dloadtest.args="baseUrl=$BASE_URL users=$USERS seed=$seed rps=$rps warmup=$WARMUP duration=$DURATION outputDir=$dir" \
+            | tee "$dir/report.txt"
+        seed=false
+        curl -sf "$BASE_URL/actuator/prometheus" > "$dir/prometheus.txt"
+    done
+    docker compose logs app 2>/dev/null | grep -c "VirtualThread\[#" > "$OUT/$mode/pinned.txt" || true
+done
+
+printf "\n%-9s %6s %9s %9s %9s %6s %6s %12s %8s %7s\n" \
+    mode rps achieved "p50 ms" "p99 ms" 5xx io "pool wait ms" threads pinned
+for mode in platform virtual; do
+    for rps in $RPS_LEVELS; do
+        dir="$OUT/$mode/$rps"
+        achieved=$(sed -n 's/^Achieved \([0-9.]*\) rps.*/\1/p' "$dir/report.txt")
+        feed=$(grep "GET /api/posts " "$dir/report.txt" | head -1 | awk '{ print $(NF-4), $(NF-2), $(NF-6), $(NF-5) }')
+        read -r p50 p99 errors5xx io <<< "${feed:-- - - -}"
+        # contadores acumulam entre rodadas no mesmo container: usa a diferença
+        waitSum=$(metric "$dir/prometheus.txt" hikaricp_connections_acquire_seconds_sum)
+        waitSumBefore=$(metric "$dir/prometheus-before.txt" hikaricp_connections_acquire_seconds_sum)
+        waitCount=$(metric "$dir/prometheus.txt" hikaricp_connections_acquire_seconds_count)
+        waitCountBefore=$(metric "$dir/prometheus-before.txt" hikaricp_connections_acquire_seconds_count)
+        poolWait=$(awk -v s="$waitSum" -v sb="$waitSumBefore" -v c="$waitCount" -v cb="$waitCountBefore" \
+            'BEGIN { printf "%.2f", c > cb ? (s - sb) / (c - cb) * 1000 : 0 }')
+        threads=$(metric "$dir/prometheus.txt" jvm_threads_live_threads | cut -d. -f1)
+        printf "%-9s %6s %9s %9s %9s %6s %6s %12s %8s %7s\n" \
+            "$mode" "$rps" "$achieved" "$p50" "$p99" "$errors5xx" "$io" "$poolWait" "$threads" "$(cat "$OUT/$mode/pinned.txt")"
+    done
+done
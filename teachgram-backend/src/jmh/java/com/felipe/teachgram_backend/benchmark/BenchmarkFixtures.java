@@ -0,0 +1,57 @@
+package com.felipe.teachgram_backend.benchmark;
+
+import com.felipe.teachgram_backend.entity.Post;
+import com.felipe.teachgram_backend.entity.Role;
+import com.felipe.teachgram_backend.entity.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Entidades com campos de tamanho realista, compartilhadas pelos benchmarks.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static User user(int n) {
+        Role role = new Role(1L, "ROLE_USER");
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setName("Benchmark User " + n);
+        user.setUsername("benchmark" + n);
+        user.setEmail("benchmark" + n + "@example.com");
+        user.setPhone("+55519999" + String.format("%05d", n % 100_000));
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuuAbCdEfGhIjKlMnOpQrStUvWxYz01234");
+        user.setProfileLink("https://cdn.example.com/profiles/" + n + ".jpg");
+        user.setDescription("Professora de matemática, compartilho exercícios e dicas de estudo.");
+        user.setCreatedAt(LocalDateTime.now().minusDays(n % 365));
+        user.setUpdatedAt(LocalDateTime.now());
+        user.setRoles(new HashSet<>(Set.of(role)));
+        return user;
+    }
+
+    static List<Post> posts(int count) {
+        List<Post> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Post post = new Post();
+            post.setId((long) i);
+            post.setTitle("Post " + i);
+            post.setDescription("Resumo da aula " + i + " com exemplos resolvidos e links para os exercícios.");
+            post.setPhotoLink("https://cdn.example.com/posts/" + i + ".jpg");
+            post.setPrivatePost(false);
+            post.setLikesCount(i * 3);
+            post.setCreatedAt(LocalDate.now().minusDays(i));
+            post.setUpdatedAt(LocalDate.now());
+            post.setUser(user(i % 10));
+            posts.add(post);
+        }
+        return posts;
+    }
+}
@@ -0,0 +1,88 @@
+package com.felipe.teachgram_backend.benchmark;
+
+import com.felipe.teachgram_backend.entity.Role;
+import com.felipe.teachgram_backend.entity.User;
+import com.felipe.teachgram_backend.security.CustomUserDetails;
+import com.felipe.teachgram_backend.security.JwtKeyRing;
+import com.felipe.teachgram_backend.security.JwtService;
+import com.felipe.teachgram_backend.security.KeyRingJwtDecoder;
+import com.felipe.teachgram_backend.security.KeyRingJwtEncoder;
+import com.felipe.teachgram_backend.security.VerifiedTokenCache;
+import com.nimbusds.jose.JWSAlgorithm;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de assinar e verificar por algoritmo, pelo mesmo caminho do {@link JwtService}
+ * usado no login ({@code sign}) e numa falha de cache do filtro de autenticação ({@code verify}).
+ * No RS256 o lado caro é a assinatura (RSA com chave privada); ES256 e EdDSA trocam uma
+ * assinatura bem mais barata por uma verificação um pouco mais cara.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class JwtAlgorithmBenchmark {
+
+    @Param({"RS256", "ES256", "EdDSA"})
+    public String algorithm;
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setup() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+
+        JwtKeyRing keyRing = new JwtKeyRing((RSAPublicKey) keyPair.getPublic(),
+                (RSAPrivateKey) keyPair.getPrivate(), Duration.ofMinutes(60));
+        JWSAlgorithm jwsAlgorithm = JWSAlgorithm.parse(algorithm);
+        if (!JWSAlgorithm.RS256.equals(jwsAlgorithm)) {
+            keyRing.rotate(jwsAlgorithm);
+        }
+
+        jwtService = new JwtService(
+                new KeyRingJwtEncoder(keyRing),
+                new KeyRingJwtDecoder(keyRing, JwtValidators.createDefaultWithIssuer(JwtService.ISSUER)),
+                new VerifiedTokenCache() {
+                    @Override
+                    public void put(String token, CustomUserDetails principal, Instant expiresAt) {
+                        // sem cache: cada chamada paga a verificação completa
+                    }
+                },
+                15);
+
+        Role role = new Role();
+        role.setName("ROLE_USER");
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername("benchmark");
+        user.setRoles(Set.of(role));
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public CustomUserDetails verify() {
+        return jwtService.parsePrincipal(token);
+    }
+}
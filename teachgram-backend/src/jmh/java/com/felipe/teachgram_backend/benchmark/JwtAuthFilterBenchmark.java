@@ -0,0 +1,119 @@
+package com.felipe.teachgram_backend.benchmark;
+
+import com.felipe.teachgram_backend.security.CustomUserDetails;
+import com.felipe.teachgram_backend.security.JwtAuthFilter;
+import com.felipe.teachgram_backend.security.JwtKeyRing;
+import com.felipe.teachgram_backend.security.JwtService;
+import com.felipe.teachgram_backend.security.KeyRingJwtDecoder;
+import com.felipe.teachgram_backend.security.KeyRingJwtEncoder;
+import com.felipe.teachgram_backend.security.UserStatusCache;
+import com.felipe.teachgram_backend.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtAuthFilter} do header {@code Authorization} até um {@code SecurityContext}
+ * autenticado, com o encoder/decoder do key ring de produção. A consulta de status do
+ * usuário é simulada (em regime é um acerto no mapa).
+ * <ul>
+ *   <li>{@code cachedToken}: o token já foi verificado, então não há checagem de assinatura;</li>
+ *   <li>{@code uncachedToken}: toda requisição paga a verificação RS256;</li>
+ *   <li>{@code anonymous}: sem header, o filtro só repassa a requisição.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class JwtAuthFilterBenchmark {
+
+    private static final FilterChain CHAIN = (request, response) -> { };
+
+    private JwtAuthFilter cachedFilter;
+    private JwtAuthFilter uncachedFilter;
+    private String token;
+
+    @Setup
+    public void setup() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        JwtKeyRing keyRing = new JwtKeyRing((RSAPublicKey) keyPair.getPublic(),
+                (RSAPrivateKey) keyPair.getPrivate(), Duration.ofMinutes(60));
+        KeyRingJwtEncoder encoder = new KeyRingJwtEncoder(keyRing);
+        KeyRingJwtDecoder decoder = new KeyRingJwtDecoder(keyRing,
+                JwtValidators.createDefaultWithIssuer(JwtService.ISSUER));
+
+        UserStatusCache activeUsers = new UserStatusCache(null) {
+            @Override
+            public boolean isActive(UUID userId, long tokenVersion) {
+                return true;
+            }
+        };
+
+        JwtService cachedJwtService = new JwtService(encoder, decoder, new VerifiedTokenCache(), 15);
+        JwtService uncachedJwtService = new JwtService(encoder, decoder, new VerifiedTokenCache() {
+            @Override
+            public void put(String token, CustomUserDetails principal, Instant expiresAt) {
+                // sem cache: toda requisição verifica a assinatura
+            }
+        }, 15);
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig()
+                .observationHandler(new DefaultMeterObservationHandler(new SimpleMeterRegistry()));
+        cachedFilter = new JwtAuthFilter(cachedJwtService, activeUsers, observationRegistry);
+        uncachedFilter = new JwtAuthFilter(uncachedJwtService, activeUsers, observationRegistry);
+
+        token = cachedJwtService.generateToken(BenchmarkFixtures.user(1));
+        cachedJwtService.parsePrincipal(token);
+    }
+
+    @Benchmark
+    public Authentication cachedToken() throws Exception {
+        return run(cachedFilter, bearer());
+    }
+
+    @Benchmark
+    public Authentication uncachedToken() throws Exception {
+        return run(uncachedFilter, bearer());
+    }
+
+    @Benchmark
+    public Authentication anonymous() throws Exception {
+        return run(cachedFilter, new MockHttpServletRequest("GET", "/api/posts"));
+    }
+
+    private MockHttpServletRequest bearer() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    private static Authentication run(JwtAuthFilter filter, MockHttpServletRequest request) throws Exception {
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
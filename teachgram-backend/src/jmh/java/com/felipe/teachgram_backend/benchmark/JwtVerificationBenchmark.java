@@ -0,0 +1,93 @@
+package com.felipe.teachgram_backend.benchmark;
+
+import com.felipe.teachgram_backend.entity.Role;
+import com.felipe.teachgram_backend.entity.User;
+import com.felipe.teachgram_backend.security.CustomUserDetails;
+import com.felipe.teachgram_backend.security.JwtService;
+import com.felipe.teachgram_backend.security.VerifiedTokenCache;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU gasta por requisição para transformar um bearer token em principal.
+ * <ul>
+ *   <li>{@code doubleDecode}: o pipeline antigo, duas verificações RS256 completas
+ *       ({@code extractUsername} + {@code isTokenValid});</li>
+ *   <li>{@code singleVerification}: uma verificação, com o cache desligado;</li>
+ *   <li>{@code cachedVerification}: o token já foi visto, então só um SHA-256 e uma busca no mapa.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class JwtVerificationBenchmark {
+
+    private JwtDecoder decoder;
+    private JwtService uncachedJwtService;
+    private JwtService cachedJwtService;
+    private String token;
+
+    @Setup
+    public void setup() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        RSAKey jwk = new RSAKey.Builder(publicKey).privateKey((RSAPrivateKey) keyPair.getPrivate()).build();
+
+        JwtEncoder encoder = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(jwk)));
+        decoder = NimbusJwtDecoder.withPublicKey(publicKey).build();
+
+        uncachedJwtService = new JwtService(encoder, decoder, new VerifiedTokenCache() {
+            @Override
+            public void put(String token, CustomUserDetails principal, Instant expiresAt) {
+                // sem cache: cada chamada paga a verificação completa
+            }
+        }, 15);
+        cachedJwtService = new JwtService(encoder, decoder, new VerifiedTokenCache(), 15);
+
+        Role role = new Role();
+        role.setName("ROLE_USER");
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername("benchmark");
+        user.setRoles(Set.of(role));
+        token = cachedJwtService.generateToken(user);
+        cachedJwtService.parsePrincipal(token);
+    }
+
+    @Benchmark
+    public void doubleDecode(Blackhole blackhole) {
+        blackhole.consume(decoder.decode(token).getSubject());
+        blackhole.consume(decoder.decode(token).getSubject());
+    }
+
+    @Benchmark
+    public CustomUserDetails singleVerification() {
+        return uncachedJwtService.parsePrincipal(token);
+    }
+
+    @Benchmark
+    public CustomUserDetails cachedVerification() {
+        return cachedJwtService.parsePrincipal(token);
+    }
+}
@@ -0,0 +1,78 @@
+package com.felipe.teachgram_backend.benchmark;
+
+import com.felipe.teachgram_backend.dto.post.PostResponseDTO;
+import com.felipe.teachgram_backend.dto.user.UserResponseDTO;
+import com.felipe.teachgram_backend.entity.Post;
+import com.felipe.teachgram_backend.mapper.PostMapper;
+import com.felipe.teachgram_backend.mapper.PostMapperImpl;
+import com.felipe.teachgram_backend.mapper.UserMapper;
+import com.felipe.teachgram_backend.mapper.UserMapperImpl;
+import com.felipe.teachgram_backend.service.PostService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão de entidade para DTO de uma página de posts.
+ * <ul>
+ *   <li>{@code postMapper}: o {@link PostMapper} do MapStruct usado pelo feed (não converte o autor);</li>
+ *   <li>{@code postServiceMapping}: o {@code PostService.mapToPostResponseDTO} escrito à mão, que
+ *       também converte o autor pelo {@link UserMapper} (chamado por reflexão, pois é privado);</li>
+ *   <li>{@code userMapper}: só o {@link UserMapper}, incluindo o stream de roles.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class MapperBenchmark {
+
+    @Param({"20"})
+    public int pageSize;
+
+    private List<Post> posts;
+    private PostMapper postMapper;
+    private UserMapper userMapper;
+    private PostService postService;
+    private MethodHandle mapToPostResponseDTO;
+
+    @Setup
+    public void setup() throws Exception {
+        posts = BenchmarkFixtures.posts(pageSize);
+        postMapper = new PostMapperImpl();
+        userMapper = new UserMapperImpl();
+        postService = new PostService(null, null, postMapper, userMapper);
+        mapToPostResponseDTO = MethodHandles.privateLookupIn(PostService.class, MethodHandles.lookup())
+                .findVirtual(PostService.class, "mapToPostResponseDTO",
+                        MethodType.methodType(PostResponseDTO.class, Post.class));
+    }
+
+    @Benchmark
+    public void postMapper(Blackhole blackhole) {
+        for (Post post : posts) {
+            blackhole.consume(postMapper.toDto(post));
+        }
+    }
+
+    @Benchmark
+    public void postServiceMapping(Blackhole blackhole) throws Throwable {
+        for (Post post : posts) {
+            blackhole.consume((PostResponseDTO) mapToPostResponseDTO.invokeExact(postService, post));
+        }
+    }
+
+    @Benchmark
+    public void userMapper(Blackhole blackhole) {
+        for (Post post : posts) {
+            UserResponseDTO dto = userMapper.toDto(post.getUser());
+            blackhole.consume(dto);
+        }
+    }
+}
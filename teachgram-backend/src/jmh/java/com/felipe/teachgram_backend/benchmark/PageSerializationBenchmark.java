@@ -0,0 +1,74 @@
+package com.felipe.teachgram_backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.felipe.teachgram_backend.dto.post.PostResponseDTO;
+import com.felipe.teachgram_backend.entity.Post;
+import com.felipe.teachgram_backend.mapper.UserMapperImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização Jackson de um {@code Page<PostResponseDTO>} como o devolvido pelos endpoints
+ * de posts, com um {@link ObjectMapper} configurado como o do Spring Boot (módulo java.time,
+ * datas como strings ISO). {@code contentOnly} serializa o mesmo conteúdo como lista simples,
+ * para mostrar quanto o envelope do {@code PageImpl} (pageable, sort, totais) acrescenta.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class PageSerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectWriter writer;
+    private Page<PostResponseDTO> page;
+    private List<PostResponseDTO> content;
+
+    @Setup
+    public void setup() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+
+        UserMapperImpl userMapper = new UserMapperImpl();
+        content = BenchmarkFixtures.posts(pageSize).stream()
+                .map(post -> toDto(post, userMapper))
+                .toList();
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000);
+    }
+
+    @Benchmark
+    public byte[] page() throws Exception {
+        return writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] contentOnly() throws Exception {
+        return writer.writeValueAsBytes(content);
+    }
+
+    private static PostResponseDTO toDto(Post post, UserMapperImpl userMapper) {
+        return PostResponseDTO.builder()
+                .id(post.getId())
+                .title(post.getTitle())
+                .description(post.getDescription())
+                .photoLink(post.getPhotoLink())
+                .videoLink(post.getVideoLink())
+                .privatePost(post.getPrivatePost())
+                .likesCount(post.getLikesCount())
+                .createdAt(post.getCreatedAt())
+                .updatedAt(post.getUpdatedAt())
+                .userResponseDTO(userMapper.toDto(post.getUser()))
+                .build();
+    }
+}
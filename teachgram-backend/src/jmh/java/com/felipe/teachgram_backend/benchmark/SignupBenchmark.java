@@ -0,0 +1,157 @@
+package com.felipe.teachgram_backend.benchmark;
+
+import com.felipe.teachgram_backend.constants.UserRole;
+import com.felipe.teachgram_backend.dto.user.UserRequestDTO;
+import com.felipe.teachgram_backend.entity.Role;
+import com.felipe.teachgram_backend.entity.User;
+import com.felipe.teachgram_backend.repository.RoleRepository;
+import com.felipe.teachgram_backend.repository.UserRepository;
+import com.felipe.teachgram_backend.security.JwtService;
+import com.felipe.teachgram_backend.security.VerifiedTokenCache;
+import com.felipe.teachgram_backend.service.RoleRegistry;
+import com.felipe.teachgram_backend.service.UserService;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.lang.reflect.Proxy;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Cadastros por segundo, do DTO da requisição até o access token assinado.
+ * <ul>
+ *   <li>{@code legacy}: três consultas {@code existsBy*}, {@code RoleRepository.findByName},
+ *       hash BCrypt, insert e depois {@code login()} verificando a mesma senha com BCrypt de novo;</li>
+ *   <li>{@code fastPath}: {@link UserService#registerUser} (uma consulta de conflito, role do
+ *       {@link RoleRegistry}, hash BCrypt, insert) e o token emitido a partir do usuário inserido.</li>
+ * </ul>
+ * Os repositórios são substitutos em memória; {@code dbRoundTripMicros} estaciona a thread a
+ * cada chamada de repositório para aproximar a ida e volta de rede até o Postgres. O insert do
+ * refresh token é igual nos dois caminhos e fica de fora.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class SignupBenchmark {
+
+    @Param({"0", "500"})
+    public long dbRoundTripMicros;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private UserRepository userRepository;
+    private RoleRepository roleRepository;
+    private PasswordEncoder passwordEncoder;
+    private JwtService jwtService;
+    private UserService userService;
+
+    @Setup
+    public void setup() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        RSAKey jwk = new RSAKey.Builder(publicKey).privateKey((RSAPrivateKey) keyPair.getPrivate()).build();
+        jwtService = new JwtService(new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(jwk))),
+                NimbusJwtDecoder.withPublicKey(publicKey).build(), new VerifiedTokenCache(), 15);
+
+        passwordEncoder = new BCryptPasswordEncoder(10);
+        Role userRole = new Role(1L, UserRole.USER.getRoleName());
+        userRepository = repository(UserRepository.class, (name, args) -> switch (name) {
+            case "existsByUsername", "existsByEmail", "existsByPhone" -> false;
+            case "findIdentityConflicts" -> List.of();
+            case "save", "saveAndFlush" -> {
+                User user = (User) args[0];
+                user.setId(UUID.randomUUID());
+                yield user;
+            }
+            default -> throw new UnsupportedOperationException(name);
+        });
+        roleRepository = repository(RoleRepository.class, (name, args) -> switch (name) {
+            case "findByName" -> Optional.of(userRole);
+            case "findAll" -> List.of(userRole);
+            default -> throw new UnsupportedOperationException(name);
+        });
+
+        RoleRegistry roleRegistry = new RoleRegistry(roleRepository);
+        roleRegistry.load();
+        userService = new UserService(userRepository, roleRegistry, passwordEncoder, null, null);
+    }
+
+    @Benchmark
+    public String legacy() {
+        UserRequestDTO dto = nextRequest();
+        if (userRepository.existsByUsername(dto.getUsername())
+                || userRepository.existsByEmail(dto.getEmail())
+                || userRepository.existsByPhone(dto.getPhone())) {
+            throw new IllegalStateException();
+        }
+        User user = new User();
+        user.setName(dto.getName());
+        user.setUsername(dto.getUsername());
+        user.setEmail(dto.getEmail());
+        user.setPhone(dto.getPhone());
+        user.setPassword(passwordEncoder.encode(dto.getPassword()));
+        user.setRoles(new HashSet<>(Set.of(roleRepository.findByName(UserRole.USER.getRoleName()).orElseThrow())));
+        User saved = userRepository.save(user);
+
+        // login(): o DaoAuthenticationProvider carrega o usuário e confere a senha de novo
+        if (!passwordEncoder.matches(dto.getPassword(), saved.getPassword())) {
+            throw new IllegalStateException();
+        }
+        return jwtService.generateToken(saved);
+    }
+
+    @Benchmark
+    public String fastPath() {
+        User user = userService.registerUser(nextRequest());
+        return jwtService.generateToken(user);
+    }
+
+    private UserRequestDTO nextRequest() {
+        long n = sequence.incrementAndGet();
+        return UserRequestDTO.builder()
+                .name("Benchmark User")
+                .username("bench" + n)
+                .email("bench" + n + "@example.com")
+                .phone(null)
+                .password("s3cret-password")
+                .build();
+    }
+
+    private interface Handler {
+        Object handle(String method, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T repository(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(this, args);
+            }
+            if (dbRoundTripMicros > 0) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(dbRoundTripMicros));
+            }
+            return handler.handle(method.getName(), args);
+        });
+    }
+}
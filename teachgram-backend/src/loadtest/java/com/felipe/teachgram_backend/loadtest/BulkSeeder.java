@@ -0,0 +1,435 @@
+package com.felipe.teachgram_backend.loadtest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Carrega a rede social sintética via {@code COPY ... FROM STDIN}, rápido o bastante para
+ * milhões de usuários e dezenas de milhões de follows:
+ * <ul>
+ *   <li>um único hash BCrypt de {@code password} é calculado no início e usado por todos;</li>
+ *   <li>os ids são derivados do índice de criação em vez de guardados em memória. Os ids de
+ *       usuário são UUIDv7 cujo timestamp é o {@code created_at} da conta, então as chaves
+ *       primárias de users e follows são preenchidas em ordem;</li>
+ *   <li>a posição de popularidade vira índice de criação por uma permutação fixa, então as
+ *       contas mais seguidas ficam espalhadas por todo o histórico;</li>
+ *   <li>tudo roda em uma transação. Os índices secundários e as foreign keys de
+ *       {@code follows} e {@code posts} são removidos antes e recriados a partir das próprias
+ *       definições ({@code pg_get_indexdef}/{@code pg_get_constraintdef}) depois da carga, o
+ *       que custa uma ordenação por índice em vez de um insert no índice e uma busca de FK por
+ *       linha. Se algo falhar, o rollback também os restaura.</li>
+ * </ul>
+ * Só as tabelas criadas pelas migrations do Flyway são gravadas, com as colunas que a API
+ * mapeia; o schema é conferido antes, e {@code flyway_schema_history} precisa existir.
+ */
+final class BulkSeeder {
+
+    private static final long HISTORY_SECONDS = Duration.ofDays(2 * 365).toSeconds();
+    /**
+     * Constante do hash multiplicativo de Knuth (TAOCP vol. 3, §6.4): o primo 2654435761, próximo
+     * de 2^32/φ. Sendo primo e maior que {@code users}, é coprimo com ele, então
+     * {@code rank * (PERMUTATION_PRIME % users)} módulo {@code users} é uma permutação.
+     */
+    private static final long PERMUTATION_PRIME = 2_654_435_761L;
+
+    record Result(long users, long follows, long posts) {
+    }
+
+    private final LoadTestSettings settings;
+    private final int users;
+    private final long multiplier;
+    private final long offset;
+    private final long nowSecond;
+    private final long firstCreatedMillis;
+    private final long createdStepMillis;
+    private final long idSalt;
+
+    BulkSeeder(LoadTestSettings settings) {
+        if (settings.users() < 2) {
+            throw new IllegalArgumentException("users deve ser pelo menos 2");
+        }
+        if (settings.users() >= PERMUTATION_PRIME) {
+            throw new IllegalArgumentException("users deve ser menor que " + PERMUTATION_PRIME);
+        }
+        this.settings = settings;
+        this.users = settings.users();
+        SplittableRandom random = new SplittableRandom(settings.randomSeed());
+        this.multiplier = PERMUTATION_PRIME % users;
+        this.offset = random.nextLong(users);
+        this.idSalt = random.nextLong();
+        this.nowSecond = Instant.now().getEpochSecond();
+        // contas criadas ao longo de ~2 anos, até um mês atrás
+        long lastCreatedMillis = (nowSecond - Duration.ofDays(30).toSeconds()) * 1000;
+        this.firstCreatedMillis = lastCreatedMillis - HISTORY_SECONDS * 1000;
+        this.createdStepMillis = Math.max(1, HISTORY_SECONDS * 1000 / users);
+    }
+
+    /**
+     * Id do usuário na posição de popularidade {@code rank} (0 é o mais seguido).
+     */
+    UUID userId(int rank) {
+        return idOf(indexOf(rank));
+    }
+
+    String email(int rank) {
+        return username(indexOf(rank)) + SyntheticPopulation.EMAIL_DOMAIN;
+    }
+
+    Result seed() throws SQLException {
+        long startedAt = System.nanoTime();
+        ExecutorService sender = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "copy-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (Connection connection = DriverManager.getConnection(settings.jdbcUrl(), settings.dbUser(), settings.dbPassword())) {
+            connection.setAutoCommit(false);
+            checkSchema(connection);
+            removePrevious(connection);
+            execute(connection, "SET LOCAL maintenance_work_mem = '512MB'");
+
+            List<String> deferred = new ArrayList<>();
+            deferred.addAll(dropIndexesAndForeignKeys(connection, "follows"));
+            deferred.addAll(dropIndexesAndForeignKeys(connection, "posts"));
+
+            CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+            long userRows = copyUsers(connection, copy, sender);
+            long followRows = copyFollows(copy, sender);
+            long postRows = copyPosts(copy, sender);
+
+            long rebuildStartedAt = System.nanoTime();
+            for (String ddl : deferred) {
+                execute(connection, ddl);
+            }
+            report("indexes and foreign keys", deferred.size(), rebuildStartedAt);
+
+            alignPostSequence(connection);
+            execute(connection, "ANALYZE users, user_roles, follows, posts");
+            connection.commit();
+
+            System.out.printf("Seeded %d users, %d follows, %d posts in %.1f s%n",
+                    userRows, followRows, postRows, (System.nanoTime() - startedAt) / 1e9);
+            return new Result(userRows, followRows, postRows);
+        } finally {
+            sender.shutdownNow();
+        }
+    }
+
+    private long copyUsers(Connection connection, CopyManager copy, ExecutorService sender) throws SQLException {
+        String hash = new BCryptPasswordEncoder().encode(settings.password());
+        long roleId = roleUserId(connection);
+
+        long startedAt = System.nanoTime();
+        long rows;
+        try (CopyWriter writer = new CopyWriter(copy, "users", """
+                id, name, username, email, password, description, deleted, failed_login_attempts,
+                account_non_locked, token_version, created_at, updated_at""", sender)) {
+            for (int index = 0; index < users; index++) {
+                long createdAt = createdAtOf(index);
+                writer.uuid(idOf(index))
+                        .text("Load Test " + index)
+                        .text(username(index))
+                        .text(username(index) + SyntheticPopulation.EMAIL_DOMAIN)
+                        .text(hash)
+                        .text("Conta sintética de teste de carga")
+                        .bool(false)
+                        .number(0)
+                        .bool(true)
+                        .number(0)
+                        .timestamp(createdAt)
+                        .timestamp(createdAt);
+                writer.endRow();
+            }
+            rows = writer.finish();
+        }
+        report("users", rows, startedAt);
+
+        startedAt = System.nanoTime();
+        try (CopyWriter writer = new CopyWriter(copy, "user_roles", "user_id, role_id", sender)) {
+            for (int index = 0; index < users; index++) {
+                writer.uuid(idOf(index)).number(roleId);
+                writer.endRow();
+            }
+            report("user_roles", writer.finish(), startedAt);
+        }
+        return rows;
+    }
+
+    /**
+     * Cada usuário segue ~{@code avgFollowing} contas (grau de saída exponencial) sorteadas
+     * pela popularidade. As linhas saem na ordem (seguidor, seguido), a da chave primária.
+     */
+    private long copyFollows(CopyManager copy, ExecutorService sender) throws SQLException {
+        SplittableRandom random = new SplittableRandom(settings.randomSeed() + 1);
+        PowerLawSampler popularity = new PowerLawSampler(users, settings.followAlpha());
+        Set<Integer> targets = new HashSet<>();
+
+        long startedAt = System.nanoTime();
+        long rows;
+        try (CopyWriter writer = new CopyWriter(copy, "follows", "follower_id, following_id, followed_at", sender)) {
+            for (int follower = 0; follower < users; follower++) {
+                int outDegree = (int) Math.min(users - 1,
+                        Math.round(-settings.avgFollowing() * Math.log(1 - random.nextDouble())));
+                targets.clear();
+                for (int attempts = 0; targets.size() < outDegree && attempts < outDegree * 4; attempts++) {
+                    int target = indexOf(popularity.next(random));
+                    if (target != follower) {
+                        targets.add(target);
+                    }
+                }
+                int[] sorted = targets.stream().mapToInt(Integer::intValue).toArray();
+                Arrays.sort(sorted);
+
+                UUID followerId = idOf(follower);
+                for (int target : sorted) {
+                    long since = Math.max(createdAtOf(follower), createdAtOf(target));
+                    writer.uuid(followerId)
+                            .uuid(idOf(target))
+                            .timestamp(since + random.nextLong(nowSecond - since));
+                    writer.endRow();
+                }
+            }
+            rows = writer.finish();
+        }
+        report("follows", rows, startedAt);
+        return rows;
+    }
+
+    /**
+     * ~{@code postsPerUser} por usuário, com {@code likes_count} em distribuição de Pareto (o
+     * schema guarda as curtidas como contador, não como linhas). Os ids vêm do default da coluna.
+     */
+    private long copyPosts(CopyManager copy, ExecutorService sender) throws SQLException {
+        SplittableRandom random = new SplittableRandom(settings.randomSeed() + 2);
+        double alpha = settings.followAlpha();
+
+        long startedAt = System.nanoTime();
+        long rows;
+        try (CopyWriter writer = new CopyWriter(copy, "posts", """
+                user_id, title, description, photo_link, private_post, likes_count, deleted,
+                created_at, updated_at""", sender)) {
+            for (int index = 0; index < users; index++) {
+                UUID userId = idOf(index);
+                long since = createdAtOf(index);
+                int posts = random.nextInt(2 * settings.postsPerUser() + 1);
+                for (int p = 0; p < posts; p++) {
+                    // Pareto: maioria dos posts com poucas curtidas, cauda longa até maxLikes
+                    double pareto = Math.pow(1 - random.nextDouble(), -1 / alpha) - 1;
+                    long createdAt = since + random.nextLong(nowSecond - since);
+                    writer.uuid(userId)
+                            .text("Post sintético " + p)
+                            .text("Conteúdo gerado pelo teste de carga, com tamanho parecido com um post real.")
+                            .text("https://cdn.example.com/loadtest/" + userId + "/" + p + ".jpg")
+                            .bool(false)
+                            .number((long) Math.min(settings.maxLikes(), pareto))
+                            .bool(false)
+                            .timestamp(createdAt)
+                            .timestamp(createdAt);
+                    writer.endRow();
+                }
+            }
+            rows = writer.finish();
+        }
+        report("posts", rows, startedAt);
+        return rows;
+    }
+
+    /**
+     * Falha logo se o banco não foi migrado, ou se uma migration acrescentou uma coluna
+     * obrigatória que este seeder não preenche.
+     */
+    private static void checkSchema(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("""
+                     SELECT version FROM flyway_schema_history
+                     WHERE success AND version IS NOT NULL
+                     ORDER BY installed_rank DESC LIMIT 1
+                     """)) {
+            System.out.printf("Schema at Flyway version %s%n", rs.next() ? rs.getString(1) : "?");
+        } catch (SQLException e) {
+            throw new IllegalStateException("Banco sem migrations do Flyway; suba a API uma vez antes de popular", e);
+        }
+
+        requireColumns(connection, "users", Set.of("id", "name", "username", "email", "password", "description",
+                "deleted", "failed_login_attempts", "account_non_locked", "token_version", "created_at", "updated_at"));
+        requireColumns(connection, "posts", Set.of("id", "user_id", "title", "description", "photo_link",
+                "private_post", "likes_count", "deleted", "created_at", "updated_at"));
+        requireColumns(connection, "follows", Set.of("follower_id", "following_id", "followed_at"));
+    }
+
+    private static void requireColumns(Connection connection, String table, Set<String> written) throws SQLException {
+        Set<String> existing = new HashSet<>();
+        List<String> unfilled = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement("""
+                SELECT column_name, is_nullable = 'NO' AND column_default IS NULL
+                FROM information_schema.columns
+                WHERE table_schema = current_schema() AND table_name = ?
+                """)) {
+            statement.setString(1, table);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    existing.add(rs.getString(1));
+                    if (rs.getBoolean(2) && !written.contains(rs.getString(1))) {
+                        unfilled.add(rs.getString(1));
+                    }
+                }
+            }
+        }
+        Set<String> missing = new HashSet<>(written);
+        missing.removeAll(existing);
+        if (!missing.isEmpty() || !unfilled.isEmpty()) {
+            throw new IllegalStateException("Schema de " + table + " incompatível com o seeder: colunas ausentes "
+                    + missing + ", obrigatórias sem valor " + unfilled);
+        }
+    }
+
+    /**
+     * Remove os usuários de uma execução anterior (follows e posts vão em cascata), ou esvazia
+     * todas as tabelas de usuários com {@code truncate=true}, bem mais rápido com milhões de
+     * linhas mas que também apaga contas reais: só para banco dedicado a benchmark.
+     */
+    private void removePrevious(Connection connection) throws SQLException {
+        long startedAt = System.nanoTime();
+        if (settings.truncate()) {
+            execute(connection, "TRUNCATE users CASCADE");
+            report("truncate", 0, startedAt);
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement("DELETE FROM users WHERE email LIKE ?")) {
+            statement.setString(1, "%" + SyntheticPopulation.EMAIL_DOMAIN);
+            int deleted = statement.executeUpdate();
+            if (deleted > 0) {
+                report("delete previous users", deleted, startedAt);
+            }
+        }
+    }
+
+    /**
+     * Remove os índices de {@code table} que não sustentam uma constraint (a chave primária
+     * fica) e as foreign keys dela.
+     *
+     * @return os comandos que os recriam exatamente como estavam.
+     */
+    private static List<String> dropIndexesAndForeignKeys(Connection connection, String table) throws SQLException {
+        List<String> drops = new ArrayList<>();
+        List<String> creates = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement("""
+                SELECT i.relname, pg_get_indexdef(i.oid)
+                FROM pg_index x JOIN pg_class i ON i.oid = x.indexrelid
+                WHERE x.indrelid = ?::regclass
+                  AND NOT EXISTS (SELECT 1 FROM pg_constraint c
+                                  WHERE c.conrelid = x.indrelid AND c.conindid = x.indexrelid)
+                """)) {
+            statement.setString(1, table);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    drops.add("DROP INDEX " + quote(rs.getString(1)));
+                    creates.add(rs.getString(2));
+                }
+            }
+        }
+        try (PreparedStatement statement = connection.prepareStatement("""
+                SELECT conname, pg_get_constraintdef(oid)
+                FROM pg_constraint
+                WHERE conrelid = ?::regclass AND contype = 'f'
+                """)) {
+            statement.setString(1, table);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    drops.add("ALTER TABLE " + table + " DROP CONSTRAINT " + quote(rs.getString(1)));
+                    creates.add("ALTER TABLE " + table + " ADD CONSTRAINT " + quote(rs.getString(1)) + " " + rs.getString(2));
+                }
+            }
+        }
+        for (String ddl : drops) {
+            execute(connection, ddl);
+        }
+        return creates;
+    }
+
+    /**
+     * Os posts inseridos aqui pegam o id do default BIGSERIAL, enquanto o Hibernate aloca de
+     * {@code posts_seq} em blocos de 50; avança essa sequência além dos ids semeados para que
+     * posts criados pela API não colidam com eles.
+     */
+    private static void alignPostSequence(Connection connection) throws SQLException {
+        execute(connection, """
+                SELECT setval('posts_seq', (SELECT coalesce(max(id), 0) + 50 FROM posts))
+                FROM pg_class WHERE relname = 'posts_seq' AND relkind = 'S'
+                """);
+    }
+
+    private static long roleUserId(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT id FROM roles WHERE name = 'ROLE_USER'")) {
+            if (!rs.next()) {
+                throw new IllegalStateException("Papel ROLE_USER não encontrado");
+            }
+            return rs.getLong(1);
+        }
+    }
+
+    private int indexOf(int rank) {
+        return (int) ((rank * multiplier + offset) % users);
+    }
+
+    private long createdAtOf(int index) {
+        return (firstCreatedMillis + index * createdStepMillis) / 1000;
+    }
+
+    /**
+     * UUIDv7: milissegundo de criação nos 48 bits altos (crescente com o índice), resto
+     * pseudoaleatório derivado do índice.
+     */
+    private UUID idOf(int index) {
+        long millis = firstCreatedMillis + index * createdStepMillis;
+        long random = mix(index ^ idSalt);
+        long msb = (millis << 16) | 0x7000L | (random & 0x0FFFL);
+        long lsb = (mix(random) & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L;
+        return new UUID(msb, lsb);
+    }
+
+    private static String username(int index) {
+        return "lt" + index;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static String quote(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static void report(String step, long rows, long startedAtNanos) {
+        double seconds = (System.nanoTime() - startedAtNanos) / 1e9;
+        System.out.printf("  %-26s %,12d in %6.1f s (%,.0f/s)%n", step, rows, seconds, rows / Math.max(seconds, 1e-3));
+    }
+}
@@ -0,0 +1,230 @@
+package com.felipe.teachgram_backend.loadtest;
+
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Envia linhas para um {@code COPY ... FROM STDIN} no formato texto do PostgreSQL
+ * (separado por tab, {@code \N} para nulo), codificando direto em buffers de bytes.
+ * <p>
+ * Dois buffers se alternam: enquanto um é enviado em {@code sender}, quem chama continua
+ * gerando linhas no outro, então a geração dos dados e o lado de rede/servidor do COPY
+ * acontecem ao mesmo tempo em vez de se revezarem.
+ */
+final class CopyWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final CopyIn copyIn;
+    private final ExecutorService sender;
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private byte[] spare = new byte[BUFFER_SIZE];
+    private int position;
+    private boolean firstField = true;
+    private long rows;
+    private Future<?> pending;
+
+    CopyWriter(CopyManager copyManager, String table, String columns, ExecutorService sender) throws SQLException {
+        this.copyIn = copyManager.copyIn("COPY " + table + " (" + columns + ") FROM STDIN");
+        this.sender = sender;
+    }
+
+    CopyWriter text(String value) {
+        separator();
+        if (value == null) {
+            ensure(2);
+            buffer[position++] = '\\';
+            buffer[position++] = 'N';
+            return this;
+        }
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            switch (b) {
+                case '\\' -> escaped('\\');
+                case '\t' -> escaped('t');
+                case '\n' -> escaped('n');
+                case '\r' -> escaped('r');
+                default -> {
+                    ensure(1);
+                    buffer[position++] = b;
+                }
+            }
+        }
+        return this;
+    }
+
+    CopyWriter number(long value) {
+        separator();
+        ensure(20);
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        digits(value, 1);
+        return this;
+    }
+
+    CopyWriter bool(boolean value) {
+        separator();
+        ensure(1);
+        buffer[position++] = (byte) (value ? 't' : 'f');
+        return this;
+    }
+
+    CopyWriter uuid(UUID value) {
+        separator();
+        ensure(36);
+        hex(value.getMostSignificantBits() >>> 32, 8);
+        buffer[position++] = '-';
+        hex(value.getMostSignificantBits() >>> 16, 4);
+        buffer[position++] = '-';
+        hex(value.getMostSignificantBits(), 4);
+        buffer[position++] = '-';
+        hex(value.getLeastSignificantBits() >>> 48, 4);
+        buffer[position++] = '-';
+        hex(value.getLeastSignificantBits(), 12);
+        return this;
+    }
+
+    /**
+     * Coluna {@code TIMESTAMP} (sem fuso horário), a partir de segundos de epoch em UTC.
+     */
+    CopyWriter timestamp(long epochSecond) {
+        LocalDateTime time = LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+        separator();
+        ensure(19);
+        digits(time.getYear(), 4);
+        buffer[position++] = '-';
+        digits(time.getMonthValue(), 2);
+        buffer[position++] = '-';
+        digits(time.getDayOfMonth(), 2);
+        buffer[position++] = ' ';
+        digits(time.getHour(), 2);
+        buffer[position++] = ':';
+        digits(time.getMinute(), 2);
+        buffer[position++] = ':';
+        digits(time.getSecond(), 2);
+        return this;
+    }
+
+    void endRow() {
+        ensure(1);
+        buffer[position++] = '\n';
+        firstField = true;
+        rows++;
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    /**
+     * Envia o que falta e encerra o COPY.
+     *
+     * @return linhas gravadas, segundo o servidor.
+     */
+    long finish() throws SQLException {
+        flush();
+        await();
+        return copyIn.endCopy();
+    }
+
+    /**
+     * Cancela o COPY se {@link #finish()} não foi alcançado (quem chama desfaz a transação
+     * de qualquer forma).
+     */
+    @Override
+    public void close() throws SQLException {
+        if (copyIn.isActive()) {
+            try {
+                await();
+            } finally {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private void separator() {
+        if (firstField) {
+            firstField = false;
+        } else {
+            ensure(1);
+            buffer[position++] = '\t';
+        }
+    }
+
+    private void escaped(char c) {
+        ensure(2);
+        buffer[position++] = '\\';
+        buffer[position++] = (byte) c;
+    }
+
+    private void digits(long value, int minWidth) {
+        int length = 1;
+        for (long v = value / 10; v > 0; v /= 10) {
+            length++;
+        }
+        length = Math.max(length, minWidth);
+        for (int i = position + length - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += length;
+    }
+
+    private void hex(long value, int length) {
+        for (int i = position + length - 1; i >= position; i--) {
+            buffer[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        position += length;
+    }
+
+    private void ensure(int bytes) {
+        if (position + bytes > buffer.length) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        if (position == 0) {
+            return;
+        }
+        byte[] full = buffer;
+        int length = position;
+        // o envio anterior terminou, então o outro buffer está livre
+        await();
+        buffer = spare;
+        spare = full;
+        position = 0;
+        pending = sender.submit(() -> {
+            copyIn.writeToCopy(full, 0, length);
+            return null;
+        });
+    }
+
+    private void await() {
+        if (pending == null) {
+            return;
+        }
+        try {
+            pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("COPY interrompido", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha no COPY", e.getCause());
+        } finally {
+            pending = null;
+        }
+    }
+}
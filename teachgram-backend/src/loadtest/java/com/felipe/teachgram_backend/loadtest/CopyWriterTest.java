@@ -0,0 +1,157 @@
+package com.felipe.teachgram_backend.loadtest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Roda com {@code ./mvnw -Ploadtest test -Dtest=CopyWriterTest}; o COPY é simulado, os bytes
+ * enviados ficam em {@link #sent}.
+ */
+class CopyWriterTest {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final ByteArrayOutputStream sent = new ByteArrayOutputStream();
+    private final List<Integer> writes = new ArrayList<>();
+    private ExecutorService sender;
+    private CopyWriter writer;
+
+    @BeforeEach
+    void setup() throws Exception {
+        CopyIn copyIn = mock(CopyIn.class);
+        CopyManager copyManager = mock(CopyManager.class);
+        when(copyManager.copyIn(anyString())).thenReturn(copyIn);
+        doAnswer(invocation -> {
+            byte[] data = invocation.getArgument(0);
+            int offset = invocation.getArgument(1);
+            int length = invocation.getArgument(2);
+            synchronized (sent) {
+                // o buffer volta a ser usado pelo writer, então copia já
+                sent.write(data, offset, length);
+                writes.add(length);
+            }
+            return null;
+        }).when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+        when(copyIn.endCopy()).thenAnswer(invocation -> (long) writer.rows());
+
+        sender = Executors.newSingleThreadExecutor();
+        writer = new CopyWriter(copyManager, "users", "id, name", sender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sender.shutdownNow();
+    }
+
+    @Test
+    void text_escapesCopyControlCharactersAndWritesNullMarker() throws Exception {
+        // Act
+        writer.text("a\\b\tc\nd\re").text(null).text("ação").text("").endRow();
+        writer.finish();
+
+        // Assert
+        assertThat(output()).isEqualTo("a\\\\b\\tc\\nd\\re\t\\N\tação\t\n");
+    }
+
+    @Test
+    void uuid_matchesUuidToString() throws Exception {
+        // Arrange
+        List<UUID> values = new ArrayList<>(List.of(
+                new UUID(0, 0),
+                new UUID(-1, -1),
+                new UUID(0x0000_0001_0002_0003L, 0x0004_0000_0000_0005L),
+                UUID.fromString("01890a5d-ac96-774b-bcce-b302099a8057")));
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 100; i++) {
+            values.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+
+        // Act
+        StringBuilder expected = new StringBuilder();
+        for (UUID value : values) {
+            writer.uuid(value).endRow();
+            expected.append(value).append('\n');
+        }
+        writer.finish();
+
+        // Assert
+        assertThat(output()).isEqualTo(expected.toString());
+    }
+
+    @Test
+    void timestamp_writesUtcDateTimeWithZeroPadding() throws Exception {
+        // Arrange
+        long[] epochSeconds = {0, 1, 59, 946_684_799, 1_709_251_199, 4_102_444_800L, -62_135_596_800L};
+
+        // Act
+        StringBuilder expected = new StringBuilder();
+        for (long epochSecond : epochSeconds) {
+            writer.timestamp(epochSecond).endRow();
+            expected.append(LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC).format(TIMESTAMP))
+                    .append('\n');
+        }
+        writer.finish();
+
+        // Assert
+        assertThat(output()).isEqualTo(expected.toString());
+    }
+
+    @Test
+    void number_andBool_writeTextFormat() throws Exception {
+        // Act
+        writer.number(0).number(-42).number(Long.MAX_VALUE).bool(true).bool(false).endRow();
+        writer.finish();
+
+        // Assert
+        assertThat(output()).isEqualTo("0\t-42\t" + Long.MAX_VALUE + "\tt\tf\n");
+    }
+
+    @Test
+    void endRow_pastOneMegabyte_rollsOverBuffersWithoutLosingBytes() throws Exception {
+        // Arrange
+        int rows = 100_000;
+        StringBuilder expected = new StringBuilder();
+
+        // Act
+        for (int i = 0; i < rows; i++) {
+            String name = "user" + i + "\tção";
+            writer.number(i).text(name).endRow();
+            expected.append(i).append('\t').append(name.replace("\t", "\\t")).append('\n');
+        }
+        long written = writer.finish();
+
+        // Assert
+        assertThat(expected.toString().getBytes(StandardCharsets.UTF_8).length).isGreaterThan(2 * BUFFER_SIZE);
+        assertThat(output()).isEqualTo(expected.toString());
+        assertThat(writes).hasSizeGreaterThan(2).allSatisfy(length -> assertThat(length).isLessThanOrEqualTo(BUFFER_SIZE));
+        assertThat(written).isEqualTo(rows);
+    }
+
+    private String output() {
+        synchronized (sent) {
+            return sent.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.felipe.teachgram_backend.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latência e contadores de status de um {@link Scenario}.
+ * <p>
+ * A latência é medida a partir do início <em>previsto</em> da requisição (o seu horário na
+ * agenda de chegadas), e não de quando ela foi de fato enviada, então um servidor travado
+ * também aparece na latência das requisições que ficaram na fila atrás dele (sem
+ * coordinated omission).
+ */
+final class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final Scenario scenario;
+    private final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder ioErrors = new LongAdder();
+
+    EndpointStats(Scenario scenario) {
+        this.scenario = scenario;
+    }
+
+    void record(long latencyNanos, int status) {
+        latency.recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS));
+        if (status >= 200 && status < 300) {
+            ok.increment();
+        } else if (status == 429 || status == 503) {
+            throttled.increment();
+        } else if (status >= 400 && status < 500) {
+            clientErrors.increment();
+        } else {
+            serverErrors.increment();
+        }
+    }
+
+    void recordIoError(long latencyNanos) {
+        latency.recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS));
+        ioErrors.increment();
+    }
+
+    long count() {
+        return latency.getTotalCount();
+    }
+
+    static void printHeader(PrintStream out) {
+        out.printf("%-30s %8s %8s %6s %6s %6s %6s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "ok", "4xx", "429/3", "5xx", "io", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+    }
+
+    void printRow(PrintStream out) {
+        out.printf("%-30s %8d %8d %6d %6d %6d %6d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                scenario.endpoint(), count(), ok.sum(), clientErrors.sum(), throttled.sum(), serverErrors.sum(),
+                ioErrors.sum(), millis(50), millis(90), millis(99), millis(99.9), latency.getMaxValue() / 1e6);
+    }
+
+    /**
+     * Grava a distribuição completa de percentis (em milissegundos) como
+     * {@code <cenário>.hgrm}, o formato lido pelo plotter do HdrHistogram.
+     */
+    void writeDistribution(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(scenario.key() + ".hgrm")))) {
+            latency.outputPercentileDistribution(out, 1e6);
+        }
+    }
+
+    private double millis(double percentile) {
+        return latency.getValueAtPercentile(percentile) / 1e6;
+    }
+}
@@ -0,0 +1,239 @@
+package com.felipe.teachgram_backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.felipe.teachgram_backend.loadtest.SyntheticPopulation.Population;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gerador de tráfego em modelo aberto: a requisição {@code i} está prevista para
+ * {@code start + i / rps} e começa nesse instante, na própria virtual thread, seja qual for o
+ * estado das anteriores. Os cenários são sorteados pelo mix configurado; perfis, curtidas e
+ * follows escolhem contas/posts pela popularidade ({@link PowerLawSampler}), e o feed lê as
+ * primeiras páginas com mais frequência que as últimas.
+ */
+final class LoadDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int FEED_PAGES = 50;
+    private static final int SIGNIN_CONCURRENCY = 16;
+
+    private final LoadTestSettings settings;
+    private final Population population;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient httpClient;
+    private final Map<Scenario, EndpointStats> stats = new EnumMap<>(Scenario.class);
+    private final Scenario[] mixTable;
+    private final PowerLawSampler userPopularity;
+    private final PowerLawSampler postPopularity;
+    private final PowerLawSampler feedPages = new PowerLawSampler(FEED_PAGES, 1.0);
+    private final LongAdder dropped = new LongAdder();
+    private final List<Session> sessions = new ArrayList<>();
+
+    private record Session(UUID userId, String token, Set<UUID> following) {
+    }
+
+    LoadDriver(LoadTestSettings settings, Population population) {
+        this.settings = settings;
+        this.population = population;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+        for (Scenario scenario : Scenario.values()) {
+            stats.put(scenario, new EndpointStats(scenario));
+        }
+        this.mixTable = mixTable(settings.mix());
+        this.userPopularity = new PowerLawSampler(population.userIds().size(), settings.followAlpha());
+        this.postPopularity = population.postIds().isEmpty()
+                ? null : new PowerLawSampler(population.postIds().size(), settings.followAlpha());
+    }
+
+    /**
+     * Faz login com {@code sessions} usuários sintéticos aleatórios; os cenários autenticados
+     * reutilizam os tokens.
+     */
+    void openSessions() throws InterruptedException {
+        int count = Math.min(settings.sessions(), population.emails().size());
+        SplittableRandom random = new SplittableRandom(settings.randomSeed());
+        Semaphore permits = new Semaphore(SIGNIN_CONCURRENCY);
+        List<Session> opened = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < count; i++) {
+            String email = population.emails().get(random.nextInt(population.emails().size()));
+            permits.acquire();
+            executor.submit(() -> {
+                try {
+                    HttpResponse<String> response = send(signinRequest(email));
+                    if (response.statusCode() == 200) {
+                        JsonNode body = objectMapper.readTree(response.body());
+                        opened.add(new Session(UUID.fromString(body.get("userId").asText()),
+                                body.get("token").asText(), ConcurrentHashMap.newKeySet()));
+                    }
+                } catch (IOException e) {
+                    // sessão não aberta; as outras bastam
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+        permits.acquire(SIGNIN_CONCURRENCY);
+        sessions.addAll(opened);
+        if (sessions.isEmpty()) {
+            throw new IllegalStateException("Nenhuma sessão aberta: a API está no ar e aceita a senha dos usuários sintéticos?");
+        }
+        System.out.printf("Opened %d sessions%n", sessions.size());
+    }
+
+    /**
+     * Roda aquecimento e medição na taxa alvo e retorna as estatísticas por cenário (as
+     * requisições do aquecimento são enviadas, mas não registradas).
+     */
+    Map<Scenario, EndpointStats> run() throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.rps();
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+        Semaphore inFlight = new Semaphore(settings.maxInFlight());
+        SplittableRandom random = new SplittableRandom(settings.randomSeed());
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!inFlight.tryAcquire()) {
+                if (intended >= measureFrom) {
+                    dropped.increment();
+                }
+                continue;
+            }
+            Scenario scenario = mixTable[random.nextInt(mixTable.length)];
+            boolean measured = intended >= measureFrom;
+            executor.submit(() -> {
+                try {
+                    execute(scenario, intended, measured);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+        inFlight.acquire(settings.maxInFlight());
+        executor.shutdown();
+        return stats;
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    private void execute(Scenario scenario, long intended, boolean measured) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Session session = sessions.get(random.nextInt(sessions.size()));
+        Scenario reported = scenario;
+        HttpRequest request;
+        switch (scenario) {
+            case SIGNIN -> request = signinRequest(population.emails().get(random.nextInt(population.emails().size())));
+            case FEED -> request = authorized(session, "/api/posts?page=" + feedPages.next(random) + "&size=20").GET().build();
+            case PROFILE -> request = authorized(session, "/api/users/" + popularUser(random) + "/summary").GET().build();
+            case LIKE -> {
+                if (postPopularity == null) {
+                    return;
+                }
+                Long postId = population.postIds().get(postPopularity.next(random));
+                request = authorized(session, "/api/posts/" + postId + "/like")
+                        .method("PATCH", HttpRequest.BodyPublishers.noBody()).build();
+            }
+            default -> {
+                UUID target = popularUser(random);
+                if (target.equals(session.userId())) {
+                    return;
+                }
+                if (session.following().remove(target)) {
+                    reported = Scenario.UNFOLLOW;
+                    request = authorized(session, "/api/follow/" + target).DELETE().build();
+                } else {
+                    session.following().add(target);
+                    request = authorized(session, "/api/follow/" + target)
+                            .POST(HttpRequest.BodyPublishers.noBody()).build();
+                }
+            }
+        }
+
+        EndpointStats endpoint = stats.get(reported);
+        try {
+            HttpResponse<String> response = send(request);
+            if (measured) {
+                endpoint.record(System.nanoTime() - intended, response.statusCode());
+            }
+        } catch (IOException e) {
+            if (measured) {
+                endpoint.recordIoError(System.nanoTime() - intended);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private UUID popularUser(ThreadLocalRandom random) {
+        return population.userIds().get(userPopularity.next(random));
+    }
+
+    private HttpRequest signinRequest(String email) {
+        String body = "{\"email\":\"" + email + "\",\"password\":\"" + settings.password() + "\"}";
+        return HttpRequest.newBuilder(URI.create(settings.baseUrl() + "/api/auth/signin"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(Session session, String path) {
+        return HttpRequest.newBuilder(URI.create(settings.baseUrl() + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + session.token());
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static Scenario[] mixTable(Map<Scenario, Integer> mix) {
+        List<Scenario> table = new ArrayList<>();
+        mix.forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                table.add(scenario);
+            }
+        });
+        return table.toArray(Scenario[]::new);
+    }
+}
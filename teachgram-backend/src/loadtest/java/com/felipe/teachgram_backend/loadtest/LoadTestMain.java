@@ -0,0 +1,51 @@
+package com.felipe.teachgram_backend.loadtest;
+
+import com.felipe.teachgram_backend.loadtest.SyntheticPopulation.Population;
+
+import java.util.Map;
+
+/**
+ * Teste de carga de ponta a ponta contra uma API rodando e o seu Postgres local.
+ * <ol>
+ *   <li>carrega (ou relê, com {@code seed=false}) a população sintética;</li>
+ *   <li>abre um conjunto de sessões;</li>
+ *   <li>executa o mix de cenários a {@code rps} durante {@code warmup + duration};</li>
+ *   <li>imprime uma linha de latência por endpoint e grava arquivos {@code .hgrm} em {@code outputDir}.</li>
+ * </ol>
+ * Uso (API iniciada com {@code APPLICATION_RATE_LIMIT_ENABLED=false}; sem isso os limites
+ * por IP respondem a maior parte do tráfego com 429):
+ * <pre>
+ * ./mvnw -Ploadtest test-compile exec:exec -Dloadtest.args="users=20000 rps=300 duration=120s"
+ * </pre>
+ * Todos os parâmetros estão em {@link LoadTestSettings}.
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.from(args);
+        SyntheticPopulation seeder = new SyntheticPopulation(settings);
+        Population population = settings.seed() ? seeder.seed() : seeder.load();
+
+        LoadDriver driver = new LoadDriver(settings, population);
+        driver.openSessions();
+        System.out.printf("Running %s mix at %d rps: %ds warm-up + %ds measured%n",
+                settings.mix(), settings.rps(), settings.warmup().toSeconds(), settings.duration().toSeconds());
+        Map<Scenario, EndpointStats> stats = driver.run();
+
+        long total = 0;
+        EndpointStats.printHeader(System.out);
+        for (EndpointStats endpoint : stats.values()) {
+            if (endpoint.count() > 0) {
+                endpoint.printRow(System.out);
+                endpoint.writeDistribution(settings.outputDir());
+                total += endpoint.count();
+            }
+        }
+        System.out.printf("%nAchieved %.1f rps (target %d); %d arrivals dropped at maxInFlight=%d%n",
+                (double) total / settings.duration().toSeconds(), settings.rps(), driver.dropped(), settings.maxInFlight());
+        System.out.printf("Percentile distributions written to %s%n", settings.outputDir().toAbsolutePath());
+    }
+}
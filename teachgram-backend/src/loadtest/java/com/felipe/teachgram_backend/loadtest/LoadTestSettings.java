@@ -0,0 +1,116 @@
+package com.felipe.teachgram_backend.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parâmetros de uma execução do teste de carga. Cada um é lido de um argumento
+ * {@code chave=valor}, depois da system property {@code loadtest.<chave>}, e por fim cai no padrão.
+ *
+ * @param baseUrl      API sob teste.
+ * @param jdbcUrl      banco usado pela API, para a carga de dados.
+ * @param seed         se a população sintética é (re)criada antes da execução.
+ * @param truncate     esvazia todas as tabelas de usuários antes da carga em vez de apagar só as
+ *                     contas sintéticas (bem mais rápido com milhões de linhas; só em banco de benchmark).
+ * @param users        número de usuários sintéticos.
+ * @param avgFollowing média de contas seguidas por usuário.
+ * @param followAlpha  expoente Zipf da popularidade das contas (seguidores, visitas ao perfil, curtidas).
+ * @param postsPerUser média de posts por usuário.
+ * @param maxLikes     teto do {@code likes_count} semeado de um post.
+ * @param sessions     usuários logados no início; o tráfego autenticado é distribuído entre eles.
+ * @param rps          taxa de requisições alvo (modelo aberto: as requisições começam no horário
+ *                     previsto, tenham as anteriores terminado ou não).
+ * @param warmup       período inicial cujas latências não são registradas.
+ * @param duration     período medido, depois do aquecimento.
+ * @param maxInFlight  requisições permitidas em andamento; chegadas acima disso contam como descartadas.
+ * @param mix          peso relativo de cada {@link Scenario}.
+ */
+record LoadTestSettings(
+        String baseUrl,
+        String jdbcUrl,
+        String dbUser,
+        String dbPassword,
+        boolean seed,
+        boolean truncate,
+        int users,
+        int avgFollowing,
+        double followAlpha,
+        int postsPerUser,
+        int maxLikes,
+        String password,
+        int sessions,
+        int rps,
+        Duration warmup,
+        Duration duration,
+        int maxInFlight,
+        Map<Scenario, Integer> mix,
+        Path outputDir,
+        long randomSeed
+) {
+
+    static LoadTestSettings from(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Argumento inválido (esperado chave=valor): " + arg);
+            }
+            values.put(arg.substring(0, eq).trim(), arg.substring(eq + 1).trim());
+        }
+        Lookup lookup = new Lookup(values);
+        return new LoadTestSettings(
+                lookup.get("baseUrl", "http://localhost:8080"),
+                lookup.get("jdbcUrl", "jdbc:postgresql://localhost:5432/teachgram_db"),
+                lookup.get("dbUser", "postgres"),
+                lookup.get("dbPassword", "postgres"),
+                Boolean.parseBoolean(lookup.get("seed", "true")),
+                Boolean.parseBoolean(lookup.get("truncate", "false")),
+                Integer.parseInt(lookup.get("users", "10000")),
+                Integer.parseInt(lookup.get("avgFollowing", "40")),
+                Double.parseDouble(lookup.get("followAlpha", "1.1")),
+                Integer.parseInt(lookup.get("postsPerUser", "5")),
+                Integer.parseInt(lookup.get("maxLikes", "5000")),
+                lookup.get("password", "loadtest-password"),
+                Integer.parseInt(lookup.get("sessions", "500")),
+                Integer.parseInt(lookup.get("rps", "200")),
+                Duration.parse("PT" + lookup.get("warmup", "15s").toUpperCase()),
+                Duration.parse("PT" + lookup.get("duration", "60s").toUpperCase()),
+                Integer.parseInt(lookup.get("maxInFlight", "2000")),
+                parseMix(lookup.get("mix", "signin=5,feed=45,profile=25,like=15,follow=10")),
+                Path.of(lookup.get("outputDir", "target/loadtest")),
+                Long.parseLong(lookup.get("randomSeed", "42"))
+        );
+    }
+
+    private static Map<Scenario, Integer> parseMix(String spec) {
+        Map<Scenario, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.split("=");
+            Scenario scenario = Scenario.byName(kv[0].trim());
+            if (scenario == Scenario.UNFOLLOW) {
+                throw new IllegalArgumentException("'unfollow' faz parte do cenário 'follow'");
+            }
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) {
+                mix.put(scenario, weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("O mix precisa de ao menos um cenário com peso > 0");
+        }
+        return mix;
+    }
+
+    private record Lookup(Map<String, String> args) {
+        String get(String key, String defaultValue) {
+            String value = args.get(key);
+            if (value == null) {
+                value = System.getProperty("loadtest." + key, defaultValue);
+            }
+            return value;
+        }
+    }
+}
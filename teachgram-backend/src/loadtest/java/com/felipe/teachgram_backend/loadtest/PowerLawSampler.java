@@ -0,0 +1,42 @@
+package com.felipe.teachgram_backend.loadtest;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Sorteia posições em {@code [0, n)} com probabilidades Zipf: a posição {@code k} tem peso
+ * {@code 1 / (k + 1)^alpha}. A posição 0 é a conta/post mais popular, e com {@code alpha}
+ * perto de 1 poucos por cento das posições recebem a maior parte dos sorteios, que é como
+ * seguidores e visitas a perfis se distribuem numa rede social.
+ * <p>
+ * A distribuição acumulada é calculada uma vez, então cada sorteio é uma busca binária.
+ */
+final class PowerLawSampler {
+
+    private final double[] cumulative;
+
+    PowerLawSampler(int n, double alpha) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n deve ser positivo");
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, alpha);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= sum;
+        }
+    }
+
+    int next(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+
+    int size() {
+        return cumulative.length;
+    }
+}
@@ -0,0 +1,35 @@
+package com.felipe.teachgram_backend.loadtest;
+
+import java.util.Locale;
+
+/**
+ * Ações de usuário que o teste de carga mistura. Cada uma tem o próprio histograma; o cenário
+ * de follow alterna follow/unfollow por sessão e alvo, então aparece em {@link #FOLLOW} ou
+ * {@link #UNFOLLOW}.
+ */
+enum Scenario {
+    SIGNIN("POST /api/auth/signin"),
+    FEED("GET /api/posts"),
+    PROFILE("GET /api/users/{id}/summary"),
+    LIKE("PATCH /api/posts/{id}/like"),
+    FOLLOW("POST /api/follow/{id}"),
+    UNFOLLOW("DELETE /api/follow/{id}");
+
+    private final String endpoint;
+
+    Scenario(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    static Scenario byName(String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+}
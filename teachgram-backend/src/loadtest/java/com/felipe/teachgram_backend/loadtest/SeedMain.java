@@ -0,0 +1,24 @@
+package com.felipe.teachgram_backend.loadtest;
+
+/**
+ * Só carrega a população sintética, para benchmarks e planejamento de capacidade que
+ * precisam de volume de dados realista mas não do gerador de carga:
+ * <pre>
+ * ./mvnw -Ploadtest test-compile exec:exec -Dloadtest.main=com.felipe.teachgram_backend.loadtest.SeedMain \
+ *     -Dloadtest.args="users=2000000 avgFollowing=40 postsPerUser=5 truncate=true"
+ * </pre>
+ * Usa os parâmetros {@code jdbcUrl}, {@code users}, {@code avgFollowing}, {@code followAlpha},
+ * {@code postsPerUser}, {@code maxLikes}, {@code password}, {@code truncate} e
+ * {@code randomSeed} de {@link LoadTestSettings}.
+ */
+public final class SeedMain {
+
+    private SeedMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.from(args);
+        System.out.printf("Seeding %,d users into %s%n", settings.users(), settings.jdbcUrl());
+        new BulkSeeder(settings).seed();
+    }
+}
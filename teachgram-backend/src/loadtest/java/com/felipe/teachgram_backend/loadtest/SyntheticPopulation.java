@@ -0,0 +1,107 @@
+package com.felipe.teachgram_backend.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A rede social sintética contra a qual o teste de carga roda:
+ * <ul>
+ *   <li>{@code users} com {@code ROLE_USER}, todos com o mesmo hash BCrypt de
+ *       {@code password} (calcular o hash de cada senha levaria horas e não mediria nada);</li>
+ *   <li>{@code follows}: cada usuário segue ~{@code avgFollowing} contas (grau de saída
+ *       exponencial) escolhidas pela popularidade, então o grau de entrada segue uma lei de potência;</li>
+ *   <li>{@code posts}: ~{@code postsPerUser} por usuário, com {@code likes_count} em
+ *       distribuição de Pareto.</li>
+ * </ul>
+ * A carga é feita pelo {@link BulkSeeder} via COPY. As contas sintéticas usam e-mails
+ * {@code @loadtest.local} e são apagadas (com follows e posts, em cascata) antes de uma nova
+ * carga, então as execuções podem se repetir no mesmo banco. A API precisa ter subido uma vez
+ * contra ele, para que o schema esteja completo.
+ */
+final class SyntheticPopulation {
+
+    static final String EMAIL_DOMAIN = "@loadtest.local";
+
+    /**
+     * Ids dos dados semeados, em ordem de popularidade (o índice 0 é o mais popular).
+     */
+    record Population(List<UUID> userIds, List<String> emails, List<Long> postIds) {
+    }
+
+    private final LoadTestSettings settings;
+
+    SyntheticPopulation(LoadTestSettings settings) {
+        this.settings = settings;
+    }
+
+    Population seed() throws SQLException {
+        BulkSeeder seeder = new BulkSeeder(settings);
+        seeder.seed();
+
+        List<UUID> userIds = new ArrayList<>(settings.users());
+        List<String> emails = new ArrayList<>(settings.users());
+        for (int rank = 0; rank < settings.users(); rank++) {
+            userIds.add(seeder.userId(rank));
+            emails.add(seeder.email(rank));
+        }
+        try (Connection connection = connect()) {
+            return new Population(userIds, emails, loadPostIdsByLikes(connection));
+        }
+    }
+
+    /**
+     * Relê uma população semeada por uma execução anterior ({@code seed=false}).
+     */
+    Population load() throws SQLException {
+        try (Connection connection = connect()) {
+            List<UUID> userIds = new ArrayList<>();
+            List<String> emails = new ArrayList<>();
+            try (PreparedStatement statement = connection.prepareStatement("""
+                    SELECT u.id, u.email FROM users u
+                    LEFT JOIN follows f ON f.following_id = u.id
+                    WHERE u.email LIKE ?
+                    GROUP BY u.id, u.email
+                    ORDER BY count(f.follower_id) DESC
+                    """)) {
+                statement.setString(1, "%" + EMAIL_DOMAIN);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        userIds.add(rs.getObject(1, UUID.class));
+                        emails.add(rs.getString(2));
+                    }
+                }
+            }
+            if (userIds.isEmpty()) {
+                throw new IllegalStateException("Nenhum usuário sintético encontrado; rode com seed=true");
+            }
+            return new Population(userIds, emails, loadPostIdsByLikes(connection));
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(settings.jdbcUrl(), settings.dbUser(), settings.dbPassword());
+    }
+
+    private static List<Long> loadPostIdsByLikes(Connection connection) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement("""
+                SELECT p.id FROM posts p JOIN users u ON u.id = p.user_id
+                WHERE u.email LIKE ? AND p.deleted = false AND p.private_post = false
+                ORDER BY p.likes_count DESC
+                """)) {
+            statement.setString(1, "%" + EMAIL_DOMAIN);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getLong(1));
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,23 @@
+package com.felipe.teachgram_backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Tarefas do {@code applicationTaskExecutor} do Spring Boot (requisições MVC assíncronas e
+     * quem injetar o executor) levam junto o trace, o MDC e a contagem de SQL da requisição que
+     * as disparou. O executor usa virtual threads com {@code spring.threads.virtual.enabled}
+     * (limitadas por {@code spring.task.execution.simple.concurrency-limit}), senão o pool padrão.
+     * <p>
+     * Nenhum método é {@code @Async} hoje, então {@code @EnableAsync} fica desligado; o primeiro
+     * que precisar deve ligá-lo aqui e já roda nesse executor, com este decorator.
+     */
+    @Bean
+    public ContextPropagatingTaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+}
@@ -1,17 +1,58 @@
 package com.felipe.teachgram_backend.config;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import jakarta.annotation.PostConstruct;
 
+import java.util.regex.Pattern;
+
+@Slf4j
 @Component
 public class DatabaseConfigLogger {
 
+    private static final Pattern PASSWORD_PARAM = Pattern.compile("(?i)(password=)[^&;]*");
+    private static final Pattern USER_INFO = Pattern.compile("//[^/@]*@");
+
     @Value("${spring.datasource.url}")
     private String datasourceUrl;
 
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int poolSize;
+
+    @Value("${spring.datasource.hikari.connection-timeout:30000}")
+    private long connectionTimeoutMillis;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${server.tomcat.threads.max:200}")
+    private int tomcatMaxThreads;
+
+    @Value("${application.profile.max-concurrent-queries:4}")
+    private int profileQueries;
+
     @PostConstruct
     public void log() {
-        System.out.println("Datasource URL: " + datasourceUrl);
+        log.info("Datasource URL: {}", mask(datasourceUrl));
+        log.info("Connection pool: {} connections, {} ms acquire timeout; request threads: {}",
+                poolSize, connectionTimeoutMillis,
+                virtualThreads ? "virtual" : "platform (max " + tomcatMaxThreads + ")");
+        log.info("Profile summary queries: at most {} at once on this node", profileQueries);
+        if (profileQueries >= poolSize) {
+            log.warn("application.profile.max-concurrent-queries ({}) leaves no connection of the pool ({}) "
+                    + "for the rest of the API under profile load", profileQueries, poolSize);
+        }
+    }
+
+    /**
+     * Remove credenciais embutidas na URL JDBC ({@code password=...} e {@code usuario:senha@}).
+     */
+    static String mask(String url) {
+        if (url == null) {
+            return null;
+        }
+        String masked = PASSWORD_PARAM.matcher(url).replaceAll("$1****");
+        return USER_INFO.matcher(masked).replaceAll("//****@");
     }
 }
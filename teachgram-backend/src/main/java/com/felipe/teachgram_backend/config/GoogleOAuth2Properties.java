@@ -0,0 +1,28 @@
+package com.felipe.teachgram_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.security.oauth2.google")
+public class GoogleOAuth2Properties {
+    /** Client ID do app no Google; o claim {@code aud} do ID token precisa contê-lo. */
+    private String clientId;
+    /**
+     * JWKS com as chaves públicas do Google. Aceita também {@code classpath:} ou {@code file:},
+     * para desenvolvimento e testes sem acesso à rede.
+     */
+    private String jwkSetUri = "https://www.googleapis.com/oauth2/v3/certs";
+    private List<String> issuers = new ArrayList<>(List.of("accounts.google.com", "https://accounts.google.com"));
+    /** Tempo que o JWKS fica em cache; é renovado em segundo plano um pouco antes de expirar. */
+    private Duration jwkSetCacheTtl = Duration.ofHours(6);
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(3);
+    private Duration clockSkew = Duration.ofSeconds(60);
+}
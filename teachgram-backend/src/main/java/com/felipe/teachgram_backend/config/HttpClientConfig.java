@@ -0,0 +1,23 @@
+package com.felipe.teachgram_backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+@Configuration
+public class HttpClientConfig {
+
+    /**
+     * Cliente HTTP compartilhado pelas chamadas a serviços externos; mantém o pool de conexões
+     * (e HTTP/2) entre requisições em vez de abrir uma conexão nova por chamada.
+     */
+    @Bean
+    public HttpClient httpClient(GoogleOAuth2Properties googleOAuth2Properties) {
+        return HttpClient.newBuilder()
+                .connectTimeout(googleOAuth2Properties.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.felipe.teachgram_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.security.login-throttle")
+public class LoginThrottleProperties {
+    /** Falhas de login por e-mail dentro da janela antes de recusar novas tentativas. */
+    private int usernameMaxFailures = 5;
+    private Duration usernameWindow = Duration.ofMinutes(15);
+    /** Falhas de login por IP dentro da janela antes de recusar novas tentativas. */
+    private int ipMaxFailures = 30;
+    private Duration ipWindow = Duration.ofMinutes(5);
+    /** Bloqueia a conta em {@code users} quando o limite por e-mail é atingido. */
+    private boolean lockAccount = true;
+    /** Duração do bloqueio da conta; passado esse tempo ela volta a aceitar login sem intervenção. */
+    private Duration lockDuration = Duration.ofMinutes(15);
+    /** Máximo de chaves (e-mails + IPs) acompanhadas em memória; acima disso sai a menos usada. */
+    private int maxTrackedKeys = 100_000;
+}
@@ -0,0 +1,23 @@
+package com.felipe.teachgram_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.security.password")
+public class PasswordHashingProperties {
+    /** Custo (log2 rounds) do BCrypt. Hashes com custo menor são refeitos no próximo login. */
+    private int strength = 10;
+    /** Threads dedicadas ao BCrypt. */
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    /** Operações aguardando thread; além disso a requisição é recusada com 503. */
+    private int queueCapacity = 64;
+    /** Tempo máximo de espera por um hash antes de desistir com 503. */
+    private Duration timeout = Duration.ofSeconds(5);
+    /** Valor do cabeçalho Retry-After nas recusas. */
+    private int retryAfterSeconds = 1;
+}
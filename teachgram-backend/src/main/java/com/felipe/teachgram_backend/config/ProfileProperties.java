@@ -0,0 +1,17 @@
+package com.felipe.teachgram_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.profile")
+public class ProfileProperties {
+    /**
+     * Consultas do resumo de perfil rodando ao mesmo tempo no nó, somando todas as requisições.
+     * Cada consulta ocupa uma conexão do pool; mantenha abaixo de DB_POOL_SIZE para sobrar
+     * conexão para o resto da API.
+     */
+    private int maxConcurrentQueries = 4;
+}
@@ -0,0 +1,26 @@
+package com.felipe.teachgram_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.profiling")
+public class ProfilingProperties {
+    /** Diretório onde as gravações do JFR são gravadas para download. */
+    private String directory = System.getProperty("java.io.tmpdir") + "/teachgram-jfr";
+    /** Configuração do JDK usada quando o pedido não informa outra ({@code default} ou {@code profile}). */
+    private String defaultSettings = "profile";
+    /** Duração máxima de uma gravação; ao fim dela a gravação para sozinha. */
+    private Duration maxDuration = Duration.ofMinutes(30);
+    /** Tamanho máximo de uma gravação; os dados mais antigos são descartados acima dele. */
+    private DataSize maxSize = DataSize.ofMegabytes(256);
+    /** Gravações iniciadas pela API que podem rodar ao mesmo tempo. */
+    private int maxActiveRecordings = 1;
+    /** Gravações paradas iniciadas pela API mantidas para download; as mais antigas são fechadas. */
+    private int maxStoppedRecordings = 3;
+}
@@ -0,0 +1,32 @@
+package com.felipe.teachgram_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    /** Máximo de buckets (usuário × grupo) mantidos em memória; os menos usados são descartados. */
+    private int maxTrackedBuckets = 100_000;
+    /** Políticas por grupo de endpoints; vale a primeira cujo caminho e método casam com a requisição. */
+    private List<Policy> policies = new ArrayList<>();
+
+    @Data
+    public static class Policy {
+        private String name;
+        /** Padrões de caminho (ex.: {@code /api/posts/**}). */
+        private List<String> paths = new ArrayList<>();
+        /** Métodos HTTP cobertos; vazio cobre todos. */
+        private List<String> methods = new ArrayList<>();
+        /** Requisições permitidas por {@link #period}, que também é o tamanho máximo da rajada. */
+        private int capacity;
+        private Duration period = Duration.ofMinutes(1);
+    }
+}
@@ -0,0 +1,23 @@
+package com.felipe.teachgram_backend.config;
+
+import com.felipe.teachgram_backend.observability.RequestLogContextFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class RequestLoggingConfig {
+
+    /**
+     * Primeiro filtro da aplicação, para que todo log da requisição (inclusive da autenticação)
+     * já saia com o {@code requestId}.
+     */
+    @Bean
+    public FilterRegistrationBean<RequestLogContextFilter> requestLogContextFilter(RequestLoggingProperties properties) {
+        FilterRegistrationBean<RequestLogContextFilter> registration =
+                new FilterRegistrationBean<>(new RequestLogContextFilter(properties));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
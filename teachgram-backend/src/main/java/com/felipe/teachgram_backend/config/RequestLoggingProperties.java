@@ -0,0 +1,19 @@
+package com.felipe.teachgram_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.logging")
+public class RequestLoggingProperties {
+    /** Cabeçalho com o ID da requisição; é aceito do cliente/proxy e devolvido na resposta. */
+    private String requestIdHeader = "X-Request-Id";
+    /** Fração (0 a 1) das requisições que registram seu SQL e parâmetros, mesmo com esses loggers desligados. */
+    private double sqlSampleRate = 0.0;
+    /** Tempo máximo que um usuário ou trace pode ficar com log detalhado. */
+    private Duration maxVerboseDuration = Duration.ofHours(1);
+}
@@ -4,11 +4,18 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @Data
 @Component
 @ConfigurationProperties(prefix = "application.security.jwt")
 public class RsaKeyProperties {
     private String privateKey;
     private String publicKey;
-    private Integer expirationMinutes;
+    /** Validade do token de acesso; também é por quanto tempo uma chave aposentada ainda verifica. */
+    private int expirationMinutes = 15;
+    /** Algoritmo da chave de assinatura ativa: RS256, ES256 ou EdDSA. */
+    private String algorithm = "RS256";
+    /** Intervalo em que cada nó recarrega do banco as chaves rotacionadas por outros nós. */
+    private Duration keySyncInterval = Duration.ofSeconds(30);
 }
@@ -1,19 +1,31 @@
 package com.felipe.teachgram_backend.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.felipe.teachgram_backend.constants.UserRole;
-import com.felipe.teachgram_backend.repository.UserRepository;
 import com.felipe.teachgram_backend.security.CustomAuthenticationFailureHandler;
 import com.felipe.teachgram_backend.security.CustomUserDetailsService;
 import com.felipe.teachgram_backend.security.JwtAuthFilter;
 import com.felipe.teachgram_backend.security.JwtService;
-import com.nimbusds.jose.jwk.JWK;
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
-import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.felipe.teachgram_backend.security.UserStatusCache;
+import com.felipe.teachgram_backend.security.JwtKeyRing;
+import com.felipe.teachgram_backend.security.JwtKeyStore;
+import com.felipe.teachgram_backend.security.KeyRingJwtDecoder;
+import com.felipe.teachgram_backend.security.KeyRingJwtEncoder;
+import com.felipe.teachgram_backend.security.OffloadingPasswordEncoder;
+import com.felipe.teachgram_backend.security.PasswordHashingExecutor;
+import com.felipe.teachgram_backend.security.RateLimitFilter;
+import com.felipe.teachgram_backend.security.RateLimiter;
+import com.nimbusds.jose.JWSAlgorithm;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -27,10 +39,11 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -41,6 +54,7 @@ import java.security.KeyFactory;
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
 import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
 import java.util.Base64;
 import java.util.List;
 
@@ -80,20 +94,46 @@ public class SecurityConfig {
         }
     }
 
+    /**
+     * Chaves já geradas (por outro nó ou antes do restart) são carregadas do banco. Só se gera
+     * uma chave nova quando o algoritmo configurado não é RS256 e a chave ativa é de outro
+     * algoritmo; com RS256 vale a chave configurada até a primeira rotação.
+     */
     @Bean
-    public JwtEncoder jwtEncoder(RSAPublicKey publicKey, RSAPrivateKey privateKey) {
-        JWK jwk = new RSAKey.Builder(publicKey).privateKey(privateKey).build();
-        return new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(jwk)));
+    public JwtKeyRing jwtKeyRing(RSAPublicKey publicKey, RSAPrivateKey privateKey, JwtKeyStore jwtKeyStore) {
+        if (rsaKeyProperties.getExpirationMinutes() <= 0) {
+            throw new IllegalStateException("application.security.jwt.expiration-minutes deve ser maior que zero");
+        }
+        Duration retention = Duration.ofMinutes(rsaKeyProperties.getExpirationMinutes());
+        JwtKeyRing keyRing = new JwtKeyRing(publicKey, privateKey, retention, jwtKeyStore);
+        keyRing.refresh();
+
+        JWSAlgorithm algorithm = JWSAlgorithm.parse(rsaKeyProperties.getAlgorithm());
+        if (!JWSAlgorithm.RS256.equals(algorithm) && !algorithm.equals(keyRing.active().algorithm())) {
+            keyRing.rotate(algorithm);
+        }
+        return keyRing;
+    }
+
+    @Bean
+    public JwtEncoder jwtEncoder(JwtKeyRing jwtKeyRing) {
+        return new KeyRingJwtEncoder(jwtKeyRing);
     }
 
     @Bean
-    public JwtDecoder jwtDecoder(RSAPublicKey publicKey) {
-        return NimbusJwtDecoder.withPublicKey(publicKey).build();
+    public JwtDecoder jwtDecoder(JwtKeyRing jwtKeyRing) {
+        return new KeyRingJwtDecoder(jwtKeyRing, JwtValidators.createDefaultWithIssuer(JwtService.ISSUER));
     }
 
     @Bean
-    public JwtAuthFilter jwtAuthFilter(JwtService jwtService, UserRepository userRepository) {
-        return new JwtAuthFilter(jwtService, userRepository);
+    public JwtAuthFilter jwtAuthFilter(JwtService jwtService, UserStatusCache userStatusCache,
+                                       ObservationRegistry observationRegistry) {
+        return new JwtAuthFilter(jwtService, userStatusCache, observationRegistry);
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        return new RateLimitFilter(rateLimiter, objectMapper);
     }
 
     @Bean
@@ -115,7 +155,9 @@ public class SecurityConfig {
             HttpSecurity http,
             JwtService jwtService,
             UserDetailsService userDetailsService,
-            JwtAuthFilter jwtAuthFilter
+            JwtAuthFilter jwtAuthFilter,
+            RateLimitFilter rateLimitFilter,
+            Environment environment
     ) throws Exception {
         http
                 .cors(cors -> {})
@@ -124,10 +166,15 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers(
                                 "/api/auth/**",
+                                "/.well-known/jwks.json",
                                 "/v3/api-docs/**",
                                 "/swagger-ui/**",
                                 "/swagger-ui.html"
                         ).permitAll()
+                        // scraping do Prometheus e probes só sem login na porta interna (MANAGEMENT_SERVER_PORT)
+                        .requestMatchers(new AndRequestMatcher(onManagementPort(environment),
+                                EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class))).permitAll()
+                        .requestMatchers(EndpointRequest.toAnyEndpoint()).hasAuthority(UserRole.ADMIN.getRoleName())
                         .requestMatchers("/api/admin/**").hasAuthority(UserRole.ADMIN.getRoleName())
                         .requestMatchers("/api/moderator/**").hasAnyAuthority(
                                 UserRole.ADMIN.getRoleName(),
@@ -139,14 +186,35 @@ public class SecurityConfig {
                 .sessionManagement(sess -> sess
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtAuthFilter.class);
 
         return http.build();
     }
 
+    /**
+     * Requisições recebidas na porta do actuator, quando ela é separada da porta da API.
+     * Com {@code management.server.port} igual à da API (ou ausente) nada casa, e health e
+     * prometheus passam a exigir ADMIN como os demais endpoints.
+     */
+    private static RequestMatcher onManagementPort(Environment environment) {
+        Integer port = environment.getProperty("management.server.port", Integer.class);
+        if (ManagementPortType.get(environment) != ManagementPortType.DIFFERENT || port == null || port <= 0) {
+            return request -> false;
+        }
+        return request -> request.getLocalPort() == port;
+    }
+
+    @Bean
+    public PasswordHashingExecutor passwordHashingExecutor(PasswordHashingProperties passwordHashingProperties) {
+        return new PasswordHashingExecutor(passwordHashingProperties);
+    }
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties passwordHashingProperties,
+                                           PasswordHashingExecutor passwordHashingExecutor) {
+        return new OffloadingPasswordEncoder(
+                new BCryptPasswordEncoder(passwordHashingProperties.getStrength()), passwordHashingExecutor);
     }
 
     @Bean
@@ -0,0 +1,36 @@
+package com.felipe.teachgram_backend.config;
+
+import com.felipe.teachgram_backend.observability.CountingStatementInspector;
+import com.felipe.teachgram_backend.observability.StatementBudgetFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class StatementBudgetConfig {
+
+    /**
+     * Registra o contador de comandos SQL no Hibernate. Fora de uma gravação aberta o custo é
+     * uma leitura de ThreadLocal por comando.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new CountingStatementInspector());
+    }
+
+    /**
+     * Roda antes da cadeia do Spring Security, para contar também as consultas feitas na autenticação.
+     */
+    @Bean
+    public FilterRegistrationBean<StatementBudgetFilter> statementBudgetFilter(StatementBudgetProperties properties,
+                                                                               MeterRegistry meterRegistry) {
+        FilterRegistrationBean<StatementBudgetFilter> registration =
+                new FilterRegistrationBean<>(new StatementBudgetFilter(properties, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
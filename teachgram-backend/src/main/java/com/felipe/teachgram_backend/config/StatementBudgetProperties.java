@@ -0,0 +1,18 @@
+package com.felipe.teachgram_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.sql-budget")
+public class StatementBudgetProperties {
+    private boolean enabled = true;
+    /** Orçamento de comandos SQL por requisição para endpoints sem {@code @StatementBudget}. */
+    private int defaultBudget = 25;
+    /** Fração (0 a 1) das requisições acima do orçamento que são registradas em log. */
+    private double logSampleRate = 0.1;
+    /** Quantos comandos de uma requisição acima do orçamento entram no log. */
+    private int loggedStatements = 20;
+}
@@ -0,0 +1,23 @@
+package com.felipe.teachgram_backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.felipe.teachgram_backend.observability.FileSpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Exportador para arquivo local, usado quando não há coletor OTLP. O Spring Boot o registra
+     * no mesmo BatchSpanProcessor do OTLP, então os dois podem ficar ligados ao mesmo tempo.
+     */
+    @Bean
+    @ConditionalOnExpression("!'${application.tracing.file:}'.isBlank()")
+    public FileSpanExporter fileSpanExporter(TracingProperties tracingProperties, ObjectMapper objectMapper) {
+        return new FileSpanExporter(Path.of(tracingProperties.getFile()), objectMapper);
+    }
+}
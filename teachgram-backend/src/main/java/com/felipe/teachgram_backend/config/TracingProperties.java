@@ -0,0 +1,13 @@
+package com.felipe.teachgram_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.tracing")
+public class TracingProperties {
+    /** Arquivo (JSON por linha) onde gravar os spans; vazio desliga. Independe do exportador OTLP. */
+    private String file;
+}
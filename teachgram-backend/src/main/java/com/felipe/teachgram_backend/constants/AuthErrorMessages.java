@@ -5,7 +5,8 @@ import lombok.Getter;
 @Getter
 public enum AuthErrorMessages {
     INVALID_CREDENTIALS("Invalid username or password."),
-    USER_NOT_FOUND("User not found after authentication.");
+    USER_NOT_FOUND("User not found after authentication."),
+    INVALID_REFRESH_TOKEN("Invalid or expired refresh token.");
 
     private final String message;
 
@@ -0,0 +1,13 @@
+package com.felipe.teachgram_backend.constants;
+
+/**
+ * Resultado de uma operação de follow/unfollow em lote para um usuário alvo.
+ */
+public enum FollowOutcome {
+    FOLLOWED,
+    ALREADY_FOLLOWING,
+    UNFOLLOWED,
+    NOT_FOLLOWING,
+    NOT_FOUND,
+    SELF
+}
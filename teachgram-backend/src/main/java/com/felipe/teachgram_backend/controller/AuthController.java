@@ -2,6 +2,7 @@ package com.felipe.teachgram_backend.controller;
 
 import com.felipe.teachgram_backend.dto.auth.LoginRequestDTO;
 import com.felipe.teachgram_backend.dto.auth.LoginResponseDTO;
+import com.felipe.teachgram_backend.dto.auth.RefreshTokenRequestDTO;
 import com.felipe.teachgram_backend.dto.user.UserRequestDTO;
 import com.felipe.teachgram_backend.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -89,4 +90,32 @@ public class AuthController {
 
         return ResponseEntity.ok(authService.signupWithOAuth2(idToken));
     }
+
+    @Operation(
+            summary = "Renovar token de acesso",
+            description = "Troca um refresh token por um novo token JWT e um novo refresh token. O refresh token " +
+                    "apresentado é consumido; reutilizá-lo revoga todos os tokens daquela sessão."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Token renovado com sucesso",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = LoginResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Refresh token inválido, expirado ou já utilizado",
+                    content = @Content)
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponseDTO> refresh(@Valid @RequestBody RefreshTokenRequestDTO request) {
+        return ResponseEntity.ok(authService.refresh(request.refreshToken()));
+    }
+
+    @Operation(
+            summary = "Logout",
+            description = "Revoga o refresh token informado e todos os tokens renovados a partir do mesmo login."
+    )
+    @ApiResponse(responseCode = "204", description = "Sessão encerrada", content = @Content)
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequestDTO request) {
+        authService.logout(request.refreshToken());
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -1,14 +1,23 @@
 package com.felipe.teachgram_backend.controller;
 
+import com.felipe.teachgram_backend.dto.common.CursorPageDTO;
+import com.felipe.teachgram_backend.dto.user.FollowBatchRequestDTO;
+import com.felipe.teachgram_backend.dto.user.FollowBatchResultDTO;
+import com.felipe.teachgram_backend.dto.user.FollowStatusDTO;
+import com.felipe.teachgram_backend.dto.user.FollowSuggestionDTO;
 import com.felipe.teachgram_backend.dto.user.UserFollowDTO;
-import com.felipe.teachgram_backend.entity.User;
+import com.felipe.teachgram_backend.observability.StatementBudget;
+import com.felipe.teachgram_backend.security.CustomUserDetails;
 import com.felipe.teachgram_backend.service.FollowService;
+import com.felipe.teachgram_backend.service.FollowSuggestionService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -24,6 +33,7 @@ import java.util.UUID;
 public class FollowController {
 
     private final FollowService followService;
+    private final FollowSuggestionService followSuggestionService;
 
     @Operation(summary = "Seguir um usuário", description = "O usuário autenticado passa a seguir o usuário " +
             "identificado pelo 'followingId'.")
@@ -36,12 +46,30 @@ public class FollowController {
     @PostMapping("/{followingId}")
     public ResponseEntity<ApiResponseMessage> follow(
             @PathVariable UUID followingId,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal CustomUserDetails user
     ) {
         followService.followUser(user.getId(), followingId);
         return ResponseEntity.ok(new ApiResponseMessage("Usuário seguido com sucesso."));
     }
 
+    @Operation(summary = "Seguir e deixar de seguir em lote", description = "Aplica, em uma única transação, " +
+            "os follows de 'follow' e os unfollows de 'unfollow' (até " + FollowService.MAX_BATCH_SIZE +
+            " IDs em cada lista) e retorna o resultado para cada usuário alvo.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote processado com sucesso.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = FollowBatchResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Lote acima do limite ou ID repetido nas duas listas."),
+            @ApiResponse(responseCode = "401", description = "Usuário não autenticado.")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<FollowBatchResultDTO> batch(
+            @Valid @RequestBody FollowBatchRequestDTO request,
+            @AuthenticationPrincipal CustomUserDetails user
+    ) {
+        return ResponseEntity.ok(followService.batchFollow(user.getId(), request));
+    }
+
     @Operation(summary = "Deixar de seguir um usuário", description = "O usuário autenticado para de seguir o " +
             "usuário identificado pelo 'followingId'.")
     @ApiResponses(value = {
@@ -52,36 +80,88 @@ public class FollowController {
     @DeleteMapping("/{followingId}")
     public ResponseEntity<Void> unfollow(
             @PathVariable UUID followingId,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal CustomUserDetails user
     ) {
         followService.unfollowUser(user.getId(), followingId);
         return ResponseEntity.noContent().build();
     }
 
-    @Operation(summary = "Listar seguidores", description = "Retorna uma lista paginada dos usuários que " +
-            "seguem o usuário autenticado.")
+    @Operation(summary = "Listar seguidores", description = "Retorna uma página (paginação por cursor) dos " +
+            "usuários que seguem o usuário autenticado, do follow mais recente para o mais antigo.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de seguidores retornada com sucesso.",
+            @ApiResponse(responseCode = "200", description = "Página de seguidores retornada com sucesso.",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = UserFollowDTO.class))),
+                            schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido."),
             @ApiResponse(responseCode = "401", description = "Usuário não autenticado.")
     })
     @GetMapping("/followers")
-    public ResponseEntity<List<UserFollowDTO>> getFollowers(@AuthenticationPrincipal User user) {
-        return ResponseEntity.ok(followService.getFollowers(user.getId()));
+    @StatementBudget(3)
+    public ResponseEntity<CursorPageDTO<UserFollowDTO>> getFollowers(
+            @Parameter(description = "Cursor retornado em 'nextCursor' pela página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo " + FollowService.MAX_PAGE_SIZE + ")")
+            @RequestParam(defaultValue = "" + FollowService.DEFAULT_PAGE_SIZE) int size,
+            @AuthenticationPrincipal CustomUserDetails user
+    ) {
+        return ResponseEntity.ok(followService.getFollowers(user.getId(), cursor, size));
     }
 
-    @Operation(summary = "Listar seguindo", description = "Retorna uma lista paginada dos usuários que o " +
-            "usuário autenticado está seguindo.")
+    @Operation(summary = "Listar seguindo", description = "Retorna uma página (paginação por cursor) dos " +
+            "usuários que o usuário autenticado está seguindo, do follow mais recente para o mais antigo.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de seguindo retornada com sucesso.",
+            @ApiResponse(responseCode = "200", description = "Página de seguindo retornada com sucesso.",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = UserFollowDTO.class))),
+                            schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido."),
             @ApiResponse(responseCode = "401", description = "Usuário não autenticado.")
     })
     @GetMapping("/following")
-    public ResponseEntity<List<UserFollowDTO>> getFollowing(@AuthenticationPrincipal User user) {
-        return ResponseEntity.ok(followService.getFollowing(user.getId()));
+    @StatementBudget(3)
+    public ResponseEntity<CursorPageDTO<UserFollowDTO>> getFollowing(
+            @Parameter(description = "Cursor retornado em 'nextCursor' pela página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (máximo " + FollowService.MAX_PAGE_SIZE + ")")
+            @RequestParam(defaultValue = "" + FollowService.DEFAULT_PAGE_SIZE) int size,
+            @AuthenticationPrincipal CustomUserDetails user
+    ) {
+        return ResponseEntity.ok(followService.getFollowing(user.getId(), cursor, size));
+    }
+
+    @Operation(summary = "Consultar relação de follow em lote", description = "Retorna, para cada ID informado, " +
+            "se o usuário autenticado o segue, se é seguido por ele e se o follow é mútuo. Limite de " +
+            FollowService.MAX_STATUS_IDS + " IDs por chamada.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Relações retornadas com sucesso.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = FollowStatusDTO.class))),
+            @ApiResponse(responseCode = "400", description = "IDs inválidos ou acima do limite."),
+            @ApiResponse(responseCode = "401", description = "Usuário não autenticado.")
+    })
+    @GetMapping("/status")
+    public ResponseEntity<List<FollowStatusDTO>> getFollowStatuses(
+            @Parameter(description = "IDs dos usuários separados por vírgula", required = true)
+            @RequestParam List<UUID> ids,
+            @AuthenticationPrincipal CustomUserDetails user
+    ) {
+        return ResponseEntity.ok(followService.getFollowStatuses(user.getId(), ids));
+    }
+
+    @Operation(summary = "Sugestões de quem seguir", description = "Retorna usuários que o usuário autenticado " +
+            "ainda não segue, ordenados pelo número de pessoas seguidas por ele que também os seguem.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sugestões retornadas com sucesso.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = FollowSuggestionDTO.class))),
+            @ApiResponse(responseCode = "401", description = "Usuário não autenticado.")
+    })
+    @GetMapping("/suggestions")
+    public ResponseEntity<List<FollowSuggestionDTO>> getSuggestions(
+            @Parameter(description = "Quantidade máxima de sugestões (máximo " + FollowSuggestionService.MAX_LIMIT + ")")
+            @RequestParam(defaultValue = "" + FollowSuggestionService.DEFAULT_LIMIT) int limit,
+            @AuthenticationPrincipal CustomUserDetails user
+    ) {
+        return ResponseEntity.ok(followSuggestionService.getSuggestions(user.getId(), limit));
     }
 
     /**
@@ -0,0 +1,68 @@
+package com.felipe.teachgram_backend.controller;
+
+import com.felipe.teachgram_backend.dto.auth.KeyRotationResponseDTO;
+import com.felipe.teachgram_backend.exception.ValidationException;
+import com.felipe.teachgram_backend.security.JwtKeyRing;
+import com.nimbusds.jose.JWSAlgorithm;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Chaves JWT", description = "Publicação e rotação das chaves de assinatura dos tokens")
+public class JwksController {
+
+    private final JwtKeyRing jwtKeyRing;
+
+    @Operation(
+            summary = "Obter JWKS",
+            description = "Retorna as chaves públicas aceitas para verificação dos tokens, indexadas por kid."
+    )
+    @ApiResponse(responseCode = "200", description = "JWKS retornado com sucesso",
+            content = @Content(mediaType = "application/json"))
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(jwtKeyRing.publicJwkSet().toJSONObject(true));
+    }
+
+    @Operation(
+            summary = "Rotacionar chave de assinatura",
+            description = "Gera uma nova chave de assinatura e a torna ativa. Tokens assinados pela chave anterior " +
+                    "continuam válidos até expirarem. Acesso restrito a administradores."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Chave rotacionada com sucesso",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = KeyRotationResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Algoritmo não suportado", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Não autorizado (requer papel ADMIN)", content = @Content)
+    })
+    @PostMapping("/api/admin/keys/rotate")
+    public ResponseEntity<KeyRotationResponseDTO> rotate(
+            @Parameter(description = "Algoritmo da nova chave: RS256, ES256 ou EdDSA")
+            @RequestParam(defaultValue = "ES256") String algorithm) {
+        JWSAlgorithm jwsAlgorithm = JWSAlgorithm.parse(algorithm);
+        if (!JwtKeyRing.SUPPORTED_ALGORITHMS.contains(jwsAlgorithm)) {
+            throw new ValidationException("Algoritmo de assinatura não suportado: " + algorithm);
+        }
+        String kid = jwtKeyRing.rotate(jwsAlgorithm);
+        return ResponseEntity.ok(new KeyRotationResponseDTO(kid, jwsAlgorithm.getName()));
+    }
+}
@@ -0,0 +1,94 @@
+package com.felipe.teachgram_backend.controller;
+
+import com.felipe.teachgram_backend.config.RequestLoggingProperties;
+import com.felipe.teachgram_backend.exception.ResourceNotFoundException;
+import com.felipe.teachgram_backend.exception.ValidationException;
+import com.felipe.teachgram_backend.observability.LogVerbosity;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/admin/logging/verbose")
+@RequiredArgsConstructor
+@Tag(name = "Logging", description = "Log detalhado sob demanda, por usuário ou trace")
+public class LogVerbosityController {
+
+    private final RequestLoggingProperties requestLoggingProperties;
+
+    @Operation(summary = "Listar alvos com log detalhado",
+            description = "Usuários e traces cujas requisições estão sendo logadas em DEBUG, com SQL, e até quando.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Alvos retornados com sucesso",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = LogVerbosity.Entry.class))),
+            @ApiResponse(responseCode = "403", description = "Não autorizado (requer papel ADMIN)", content = @Content)
+    })
+    @GetMapping
+    public ResponseEntity<List<LogVerbosity.Entry>> list() {
+        return ResponseEntity.ok(LogVerbosity.active());
+    }
+
+    @Operation(summary = "Ativar log detalhado",
+            description = "Passa a logar em DEBUG, com SQL e parâmetros, as requisições do usuário (`user`) ou do " +
+                    "trace (`trace`) informado, pelo tempo pedido (limitado pela configuração).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Log detalhado ativado",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = LogVerbosity.Entry.class))),
+            @ApiResponse(responseCode = "400", description = "Alvo ou duração inválidos", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Não autorizado (requer papel ADMIN)", content = @Content)
+    })
+    @PutMapping("/{target}/{id}")
+    public ResponseEntity<LogVerbosity.Entry> enable(
+            @Parameter(description = "`user` ou `trace`") @PathVariable String target,
+            @Parameter(description = "ID do usuário ou do trace") @PathVariable String id,
+            @Parameter(description = "Duração, em minutos") @RequestParam(defaultValue = "15") long minutes
+    ) {
+        long maxMinutes = requestLoggingProperties.getMaxVerboseDuration().toMinutes();
+        if (minutes <= 0 || minutes > maxMinutes) {
+            throw new ValidationException("A duração deve ser positiva e de no máximo " + maxMinutes + " minutos.");
+        }
+        return ResponseEntity.ok(LogVerbosity.enable(parse(target), id, Instant.now().plus(Duration.ofMinutes(minutes))));
+    }
+
+    @Operation(summary = "Desativar log detalhado")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Log detalhado desativado"),
+            @ApiResponse(responseCode = "404", description = "Alvo sem log detalhado ativo", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Não autorizado (requer papel ADMIN)", content = @Content)
+    })
+    @DeleteMapping("/{target}/{id}")
+    public ResponseEntity<Void> disable(@PathVariable String target, @PathVariable String id) {
+        if (!LogVerbosity.disable(parse(target), id)) {
+            throw new ResourceNotFoundException("Nenhum log detalhado ativo para " + target + " " + id);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    private static LogVerbosity.Target parse(String target) {
+        try {
+            return LogVerbosity.Target.valueOf(target.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Alvo inválido: use 'user' ou 'trace'.");
+        }
+    }
+}
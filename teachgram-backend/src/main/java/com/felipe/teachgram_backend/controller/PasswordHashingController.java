@@ -0,0 +1,39 @@
+package com.felipe.teachgram_backend.controller;
+
+import com.felipe.teachgram_backend.security.PasswordHashingExecutor;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/password-hashing")
+@RequiredArgsConstructor
+@Tag(name = "Hash de senhas", description = "Monitoramento do pool dedicado ao BCrypt")
+public class PasswordHashingController {
+
+    private final PasswordHashingExecutor passwordHashingExecutor;
+
+    @Operation(
+            summary = "Estatísticas do pool de hash de senhas",
+            description = "Retorna ocupação, recusas e latências (fila e BCrypt) do pool de hash de senhas. " +
+                    "Acesso restrito a administradores."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PasswordHashingExecutor.Stats.class))),
+            @ApiResponse(responseCode = "403", description = "Não autorizado (requer papel ADMIN)", content = @Content)
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<PasswordHashingExecutor.Stats> getStats() {
+        return ResponseEntity.ok(passwordHashingExecutor.stats());
+    }
+}
@@ -2,9 +2,8 @@ package com.felipe.teachgram_backend.controller;
 
 import com.felipe.teachgram_backend.dto.post.PostRequestDTO;
 import com.felipe.teachgram_backend.dto.post.PostResponseDTO;
-import com.felipe.teachgram_backend.entity.User;
+import com.felipe.teachgram_backend.security.CustomUserDetails;
 import com.felipe.teachgram_backend.service.PostService;
-import com.felipe.teachgram_backend.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -22,7 +21,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -35,17 +33,14 @@ import java.util.UUID;
 public class PostController {
 
     private final PostService postService;
-    private final UserService userService;
 
     private UUID getCurrentLoggedInUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
             throw new IllegalStateException("Usuário não autenticado no contexto de segurança.");
         }
-        if (authentication.getPrincipal() instanceof UserDetails userDetails) {
-            return userService.userRepository.findByUsername(userDetails.getUsername())
-                    .orElseThrow(() -> new IllegalStateException("Usuário logado não encontrado no banco de dados."))
-                    .getId();
+        if (authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+            return userDetails.getId();
         }
         throw new IllegalStateException("Tipo de principal desconhecido.");
     }
@@ -108,9 +103,9 @@ public class PostController {
             @PathVariable Long id,
 
             @Parameter(hidden = true)
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal CustomUserDetails currentUser) {
 
-        PostResponseDTO post = postService.getPostById(id, currentUser);
+        PostResponseDTO post = postService.getPostById(id, currentUser.getId());
         return ResponseEntity.ok(post);
     }
 
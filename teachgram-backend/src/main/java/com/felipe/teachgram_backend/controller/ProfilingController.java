@@ -0,0 +1,117 @@
+package com.felipe.teachgram_backend.controller;
+
+import com.felipe.teachgram_backend.observability.FlightRecordings;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.file.Path;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/profiling/recordings")
+@RequiredArgsConstructor
+@Tag(name = "Profiling", description = "Gravações do Java Flight Recorder sob demanda")
+public class ProfilingController {
+
+    private final FlightRecordings flightRecordings;
+
+    @Operation(summary = "Listar gravações JFR",
+            description = "Gravações da JVM, iniciadas pela API ou por -XX:StartFlightRecording.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Gravações retornadas com sucesso",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = FlightRecordings.Info.class))),
+            @ApiResponse(responseCode = "403", description = "Não autorizado (requer papel ADMIN)", content = @Content)
+    })
+    @GetMapping
+    public ResponseEntity<List<FlightRecordings.Info>> list() {
+        return ResponseEntity.ok(flightRecordings.list());
+    }
+
+    @Operation(summary = "Iniciar gravação JFR",
+            description = "Inicia uma gravação com a configuração do JDK informada, incluindo os eventos " +
+                    "teachgram.* (feed, validação de token, hash de senha e curtidas). Ela para sozinha ao fim " +
+                    "da duração pedida (limitada pela configuração).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Gravação iniciada",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = FlightRecordings.Info.class))),
+            @ApiResponse(responseCode = "400", description = "Configuração ou duração inválidas, ou gravação já em andamento",
+                    content = @Content),
+            @ApiResponse(responseCode = "403", description = "Não autorizado (requer papel ADMIN)", content = @Content)
+    })
+    @PostMapping
+    public ResponseEntity<FlightRecordings.Info> start(
+            @Parameter(description = "`default` (~1% de overhead) ou `profile` (mais detalhada)")
+            @RequestParam(required = false) String settings,
+            @Parameter(description = "Duração, em minutos") @RequestParam(defaultValue = "5") long minutes
+    ) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(flightRecordings.start(settings, minutes));
+    }
+
+    @Operation(summary = "Parar gravação JFR", description = "Os dados continuam disponíveis para download até a exclusão.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Gravação parada",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = FlightRecordings.Info.class))),
+            @ApiResponse(responseCode = "400", description = "Gravação não está em andamento", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Gravação não encontrada", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Não autorizado (requer papel ADMIN)", content = @Content)
+    })
+    @PostMapping("/{id}/stop")
+    public ResponseEntity<FlightRecordings.Info> stop(@PathVariable long id) {
+        return ResponseEntity.ok(flightRecordings.stop(id));
+    }
+
+    @Operation(summary = "Baixar gravação JFR",
+            description = "Arquivo .jfr com os dados gravados até agora (abrir no JDK Mission Control ou com `jfr print`). " +
+                    "Uma gravação em andamento continua rodando.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Arquivo da gravação",
+                    content = @Content(mediaType = "application/octet-stream")),
+            @ApiResponse(responseCode = "400", description = "Gravação ainda sem dados", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Gravação não encontrada", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Não autorizado (requer papel ADMIN)", content = @Content)
+    })
+    @GetMapping("/{id}/file")
+    public ResponseEntity<Resource> download(@PathVariable long id) {
+        Path file = flightRecordings.dump(id);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(new FileSystemResource(file));
+    }
+
+    @Operation(summary = "Excluir gravação JFR", description = "Para a gravação, se preciso, e descarta seus dados.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Gravação excluída"),
+            @ApiResponse(responseCode = "404", description = "Gravação não encontrada", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Não autorizado (requer papel ADMIN)", content = @Content)
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable long id) {
+        flightRecordings.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+}
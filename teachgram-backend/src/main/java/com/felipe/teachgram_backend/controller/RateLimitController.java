@@ -0,0 +1,39 @@
+package com.felipe.teachgram_backend.controller;
+
+import com.felipe.teachgram_backend.security.RateLimiter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/rate-limit")
+@RequiredArgsConstructor
+@Tag(name = "Rate limit", description = "Monitoramento dos limites de requisições por usuário")
+public class RateLimitController {
+
+    private final RateLimiter rateLimiter;
+
+    @Operation(
+            summary = "Estatísticas do rate limit",
+            description = "Retorna, por política, as requisições aceitas e recusadas, além do número de buckets " +
+                    "em memória. Acesso restrito a administradores."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = RateLimiter.Stats.class))),
+            @ApiResponse(responseCode = "403", description = "Não autorizado (requer papel ADMIN)", content = @Content)
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<RateLimiter.Stats> getStats() {
+        return ResponseEntity.ok(rateLimiter.stats());
+    }
+}
@@ -1,11 +1,13 @@
 package com.felipe.teachgram_backend.controller;
 
 import com.felipe.teachgram_backend.constants.UserRole;
+import com.felipe.teachgram_backend.dto.user.ProfileSummaryDTO;
 import com.felipe.teachgram_backend.dto.user.UserRequestDTO;
 import com.felipe.teachgram_backend.dto.user.UserResponseDTO;
 import com.felipe.teachgram_backend.entity.User;
 import com.felipe.teachgram_backend.mapper.UserMapper;
 import com.felipe.teachgram_backend.security.CustomUserDetails;
+import com.felipe.teachgram_backend.service.ProfileService;
 import com.felipe.teachgram_backend.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -18,6 +20,8 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -34,6 +38,7 @@ import java.util.UUID;
 public class UserController {
 
     private final UserService userService;
+    private final ProfileService profileService;
     private final UserMapper userMapper;
 
     private UUID getLoggedInUserId() {
@@ -89,6 +94,27 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
 
+    @Operation(
+            summary = "Obter resumo do perfil",
+            description = "Retorna, em uma única chamada, o usuário, os contadores de posts, seguidores e seguindo, " +
+                    "a relação de follow com o usuário autenticado e a primeira página do grid de posts."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resumo do perfil retornado com sucesso",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ProfileSummaryDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Usuário não encontrado", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Não autenticado", content = @Content)
+    })
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<ProfileSummaryDTO> getProfileSummary(
+            @Parameter(description = "ID do usuário dono do perfil") @PathVariable UUID id,
+            @Parameter(description = "Paginação do grid de posts (ex: page=0&size=12&sort=createdAt,desc)")
+            @PageableDefault(size = 12, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        UUID loggedInUserId = getLoggedInUserId();
+        return ResponseEntity.ok(profileService.getProfileSummary(id, loggedInUserId, pageable));
+    }
+
     @Operation(
             summary = "Obter perfil do usuário logado",
             description = "Retorna os detalhes do perfil do usuário atualmente autenticado."
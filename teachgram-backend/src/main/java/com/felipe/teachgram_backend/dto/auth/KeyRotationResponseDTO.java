@@ -0,0 +1,4 @@
+package com.felipe.teachgram_backend.dto.auth;
+
+public record KeyRotationResponseDTO(String kid, String algorithm) {
+}
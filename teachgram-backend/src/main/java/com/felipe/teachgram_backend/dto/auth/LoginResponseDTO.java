@@ -2,5 +2,9 @@ package com.felipe.teachgram_backend.dto.auth;
 
 import java.util.UUID;
 
-public record LoginResponseDTO(String token, UUID userId, String userName, Long expiresIn) {
-}
\ No newline at end of file
+public record LoginResponseDTO(String token, UUID userId, String userName, Long expiresIn, String refreshToken) {
+
+    public LoginResponseDTO(String token, UUID userId, String userName, Long expiresIn) {
+        this(token, userId, userName, expiresIn, null);
+    }
+}
@@ -0,0 +1,6 @@
+package com.felipe.teachgram_backend.dto.auth;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRequestDTO(@NotBlank String refreshToken) {
+}
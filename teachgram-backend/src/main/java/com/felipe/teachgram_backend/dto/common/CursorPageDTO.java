@@ -0,0 +1,13 @@
+package com.felipe.teachgram_backend.dto.common;
+
+import java.util.List;
+
+/**
+ * Fatia de resultados paginada por keyset. {@code nextCursor} é opaco para os clientes e deve
+ * ser reenviado como veio para buscar a página seguinte; é {@code null} na última página.
+ */
+public record CursorPageDTO<T>(
+        List<T> items,
+        String nextCursor,
+        boolean hasNext
+) {}
@@ -0,0 +1,26 @@
+package com.felipe.teachgram_backend.dto.user;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FollowBatchRequestDTO {
+
+    @Builder.Default
+    @Size(max = 200, message = "No máximo 200 usuários para seguir por requisição.")
+    private List<UUID> follow = new ArrayList<>();
+
+    @Builder.Default
+    @Size(max = 200, message = "No máximo 200 usuários para deixar de seguir por requisição.")
+    private List<UUID> unfollow = new ArrayList<>();
+}
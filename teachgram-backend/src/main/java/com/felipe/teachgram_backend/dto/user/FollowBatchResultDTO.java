@@ -0,0 +1,9 @@
+package com.felipe.teachgram_backend.dto.user;
+
+import java.util.List;
+
+public record FollowBatchResultDTO(
+        int followed,
+        int unfollowed,
+        List<FollowOutcomeDTO> results
+) {}
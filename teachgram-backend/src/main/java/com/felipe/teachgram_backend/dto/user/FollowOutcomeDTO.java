@@ -0,0 +1,10 @@
+package com.felipe.teachgram_backend.dto.user;
+
+import com.felipe.teachgram_backend.constants.FollowOutcome;
+
+import java.util.UUID;
+
+public record FollowOutcomeDTO(
+        UUID userId,
+        FollowOutcome outcome
+) {}
@@ -0,0 +1,10 @@
+package com.felipe.teachgram_backend.dto.user;
+
+import java.util.UUID;
+
+public record FollowStatusDTO(
+        UUID userId,
+        boolean following,
+        boolean followedBy,
+        boolean mutual
+) {}
@@ -0,0 +1,11 @@
+package com.felipe.teachgram_backend.dto.user;
+
+import java.util.UUID;
+
+public record FollowSuggestionDTO(
+        UUID id,
+        String name,
+        String username,
+        String profileLink,
+        int mutualConnections
+) {}
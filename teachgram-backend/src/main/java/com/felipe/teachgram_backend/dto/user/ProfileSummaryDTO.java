@@ -0,0 +1,14 @@
+package com.felipe.teachgram_backend.dto.user;
+
+import com.felipe.teachgram_backend.dto.post.PostResponseDTO;
+import org.springframework.data.domain.Page;
+
+public record ProfileSummaryDTO(
+        UserResponseDTO user,
+        long postsCount,
+        long followersCount,
+        long followingCount,
+        boolean following,
+        boolean followedBy,
+        Page<PostResponseDTO> posts
+) {}
@@ -3,28 +3,55 @@ package com.felipe.teachgram_backend.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
 import java.time.LocalDateTime;
-import java.util.UUID;
 
+/**
+ * Relação "seguir" entre dois usuários, identificada pelo par (seguidor, seguido).
+ * <p>
+ * O próprio par é a chave primária, então a tabela não tem id substituto nem um índice
+ * único extra para manter. Como o id é sempre atribuído pela aplicação,
+ * {@link Persistable#isNew()} é controlado aqui, para que o {@code save} não faça um
+ * merge (e um SELECT) antes do INSERT.
+ */
 @Entity
 @Table(name = "follows")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Follow {
+public class Follow implements Persistable<FollowId> {
 
-    @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private UUID id;
+    @EmbeddedId
+    private FollowId id = new FollowId();
 
+    @MapsId("followerId")
     @ManyToOne
     @JoinColumn(name = "follower_id", nullable = false)
     private User follower;
 
+    @MapsId("followingId")
     @ManyToOne
     @JoinColumn(name = "following_id", nullable = false)
     private User following;
 
+    @Column(nullable = false)
     private LocalDateTime followedAt = LocalDateTime.now();
+
+    @Transient
+    @EqualsAndHashCode.Exclude
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
 }
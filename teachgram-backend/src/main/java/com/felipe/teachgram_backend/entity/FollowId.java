@@ -0,0 +1,26 @@
+package com.felipe.teachgram_backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Chave composta de {@link Follow}: o próprio par (seguidor, seguido).
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FollowId implements Serializable {
+
+    @Column(name = "follower_id")
+    private UUID followerId;
+
+    @Column(name = "following_id")
+    private UUID followingId;
+}
@@ -0,0 +1,42 @@
+package com.felipe.teachgram_backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Chave de assinatura JWT gerada por rotação, guardada para que todos os nós (e o próximo
+ * restart) assinem e verifiquem com o mesmo conjunto de chaves. Datas em UTC.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString(exclude = "keyMaterial")
+@Entity
+@Table(name = "jwt_signing_keys")
+public class JwtSigningKey {
+
+    @Id
+    @Column(length = 64)
+    private String kid;
+
+    @Column(nullable = false, length = 16, updatable = false)
+    private String algorithm;
+
+    /** JWK privado cifrado (AES-GCM), em Base64. */
+    @Column(name = "key_material", nullable = false, updatable = false, columnDefinition = "TEXT")
+    private String keyMaterial;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "retired_until")
+    private LocalDateTime retiredUntil;
+}
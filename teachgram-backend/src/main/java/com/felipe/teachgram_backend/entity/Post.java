@@ -36,6 +36,7 @@ public class Post {
     @Column(nullable = false)
     private Boolean privatePost = false;
 
+    @Column(nullable = false)
     private Boolean deleted = false;
 
     @CreationTimestamp
@@ -0,0 +1,68 @@
+package com.felipe.teachgram_backend.entity;
+
+import com.felipe.teachgram_backend.entity.id.UuidV7;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Refresh token opaco, armazenado apenas pelo hash.
+ * <p>
+ * Tokens do mesmo login compartilham um {@code familyId}. Cada token é de uso único: o
+ * refresh preenche {@code usedAt} e emite o próximo token da família. {@code tokenVersion}
+ * guarda o {@link User#getTokenVersion()} da emissão, para que revogar os tokens de um
+ * usuário também invalide os refresh tokens emitidos antes.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString(exclude = "user")
+@Entity
+@Table(name = "refresh_tokens")
+public class RefreshToken {
+
+    @Id
+    @UuidV7
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, updatable = false)
+    private User user;
+
+    @Column(name = "family_id", nullable = false, updatable = false)
+    private UUID familyId;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64, updatable = false)
+    private String tokenHash;
+
+    @Column(name = "token_version", nullable = false, updatable = false)
+    private long tokenVersion;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false, updatable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "used_at")
+    private LocalDateTime usedAt;
+
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return !now.isBefore(expiresAt);
+    }
+}
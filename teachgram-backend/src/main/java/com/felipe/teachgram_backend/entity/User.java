@@ -1,6 +1,7 @@
 package com.felipe.teachgram_backend.entity;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.felipe.teachgram_backend.entity.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.Filter;
@@ -34,8 +35,15 @@ public class User implements UserDetails {
     @Column(name = "account_non_locked", nullable = false)
     private boolean accountNonLocked = true;
 
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Builder.Default
+    @Column(name = "token_version", nullable = false)
+    private long tokenVersion = 0;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Column(nullable = false)
@@ -57,6 +65,7 @@ public class User implements UserDetails {
 
     private String description;
 
+    @Column(nullable = false)
     private Boolean deleted = false;
 
     @Column(updatable = false)
@@ -112,19 +121,20 @@ public class User implements UserDetails {
 
     @Override
     public boolean isAccountNonLocked() {
-        return this.accountNonLocked;
-    }
-
-    public void incrementFailedLoginAttempts() {
-        this.failedLoginAttempts++;
-        if (this.failedLoginAttempts >= 5) {
-            this.accountNonLocked = false;
-        }
+        return this.accountNonLocked || (lockedUntil != null && !lockedUntil.isAfter(LocalDateTime.now()));
     }
 
     public void resetFailedLoginAttempts() {
         this.failedLoginAttempts = 0;
         this.accountNonLocked = true;
+        this.lockedUntil = null;
+    }
+
+    /**
+     * Invalida todos os JWTs já emitidos para este usuário (o claim "tv" deixa de bater).
+     */
+    public void revokeTokens() {
+        this.tokenVersion++;
     }
 
     @Override
@@ -0,0 +1,23 @@
+package com.felipe.teachgram_backend.entity.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Marca um identificador {@code UUID} para ser gerado como UUIDv7 ordenado no tempo
+ * (RFC 9562) pelo {@link UuidV7Generator}, em vez do v4 aleatório de {@code GenerationType.UUID}.
+ * <p>
+ * As chaves novas são quase monotônicas, então os inserts na B-tree caem na folha mais à
+ * direita em vez de em uma página aleatória.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface UuidV7 {
+}
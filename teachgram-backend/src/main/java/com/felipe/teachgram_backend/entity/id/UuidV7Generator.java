@@ -0,0 +1,65 @@
+package com.felipe.teachgram_backend.entity.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gera identificadores UUIDv7: timestamp Unix de 48 bits em milissegundos, o nibble de
+ * versão, um contador de 12 bits e 62 bits aleatórios.
+ * <p>
+ * Timestamp e contador ficam juntos em um {@code long} avançado por CAS, então os IDs desta
+ * JVM são estritamente crescentes mesmo dentro do mesmo milissegundo (RFC 9562, seção 6.2,
+ * método 1). Se o contador estoura, ele toma emprestado o milissegundo seguinte, e um relógio
+ * que volta no tempo nunca produz um ID menor.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    /** O contador começa na metade de baixo, para uma rajada ter espaço para crescer no milissegundo. */
+    private static final int COUNTER_SEED_BOUND = 1 << (COUNTER_BITS - 1);
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final AtomicLong LAST = new AtomicLong();
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    /**
+     * Retorna um novo UUIDv7, maior que todos os UUIDv7 já retornados por esta JVM.
+     */
+    public static UUID next() {
+        return next(System.currentTimeMillis());
+    }
+
+    static UUID next(long nowMillis) {
+        long state;
+        long previous;
+        do {
+            previous = LAST.get();
+            long candidate = nowMillis << COUNTER_BITS | RANDOM.nextInt(COUNTER_SEED_BOUND);
+            state = candidate > previous ? candidate : previous + 1;
+        } while (!LAST.compareAndSet(previous, state));
+
+        long timestamp = state >>> COUNTER_BITS;
+        long counter = state & COUNTER_MASK;
+        long mostSignificant = timestamp << 16 | 0x7000L | counter;
+        long leastSignificant = RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+}
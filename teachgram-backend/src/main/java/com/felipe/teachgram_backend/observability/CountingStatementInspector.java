@@ -0,0 +1,16 @@
+package com.felipe.teachgram_backend.observability;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hook do Hibernate que passa todo comando preparado (HQL, criteria e consultas nativas,
+ * inserts, updates e cargas lazy) ao {@link StatementCounter}. O SQL é devolvido sem alteração.
+ */
+public class CountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        StatementCounter.record(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,31 @@
+package com.felipe.teachgram_backend.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR da montagem de uma página do feed público ({@code GET /api/posts}): consulta,
+ * contagem e conversão para DTOs.
+ */
+@Name("teachgram.FeedBuild")
+@Label("Feed Build")
+@Category({"Teachgram", "Posts"})
+@Description("Montagem de uma página do feed público")
+@StackTrace(false)
+public class FeedBuildEvent extends jdk.jfr.Event {
+
+    @Label("Page")
+    public int page;
+
+    @Label("Page Size")
+    public int pageSize;
+
+    @Label("Posts")
+    public int posts;
+
+    @Label("Total Posts")
+    public long totalPosts;
+}
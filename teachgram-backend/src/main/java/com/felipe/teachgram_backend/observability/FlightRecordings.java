@@ -0,0 +1,225 @@
+package com.felipe.teachgram_backend.observability;
+
+import com.felipe.teachgram_backend.config.ProfilingProperties;
+import com.felipe.teachgram_backend.exception.ResourceNotFoundException;
+import com.felipe.teachgram_backend.exception.ValidationException;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Inicia, para e exporta gravações do Java Flight Recorder sob demanda, para os endpoints
+ * de profiling. Gravações iniciadas com {@code -XX:StartFlightRecording} também são listadas
+ * e podem ser exportadas; só as iniciadas aqui contam para
+ * {@code application.profiling.max-active-recordings}.
+ * <p>
+ * Uma gravação iniciada aqui continua disponível depois de parar (à mão ou ao fim da
+ * duração) para que ainda possa ser baixada, mas só as
+ * {@code application.profiling.max-stopped-recordings} mais recentes são mantidas: as
+ * anteriores são fechadas, junto com o arquivo exportado, sempre que as gravações são
+ * listadas, iniciadas ou paradas.
+ * <p>
+ * Além dos eventos do JDK, as gravações trazem os eventos {@code teachgram.*}
+ * ({@link FeedBuildEvent}, {@link TokenCheckEvent}, {@link PasswordHashEvent},
+ * {@link LikeFlushEvent}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FlightRecordings {
+
+    private final ProfilingProperties properties;
+    private final Set<Long> startedHere = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public List<Info> list() {
+        withLock(this::closeOldStopped);
+        return FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .map(this::toInfo)
+                .sorted(Comparator.comparingLong(Info::id))
+                .toList();
+    }
+
+    /**
+     * @throws ValidationException se a configuração ou a duração forem inválidas, ou se já
+     *                             houver gravações demais em andamento.
+     */
+    public Info start(String settings, long minutes) {
+        return withLock(() -> {
+            closeOldStopped();
+            return doStart(settings, minutes);
+        });
+    }
+
+    private Info doStart(String settings, long minutes) {
+        long maxMinutes = properties.getMaxDuration().toMinutes();
+        if (minutes <= 0 || minutes > maxMinutes) {
+            throw new ValidationException("A duração deve ser positiva e de no máximo " + maxMinutes + " minutos.");
+        }
+        Duration duration = Duration.ofMinutes(minutes);
+        long active = FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .filter(recording -> startedHere.contains(recording.getId()))
+                .filter(recording -> recording.getState() == RecordingState.RUNNING)
+                .count();
+        if (active >= properties.getMaxActiveRecordings()) {
+            throw new ValidationException("Já existe uma gravação em andamento; pare-a antes de iniciar outra.");
+        }
+
+        String settingsName = settings == null || settings.isBlank() ? properties.getDefaultSettings() : settings;
+        Recording recording = new Recording(configuration(settingsName));
+        recording.setName("teachgram-" + settingsName + "-" + Instant.now());
+        recording.setToDisk(true);
+        recording.setDuration(duration);
+        recording.setMaxSize(properties.getMaxSize().toBytes());
+        recording.start();
+        startedHere.add(recording.getId());
+        log.info("Started JFR recording {} ({} settings, {})", recording.getId(), settingsName, duration);
+        return toInfo(recording);
+    }
+
+    public Info stop(long id) {
+        Recording recording = find(id);
+        if (recording.getState() != RecordingState.RUNNING) {
+            throw new ValidationException("A gravação " + id + " não está em andamento.");
+        }
+        recording.stop();
+        log.info("Stopped JFR recording {}", id);
+        Info info = toInfo(recording);
+        withLock(this::closeOldStopped);
+        return info;
+    }
+
+    /**
+     * Grava os dados da gravação até agora em {@code application.profiling.directory}; uma
+     * gravação em andamento continua rodando.
+     *
+     * @return o arquivo {@code .jfr}, sobrescrito a cada chamada.
+     */
+    public Path dump(long id) {
+        Recording recording = find(id);
+        if (recording.getState() != RecordingState.RUNNING && recording.getState() != RecordingState.STOPPED) {
+            throw new ValidationException("A gravação " + id + " não tem dados para download.");
+        }
+        Path file = file(id);
+        try {
+            Files.createDirectories(file.getParent());
+            recording.dump(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível gravar " + file, e);
+        }
+        return file;
+    }
+
+    /**
+     * Para (se preciso) e descarta a gravação, junto com o arquivo exportado.
+     */
+    public void delete(long id) {
+        withLock(() -> close(find(id)));
+    }
+
+    /**
+     * Fecha as gravações paradas da API além das {@code max-stopped-recordings} mais recentes
+     * e esquece os ids de gravações fechadas por outro caminho.
+     */
+    private void closeOldStopped() {
+        List<Recording> ours = FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .filter(recording -> startedHere.contains(recording.getId()))
+                .toList();
+        startedHere.retainAll(ours.stream().map(Recording::getId).toList());
+        ours.stream()
+                .filter(recording -> recording.getState() == RecordingState.STOPPED)
+                .sorted(Comparator.comparingLong(Recording::getId).reversed())
+                .skip(Math.max(0, properties.getMaxStoppedRecordings()))
+                .forEach(this::close);
+    }
+
+    private void close(Recording recording) {
+        long id = recording.getId();
+        recording.close();
+        startedHere.remove(id);
+        try {
+            Files.deleteIfExists(file(id));
+        } catch (IOException e) {
+            log.warn("Could not delete {}: {}", file(id), e.getMessage());
+        }
+        log.info("Closed JFR recording {}", id);
+    }
+
+    private <T> T withLock(Supplier<T> action) {
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void withLock(Runnable action) {
+        withLock(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private Recording find(long id) {
+        return FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .filter(recording -> recording.getId() == id)
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Gravação JFR não encontrada: " + id));
+    }
+
+    private static Configuration configuration(String name) {
+        boolean known = Configuration.getConfigurations().stream()
+                .anyMatch(configuration -> configuration.getName().equals(name));
+        if (!known) {
+            throw new ValidationException("Configuração JFR desconhecida: " + name + " (use 'default' ou 'profile').");
+        }
+        try {
+            return Configuration.getConfiguration(name);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Configuração JFR ilegível: " + name, e);
+        }
+    }
+
+    private Path file(long id) {
+        return Path.of(properties.getDirectory()).resolve("recording-" + id + ".jfr");
+    }
+
+    private Info toInfo(Recording recording) {
+        return new Info(
+                recording.getId(),
+                recording.getName(),
+                recording.getState().name(),
+                startedHere.contains(recording.getId()),
+                recording.getStartTime(),
+                recording.getStopTime(),
+                recording.getDuration(),
+                recording.getSize());
+    }
+
+    /**
+     * Estado de uma gravação; {@code duration} é a duração pedida (nula se ilimitada) e
+     * {@code sizeBytes} o tamanho gravado até agora.
+     */
+    public record Info(long id, String name, String state, boolean startedByApi,
+                       Instant startTime, Instant stopTime, Duration duration, long sizeBytes) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.felipe.teachgram_backend.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evento JFR de uma curtida, do carregamento do post até o update do contador ser enviado e
+ * confirmado. O UPDATE só chega ao banco no commit, depois que o método do serviço retorna,
+ * então {@link #commitAfterTransaction()} encerra o evento ali.
+ */
+@Name("teachgram.LikeFlush")
+@Label("Like Flush")
+@Category({"Teachgram", "Posts"})
+@Description("Curtida de um post, até o commit do contador")
+@StackTrace(false)
+public class LikeFlushEvent extends jdk.jfr.Event {
+
+    @Label("Post Id")
+    public long postId;
+
+    @Label("Likes Count")
+    public long likesCount;
+
+    @Label("Committed")
+    public boolean committed;
+
+    /**
+     * Encerra e grava o evento quando a transação atual termina, ou na hora se não houver
+     * transação.
+     */
+    public void commitAfterTransaction() {
+        if (!isEnabled()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            committed = true;
+            commit();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                committed = status == STATUS_COMMITTED;
+                commit();
+            }
+        });
+    }
+}
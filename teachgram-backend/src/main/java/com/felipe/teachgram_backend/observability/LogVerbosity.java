@@ -0,0 +1,82 @@
+package com.felipe.teachgram_backend.observability;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Usuários e traces cujas requisições são registradas em DEBUG (e com o SQL),
+ * independentemente dos níveis configurados, até um prazo.
+ * <p>
+ * É estático porque o {@link RequestVerbosityTurboFilter} é criado pelo Logback, fora do
+ * contexto do Spring. Sem alvos, a checagem feita a cada chamada de log é um único
+ * {@code isEmpty()}.
+ */
+public final class LogVerbosity {
+
+    public enum Target { USER, TRACE }
+
+    private static final Map<Key, Instant> TARGETS = new ConcurrentHashMap<>();
+    private static Clock clock = Clock.systemUTC();
+
+    private LogVerbosity() {
+    }
+
+    public static Entry enable(Target target, String id, Instant until) {
+        TARGETS.put(new Key(target, id), until);
+        return new Entry(target, id, until);
+    }
+
+    /**
+     * @return {@code false} se {@code id} não estava verboso.
+     */
+    public static boolean disable(Target target, String id) {
+        return TARGETS.remove(new Key(target, id)) != null;
+    }
+
+    public static List<Entry> active() {
+        Instant now = clock.instant();
+        TARGETS.values().removeIf(until -> !now.isBefore(until));
+        return TARGETS.entrySet().stream()
+                .map(e -> new Entry(e.getKey().target(), e.getKey().id(), e.getValue()))
+                .sorted(Comparator.comparing(Entry::until))
+                .toList();
+    }
+
+    static boolean isVerbose(String userId, String traceId) {
+        if (TARGETS.isEmpty()) {
+            return false;
+        }
+        return isActive(Target.USER, userId) || isActive(Target.TRACE, traceId);
+    }
+
+    private static boolean isActive(Target target, String id) {
+        if (id == null) {
+            return false;
+        }
+        Key key = new Key(target, id);
+        Instant until = TARGETS.get(key);
+        if (until == null) {
+            return false;
+        }
+        if (!clock.instant().isBefore(until)) {
+            TARGETS.remove(key, until);
+            return false;
+        }
+        return true;
+    }
+
+    static void reset(Clock newClock) {
+        TARGETS.clear();
+        clock = newClock;
+    }
+
+    public record Entry(Target target, String id, Instant until) {
+    }
+
+    private record Key(Target target, String id) {
+    }
+}
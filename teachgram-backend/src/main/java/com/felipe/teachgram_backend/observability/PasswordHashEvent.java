@@ -0,0 +1,28 @@
+package com.felipe.teachgram_backend.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento JFR de um hash ou comparação BCrypt. É gravado na thread {@code password-hash-*},
+ * então a duração é só a do hash; o tempo na fila do pool vai em um campo.
+ */
+@Name("teachgram.PasswordHash")
+@Label("Password Hash")
+@Category({"Teachgram", "Security"})
+@Description("Hash ou comparação de senha no pool do BCrypt")
+@StackTrace(false)
+public class PasswordHashEvent extends jdk.jfr.Event {
+
+    /** {@code encode} ou {@code matches}. */
+    @Label("Operation")
+    public String operation;
+
+    @Label("Queue Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long queueTime;
+}
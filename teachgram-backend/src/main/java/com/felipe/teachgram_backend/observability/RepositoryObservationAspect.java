@@ -0,0 +1,54 @@
+package com.felipe.teachgram_backend.observability;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Envolve toda chamada a repositório do Spring Data em uma observation
+ * {@code teachgram.repository} (span {@code UserRepository#findStatusById}, timer com tags de
+ * repositório e método), para que o trace mostre qual chamada emitiu cada comando JDBC abaixo dela.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryObservationAspect {
+
+    private static final ClassValue<String> REPOSITORY_NAMES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> proxyType) {
+            for (Class<?> type : proxyType.getInterfaces()) {
+                if (Repository.class.isAssignableFrom(type) && type != Repository.class) {
+                    return type.getSimpleName();
+                }
+            }
+            return proxyType.getSimpleName();
+        }
+    };
+
+    private final ObservationRegistry observationRegistry;
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object observe(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = REPOSITORY_NAMES.get(joinPoint.getThis().getClass());
+        String method = joinPoint.getSignature().getName();
+        Observation observation = Observation.createNotStarted("teachgram.repository", observationRegistry)
+                .contextualName(repository + "#" + method)
+                .lowCardinalityKeyValue("repository", repository)
+                .lowCardinalityKeyValue("method", method)
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+}
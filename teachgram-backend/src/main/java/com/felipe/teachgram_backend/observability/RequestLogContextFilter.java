@@ -0,0 +1,69 @@
+package com.felipe.teachgram_backend.observability;
+
+import com.felipe.teachgram_backend.config.RequestLoggingProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * Coloca o id da requisição no MDC (e na resposta), para que todas as linhas de log de uma
+ * requisição possam ser correlacionadas, e decide uma vez por requisição se o SQL dela entra
+ * na amostra ({@code application.logging.sql-sample-rate}). O {@code JwtAuthFilter} acrescenta
+ * o {@code userId}; o MDC é limpo quando a requisição termina.
+ */
+public class RequestLogContextFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID = "requestId";
+    public static final String USER_ID = "userId";
+    public static final String SQL_SAMPLED = "sqlSampled";
+    /** Chave usada pelo Micrometer Tracing. */
+    public static final String TRACE_ID = "traceId";
+
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private final RequestLoggingProperties properties;
+    private final DoubleSupplier random;
+
+    public RequestLogContextFilter(RequestLoggingProperties properties) {
+        this(properties, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    RequestLogContextFilter(RequestLoggingProperties properties, DoubleSupplier random) {
+        this.properties = properties;
+        this.random = random;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String requestId = request.getHeader(properties.getRequestIdHeader());
+        if (requestId == null || !VALID_REQUEST_ID.matcher(requestId).matches()) {
+            requestId = UUID.randomUUID().toString();
+        }
+        response.setHeader(properties.getRequestIdHeader(), requestId);
+
+        MDC.put(REQUEST_ID, requestId);
+        if (properties.getSqlSampleRate() > 0 && random.getAsDouble() < properties.getSqlSampleRate()) {
+            MDC.put(SQL_SAMPLED, "true");
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(REQUEST_ID);
+            MDC.remove(SQL_SAMPLED);
+            MDC.remove(USER_ID);
+        }
+    }
+}
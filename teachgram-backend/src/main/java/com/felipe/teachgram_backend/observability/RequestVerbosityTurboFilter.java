@@ -0,0 +1,59 @@
+package com.felipe.teachgram_backend.observability;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Aumenta o nível de log de uma única requisição, além dos níveis configurados:
+ * <ul>
+ *   <li>requisições amostradas pelo {@link RequestLogContextFilter} registram o SQL e os
+ *       parâmetros ({@code org.hibernate.SQL}, {@code org.hibernate.orm.jdbc.bind});</li>
+ *   <li>requisições de um usuário ou trace marcado como verboso em {@link LogVerbosity}
+ *       registram esses e todo {@code <verboseLogger>} configurado, até DEBUG/TRACE.</li>
+ * </ul>
+ * Eventos que o logger emitiria de qualquer forma não são tocados, então no caso comum o
+ * custo é uma comparação de nível.
+ */
+public class RequestVerbosityTurboFilter extends TurboFilter {
+
+    static final List<String> SQL_LOGGERS = List.of("org.hibernate.SQL", "org.hibernate.orm.jdbc.bind");
+
+    private final List<String> verboseLoggers = new ArrayList<>(SQL_LOGGERS);
+
+    public void addVerboseLogger(String name) {
+        verboseLoggers.add(name);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        String name = logger.getName();
+        if ("true".equals(MDC.get(RequestLogContextFilter.SQL_SAMPLED)) && matches(SQL_LOGGERS, name)) {
+            return FilterReply.ACCEPT;
+        }
+        if (LogVerbosity.isVerbose(MDC.get(RequestLogContextFilter.USER_ID), MDC.get(RequestLogContextFilter.TRACE_ID))
+                && matches(verboseLoggers, name)) {
+            return FilterReply.ACCEPT;
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    private static boolean matches(List<String> prefixes, String name) {
+        for (String prefix : prefixes) {
+            if (name.startsWith(prefix)
+                    && (name.length() == prefix.length() || name.charAt(prefix.length()) == '.')) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,23 @@
+package com.felipe.teachgram_backend.observability;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Número máximo de comandos SQL que uma operação pode emitir.
+ * <p>
+ * Em um método (ou classe) de controller, é o orçamento do endpoint, conferido a cada
+ * requisição pelo {@link StatementBudgetFilter}; endpoints sem ela usam
+ * {@code application.sql-budget.default-budget}. Em um método de teste rodado com a
+ * {@code StatementBudgetExtension}, é o orçamento do teste inteiro.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface StatementBudget {
+
+    int value();
+}
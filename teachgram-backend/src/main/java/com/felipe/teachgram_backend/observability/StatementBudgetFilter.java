@@ -0,0 +1,107 @@
+package com.felipe.teachgram_backend.observability;
+
+import com.felipe.teachgram_backend.config.StatementBudgetProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Conta os comandos SQL de cada requisição HTTP, filtros de segurança incluídos, e os compara
+ * com o orçamento do endpoint ({@link StatementBudget} no método ou na classe do controller,
+ * ou {@code application.sql-budget.default-budget}).
+ * <p>
+ * Toda requisição alimenta {@code teachgram.sql.statements}; as que estouram o orçamento
+ * também incrementam {@code teachgram.sql.budget.exceeded}, são reportadas aos recordings
+ * ainda abertos na thread (é assim que a extensão de testes as vê) e uma amostra delas vai
+ * para o log com os primeiros comandos, o que costuma bastar para achar o N+1.
+ */
+@Slf4j
+public class StatementBudgetFilter extends OncePerRequestFilter {
+
+    private final StatementBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final DoubleSupplier random;
+
+    public StatementBudgetFilter(StatementBudgetProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    StatementBudgetFilter(StatementBudgetProperties properties, MeterRegistry meterRegistry, DoubleSupplier random) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.random = random;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        StatementCounter.Recording recording = StatementCounter.start(properties.getLoggedStatements());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            recording.close();
+            check(request, recording);
+        }
+    }
+
+    private void check(HttpServletRequest request, StatementCounter.Recording recording) {
+        if (!(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler)) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        int statements = recording.count();
+        int budget = budgetOf(handler);
+
+        DistributionSummary.builder("teachgram.sql.statements")
+                .description("Comandos SQL por requisição")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(meterRegistry)
+                .record(statements);
+
+        if (statements <= budget) {
+            return;
+        }
+        Counter.builder("teachgram.sql.budget.exceeded")
+                .description("Requisições acima do orçamento de comandos SQL")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(meterRegistry)
+                .increment();
+
+        StatementCounter.Violation violation =
+                new StatementCounter.Violation(request.getMethod() + " " + uri, statements, budget, recording.statements());
+        StatementCounter.report(violation);
+        if (random.getAsDouble() < properties.getLogSampleRate()) {
+            log.warn("{}; primeiros comandos:\n{}", violation, String.join("\n", violation.sample()));
+        }
+    }
+
+    private int budgetOf(HandlerMethod handler) {
+        StatementBudget budget = AnnotatedElementUtils.findMergedAnnotation(handler.getMethod(), StatementBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(handler.getBeanType(), StatementBudget.class);
+        }
+        return budget != null ? budget.value() : properties.getDefaultBudget();
+    }
+}
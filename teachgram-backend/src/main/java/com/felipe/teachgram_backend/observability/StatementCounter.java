@@ -0,0 +1,127 @@
+package com.felipe.teachgram_backend.observability;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Conta os comandos SQL emitidos pela thread atual enquanto um {@link Recording} está aberto.
+ * <p>
+ * Os recordings se aninham: um comando é contado por todos os recordings abertos na thread,
+ * então um teste pode envolver as requisições que faz e ainda ver o gasto de cada uma. Eles
+ * também juntam as {@link Violation}s reportadas enquanto estão abertos.
+ * <p>
+ * O recording aberto é registrado na propagação de contexto do Micrometer
+ * ({@link StatementRecordingAccessor}), então o trabalho passado a outras threads por um
+ * {@code ContextSnapshot} (forks de structured tasks, tarefas no executor da aplicação via
+ * {@code ContextPropagatingTaskDecorator}) conta para a requisição que o iniciou. Um
+ * recording pode, portanto, ser alimentado por várias threads ao mesmo tempo.
+ */
+public final class StatementCounter {
+
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    private StatementCounter() {
+    }
+
+    /**
+     * Abre um recording na thread atual; feche-o na mesma thread.
+     *
+     * @param keepStatements quantos comandos guardar como texto, para diagnóstico.
+     */
+    public static Recording start(int keepStatements) {
+        Recording recording = new Recording(CURRENT.get(), keepStatements);
+        CURRENT.set(recording);
+        return recording;
+    }
+
+    static Recording current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Torna {@code recording} o atual desta thread, ou limpa o atual quando {@code null};
+     * serve para levar um recording a uma thread de trabalho e restaurá-la depois.
+     */
+    static void attach(Recording recording) {
+        if (recording == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(recording);
+        }
+    }
+
+    static void record(String sql) {
+        for (Recording recording = CURRENT.get(); recording != null; recording = recording.parent) {
+            recording.add(sql);
+        }
+    }
+
+    /**
+     * Entrega {@code violation} aos recordings ainda abertos nesta thread.
+     */
+    static void report(Violation violation) {
+        for (Recording recording = CURRENT.get(); recording != null; recording = recording.parent) {
+            recording.addViolation(violation);
+        }
+    }
+
+    public static final class Recording implements AutoCloseable {
+
+        private final Recording parent;
+        private final int keepStatements;
+        private final List<String> statements = new ArrayList<>();
+        private final List<Violation> violations = new ArrayList<>();
+        private int count;
+
+        private Recording(Recording parent, int keepStatements) {
+            this.parent = parent;
+            this.keepStatements = keepStatements;
+        }
+
+        private synchronized void add(String sql) {
+            count++;
+            if (statements.size() < keepStatements) {
+                statements.add(sql);
+            }
+        }
+
+        private synchronized void addViolation(Violation violation) {
+            violations.add(violation);
+        }
+
+        public synchronized int count() {
+            return count;
+        }
+
+        /**
+         * Os primeiros comandos do recording, até a quantidade guardada.
+         */
+        public synchronized List<String> statements() {
+            return List.copyOf(statements);
+        }
+
+        public synchronized List<Violation> violations() {
+            return List.copyOf(violations);
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+
+    /**
+     * Uma operação que emitiu mais comandos que o seu orçamento.
+     */
+    public record Violation(String operation, int statements, int budget, List<String> sample) {
+
+        @Override
+        public String toString() {
+            return operation + ": " + statements + " comandos SQL (orçamento " + budget + ")";
+        }
+    }
+}
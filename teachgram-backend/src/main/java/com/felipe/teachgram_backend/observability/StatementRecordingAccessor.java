@@ -0,0 +1,33 @@
+package com.felipe.teachgram_backend.observability;
+
+import io.micrometer.context.ThreadLocalAccessor;
+
+/**
+ * Expõe o {@link StatementCounter.Recording} aberto à propagação de contexto do Micrometer,
+ * para que um {@code ContextSnapshot} capturado na thread da requisição o leve à thread que
+ * executa a tarefa. Registrado via {@code META-INF/services}.
+ */
+public class StatementRecordingAccessor implements ThreadLocalAccessor<StatementCounter.Recording> {
+
+    static final String KEY = "teachgram.statement.recording";
+
+    @Override
+    public Object key() {
+        return KEY;
+    }
+
+    @Override
+    public StatementCounter.Recording getValue() {
+        return StatementCounter.current();
+    }
+
+    @Override
+    public void setValue(StatementCounter.Recording value) {
+        StatementCounter.attach(value);
+    }
+
+    @Override
+    public void setValue() {
+        StatementCounter.attach(null);
+    }
+}
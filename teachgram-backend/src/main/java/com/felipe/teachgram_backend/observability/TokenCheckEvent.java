@@ -0,0 +1,23 @@
+package com.felipe.teachgram_backend.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR da autenticação de um bearer token no {@code JwtAuthFilter}: checagem da
+ * assinatura (ou acerto no {@code VerifiedTokenCache}) mais a consulta do status da conta.
+ */
+@Name("teachgram.TokenCheck")
+@Label("Token Check")
+@Category({"Teachgram", "Security"})
+@Description("Validação do token JWT e do status da conta")
+@StackTrace(false)
+public class TokenCheckEvent extends jdk.jfr.Event {
+
+    /** {@code authenticated}, {@code invalid} ou {@code inactive}. */
+    @Label("Outcome")
+    public String outcome;
+}
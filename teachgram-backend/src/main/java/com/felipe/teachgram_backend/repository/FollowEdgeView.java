@@ -0,0 +1,11 @@
+package com.felipe.teachgram_backend.repository;
+
+import java.util.UUID;
+
+/**
+ * Aresta do grafo de follows, sem carregar os usuários envolvidos.
+ */
+public interface FollowEdgeView {
+    UUID getFollowerId();
+    UUID getFollowingId();
+}
@@ -1,17 +1,130 @@
 package com.felipe.teachgram_backend.repository;
 
 import com.felipe.teachgram_backend.entity.Follow;
+import com.felipe.teachgram_backend.entity.FollowId;
 import com.felipe.teachgram_backend.entity.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface FollowRepository extends JpaRepository<Follow, UUID> {
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface FollowRepository extends JpaRepository<Follow, FollowId> {
     boolean existsByFollowerAndFollowing(User follower, User following);
 
-    List<Follow> findAllByFollower(User follower);
-    List<Follow> findAllByFollowing(User following);
+    boolean existsByFollower_IdAndFollowing_Id(UUID followerId, UUID followingId);
+
+    long countByFollower_Id(UUID followerId);
+
+    long countByFollowing_Id(UUID followingId);
+
+    @Query("select f.following.id from Follow f where f.follower.id = :userId and f.following.id in :ids")
+    List<UUID> findFollowingIdsAmong(@Param("userId") UUID userId, @Param("ids") Collection<UUID> ids);
+
+    @Query("select f.follower.id from Follow f where f.following.id = :userId and f.follower.id in :ids")
+    List<UUID> findFollowerIdsAmong(@Param("userId") UUID userId, @Param("ids") Collection<UUID> ids);
+
+    @Query("select f.follower.id as followerId, f.following.id as followingId from Follow f")
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "10000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<FollowEdgeView> streamAllEdges();
+
+    @Query(value = """
+            SELECT u.id AS "id", u.name AS "name", u.username AS "username",
+                   u.profile_link AS "profileLink", f.followed_at AS "followedAt"
+            FROM follows f
+            JOIN users u ON u.id = f.follower_id
+            WHERE f.following_id = :userId AND u.deleted = false
+            ORDER BY f.followed_at DESC, f.follower_id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<FollowUserView> findFollowersFirstPage(@Param("userId") UUID userId, @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT u.id AS "id", u.name AS "name", u.username AS "username",
+                   u.profile_link AS "profileLink", f.followed_at AS "followedAt"
+            FROM follows f
+            JOIN users u ON u.id = f.follower_id
+            WHERE f.following_id = :userId AND u.deleted = false
+              AND (f.followed_at, f.follower_id) < (:followedAt, :lastId)
+            ORDER BY f.followed_at DESC, f.follower_id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<FollowUserView> findFollowersAfter(@Param("userId") UUID userId,
+                                            @Param("followedAt") LocalDateTime followedAt,
+                                            @Param("lastId") UUID lastId,
+                                            @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT u.id AS "id", u.name AS "name", u.username AS "username",
+                   u.profile_link AS "profileLink", f.followed_at AS "followedAt"
+            FROM follows f
+            JOIN users u ON u.id = f.following_id
+            WHERE f.follower_id = :userId AND u.deleted = false
+            ORDER BY f.followed_at DESC, f.following_id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<FollowUserView> findFollowingFirstPage(@Param("userId") UUID userId, @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT u.id AS "id", u.name AS "name", u.username AS "username",
+                   u.profile_link AS "profileLink", f.followed_at AS "followedAt"
+            FROM follows f
+            JOIN users u ON u.id = f.following_id
+            WHERE f.follower_id = :userId AND u.deleted = false
+              AND (f.followed_at, f.following_id) < (:followedAt, :lastId)
+            ORDER BY f.followed_at DESC, f.following_id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<FollowUserView> findFollowingAfter(@Param("userId") UUID userId,
+                                            @Param("followedAt") LocalDateTime followedAt,
+                                            @Param("lastId") UUID lastId,
+                                            @Param("limit") int limit);
 
     void deleteByFollowerAndFollowing(User follower, User following);
+
+    /**
+     * Inserts every missing (follower, following) pair in a single statement. Unknown or
+     * soft-deleted targets are filtered out by the join, and pairs that already exist are
+     * skipped by the unique constraint instead of failing the batch.
+     *
+     * @return IDs of the users that were actually followed by this call.
+     */
+    @Transactional
+    @Query(value = """
+            INSERT INTO follows (follower_id, following_id, followed_at)
+            SELECT :followerId, u.id, CURRENT_TIMESTAMP
+            FROM users u
+            WHERE u.id IN (:ids) AND u.id <> :followerId AND u.deleted = false
+            ON CONFLICT (follower_id, following_id) DO NOTHING
+            RETURNING following_id
+            """, nativeQuery = true)
+    List<UUID> insertFollowsIgnoringExisting(@Param("followerId") UUID followerId,
+                                             @Param("ids") Collection<UUID> ids);
+
+    /**
+     * Deletes the given follows of {@code followerId} in a single statement.
+     *
+     * @return IDs of the users that were actually unfollowed by this call.
+     */
+    @Transactional
+    @Query(value = """
+            DELETE FROM follows
+            WHERE follower_id = :followerId AND following_id IN (:ids)
+            RETURNING following_id
+            """, nativeQuery = true)
+    List<UUID> deleteFollowsReturningIds(@Param("followerId") UUID followerId,
+                                         @Param("ids") Collection<UUID> ids);
 }
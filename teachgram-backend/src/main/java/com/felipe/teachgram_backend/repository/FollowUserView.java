@@ -0,0 +1,16 @@
+package com.felipe.teachgram_backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projeção leve de um usuário em uma lista de seguidores/seguindo.
+ * {@code followedAt} é usado apenas como chave do cursor da paginação por keyset.
+ */
+public interface FollowUserView {
+    UUID getId();
+    String getName();
+    String getUsername();
+    String getProfileLink();
+    LocalDateTime getFollowedAt();
+}
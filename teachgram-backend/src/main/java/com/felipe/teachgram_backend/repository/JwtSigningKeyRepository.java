@@ -0,0 +1,29 @@
+package com.felipe.teachgram_backend.repository;
+
+import com.felipe.teachgram_backend.entity.JwtSigningKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface JwtSigningKeyRepository extends JpaRepository<JwtSigningKey, String> {
+
+    /**
+     * Chaves ativas e as aposentadas que ainda verificam tokens em {@code now}.
+     */
+    @Query("select k from JwtSigningKey k where k.retiredUntil is null or k.retiredUntil > :now")
+    List<JwtSigningKey> findUsable(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update JwtSigningKey k set k.retiredUntil = :until where k.retiredUntil is null")
+    int retireActive(@Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("delete from JwtSigningKey k where k.retiredUntil <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
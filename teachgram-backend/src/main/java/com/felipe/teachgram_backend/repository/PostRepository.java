@@ -4,10 +4,12 @@ import com.felipe.teachgram_backend.entity.Post;
 import com.felipe.teachgram_backend.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.UUID;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
@@ -20,4 +22,10 @@ public interface PostRepository extends JpaRepository<Post, Long> {
 
     Page<Post> findByPrivatePostFalse(Pageable pageable);
 
+    @EntityGraph(attributePaths = "user")
+    Page<Post> findByUser_Id(UUID userId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "user")
+    Page<Post> findByUser_IdAndPrivatePostFalse(UUID userId, Pageable pageable);
+
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.felipe.teachgram_backend.repository;
+
+/**
+ * Campos únicos de um usuário, usados para apontar qual deles conflita num cadastro.
+ */
+public interface UserIdentityView {
+    String getUsername();
+    String getEmail();
+    String getPhone();
+}
@@ -1,9 +1,17 @@
 package com.felipe.teachgram_backend.repository;
 
+import com.felipe.teachgram_backend.dto.user.UserFollowDTO;
 import com.felipe.teachgram_backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -21,4 +29,43 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     boolean existsByEmail(String email);
 
     boolean existsByPhone(String phone);
+
+    /**
+     * Users that already hold any of the given unique values, in a single query
+     * ({@code phone} may be {@code null}, which matches nothing).
+     */
+    @Query("select u.username as username, u.email as email, u.phone as phone from User u " +
+            "where u.username = :username or u.email = :email or u.phone = :phone")
+    List<UserIdentityView> findIdentityConflicts(@Param("username") String username,
+                                                 @Param("email") String email,
+                                                 @Param("phone") String phone);
+
+    @Query("select new com.felipe.teachgram_backend.dto.user.UserFollowDTO(u.id, u.name, u.username, u.profileLink) " +
+            "from User u where u.id in :ids and u.deleted = false")
+    List<UserFollowDTO> findFollowDTOsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") UUID id, @Param("password") String password);
+
+    /**
+     * Locks the account with {@code email} until {@code lockedUntil}, in a single statement,
+     * unless it is already locked past {@code now}. An expired lock is simply renewed.
+     *
+     * @return IDs of the users whose lock state actually changed (empty if already locked or unknown).
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE users
+            SET account_non_locked = false, failed_login_attempts = :attempts, locked_until = :lockedUntil
+            WHERE email = :email
+              AND (account_non_locked = true OR (locked_until IS NOT NULL AND locked_until <= :now))
+            RETURNING id
+            """, nativeQuery = true)
+    List<UUID> lockByEmail(@Param("email") String email, @Param("attempts") int attempts,
+                           @Param("lockedUntil") LocalDateTime lockedUntil, @Param("now") LocalDateTime now);
+
+    @Query("select u.tokenVersion as tokenVersion, u.deleted as deleted, u.accountNonLocked as accountNonLocked, " +
+            "u.lockedUntil as lockedUntil from User u where u.id = :id")
+    Optional<UserStatusView> findStatusById(@Param("id") UUID id);
 }
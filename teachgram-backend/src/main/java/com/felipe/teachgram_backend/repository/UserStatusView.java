@@ -0,0 +1,15 @@
+package com.felipe.teachgram_backend.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção com o mínimo para decidir se os tokens de um usuário ainda valem:
+ * versão atual dos tokens, exclusão lógica e bloqueio por tentativas de login.
+ */
+public interface UserStatusView {
+    long getTokenVersion();
+    Boolean getDeleted();
+    boolean getAccountNonLocked();
+    /** Fim do bloqueio; {@code null} em um bloqueio sem prazo. */
+    LocalDateTime getLockedUntil();
+}
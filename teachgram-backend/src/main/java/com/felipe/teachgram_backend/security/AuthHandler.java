@@ -1,37 +1,62 @@
 package com.felipe.teachgram_backend.security;
 
 import com.felipe.teachgram_backend.constants.AuthErrorMessages;
+import com.felipe.teachgram_backend.exception.TooManyRequestsException;
 import com.felipe.teachgram_backend.exception.ValidationException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 @Component
 @RequiredArgsConstructor
 public class AuthHandler {
 
     private final AuthenticationManager authenticationManager;
+    private final LoginThrottle loginThrottle;
 
     /**
      * Performs user authentication using Spring Security's AuthenticationManager.
+     * Attempts from a login or client IP that already used up its failures are refused
+     * by the {@link LoginThrottle} before any database access or password hashing.
      *
      * @param username user's login
      * @param password user's password
      * @return authenticated UserDetails
      * @throws ValidationException if authentication fails
+     * @throws TooManyRequestsException if the login or client IP is throttled
      */
     public UserDetails authenticate(String username, String password) {
+        String clientIp = currentClientIp();
+        loginThrottle.checkAllowed(username, clientIp);
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(username, password)
             );
+            loginThrottle.recordSuccess(username);
             return (UserDetails) authentication.getPrincipal();
+        } catch (LockedException e) {
+            throw new ValidationException(AuthErrorMessages.INVALID_CREDENTIALS.getMessage());
         } catch (AuthenticationException e) {
+            loginThrottle.recordFailure(username, clientIp);
             throw new ValidationException(AuthErrorMessages.INVALID_CREDENTIALS.getMessage());
         }
     }
+
+    /**
+     * Client IP of the current request. Behind a proxy the prod profile enables
+     * {@code server.forward-headers-strategy}, so the remote address already comes from X-Forwarded-For.
+     */
+    private static String currentClientIp() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
 }
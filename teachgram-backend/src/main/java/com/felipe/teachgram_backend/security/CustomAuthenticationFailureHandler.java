@@ -1,10 +1,8 @@
 package com.felipe.teachgram_backend.security;
 
-import com.felipe.teachgram_backend.service.UserService;
 import java.io.IOException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.authentication.AuthenticationFailureHandler;
 import org.springframework.stereotype.Component;
@@ -12,10 +10,10 @@ import org.springframework.stereotype.Component;
 @Component
 public class CustomAuthenticationFailureHandler implements AuthenticationFailureHandler {
 
-    private final UserService userService;
+    private final LoginThrottle loginThrottle;
 
-    public CustomAuthenticationFailureHandler(@Lazy UserService userService) {
-        this.userService = userService;
+    public CustomAuthenticationFailureHandler(LoginThrottle loginThrottle) {
+        this.loginThrottle = loginThrottle;
     }
 
     @Override
@@ -25,9 +23,10 @@ public class CustomAuthenticationFailureHandler implements AuthenticationFailure
         String username = request.getParameter("username");
 
         if (username != null) {
-            userService.processFailedLogin(username);
+            // remoteAddr é o IP do cliente; no profile prod o Tomcat o resolve a partir de X-Forwarded-For
+            loginThrottle.recordFailure(username, request.getRemoteAddr());
         }
 
         response.sendRedirect("/login?error=true");
     }
-}
\ No newline at end of file
+}
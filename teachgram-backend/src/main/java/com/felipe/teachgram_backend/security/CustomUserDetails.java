@@ -21,6 +21,12 @@ public class CustomUserDetails implements UserDetails {
     private String email;
     private String password;
     private Collection<? extends GrantedAuthority> authorities;
+    private long tokenVersion;
+
+    public CustomUserDetails(UUID id, String username, String email, String password,
+                             Collection<? extends GrantedAuthority> authorities) {
+        this(id, username, email, password, authorities, 0L);
+    }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
@@ -1,15 +1,18 @@
 package com.felipe.teachgram_backend.security;
 
+import com.felipe.teachgram_backend.entity.User;
 import com.felipe.teachgram_backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -18,4 +21,19 @@ public class CustomUserDetailsService implements UserDetailsService {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com email: " + email));
     }
+
+    /**
+     * Called by Spring Security after a successful login whose stored hash is weaker than
+     * the configured BCrypt strength, with the password re-hashed at the current strength.
+     * The password itself is unchanged, so issued tokens stay valid.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        if (user instanceof User entity) {
+            userRepository.updatePassword(entity.getId(), newPassword);
+            entity.setPassword(newPassword);
+        }
+        return user;
+    }
 }
@@ -0,0 +1,120 @@
+package com.felipe.teachgram_backend.security;
+
+import com.felipe.teachgram_backend.entity.JwtSigningKey;
+import com.felipe.teachgram_backend.repository.JwtSigningKeyRepository;
+import com.nimbusds.jose.jwk.JWK;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.security.interfaces.RSAPrivateKey;
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * {@link JwtKeyStore} apoiado na tabela {@code jwt_signing_keys}.
+ * <p>
+ * O JWK privado é cifrado com AES-256-GCM sob uma chave derivada da chave privada RSA
+ * configurada ({@code app.key}), que todos os nós já têm. Um dump do banco sozinho não basta
+ * para assinar tokens, e nenhum segredo extra precisa ser distribuído. Uma linha que não
+ * pode ser aberta (por exemplo, gravada sob outro {@code app.key}) é ignorada.
+ */
+@Slf4j
+@Component
+public class JpaJwtKeyStore implements JwtKeyStore {
+
+    private static final String CIPHER = "AES/GCM/NoPadding";
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+    private static final byte[] WRAP_CONTEXT = "teachgram-jwt-key-wrap".getBytes(StandardCharsets.US_ASCII);
+
+    private final JwtSigningKeyRepository repository;
+    private final SecretKeySpec wrappingKey;
+    private final SecureRandom random = new SecureRandom();
+
+    public JpaJwtKeyStore(JwtSigningKeyRepository repository, RSAPrivateKey privateKey) {
+        this.repository = repository;
+        this.wrappingKey = deriveWrappingKey(privateKey);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StoredKey> load(Instant now) {
+        List<StoredKey> keys = new ArrayList<>();
+        for (JwtSigningKey row : repository.findUsable(toUtc(now))) {
+            try {
+                keys.add(new StoredKey(JWK.parse(open(row.getKeyMaterial())), toInstant(row.getCreatedAt()),
+                        row.getRetiredUntil() == null ? null : toInstant(row.getRetiredUntil())));
+            } catch (GeneralSecurityException | ParseException | IllegalArgumentException e) {
+                log.warn("Skipping JWT signing key kid={}: cannot be read with this app.key", row.getKid());
+            }
+        }
+        return keys;
+    }
+
+    @Override
+    @Transactional
+    public void saveRotation(JWK key, Instant now, Instant retireUntil) {
+        repository.deleteExpired(toUtc(now));
+        repository.retireActive(toUtc(retireUntil));
+
+        JwtSigningKey row = new JwtSigningKey();
+        row.setKid(key.getKeyID());
+        row.setAlgorithm(key.getAlgorithm().getName());
+        row.setKeyMaterial(seal(key.toJSONString()));
+        row.setCreatedAt(toUtc(now));
+        repository.save(row);
+    }
+
+    String seal(String plaintext) {
+        try {
+            byte[] iv = new byte[IV_BYTES];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.ENCRYPT_MODE, wrappingKey, new GCMParameterSpec(TAG_BITS, iv));
+            byte[] sealed = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(
+                    ByteBuffer.allocate(iv.length + sealed.length).put(iv).put(sealed).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Não foi possível cifrar a chave de assinatura", e);
+        }
+    }
+
+    String open(String material) throws GeneralSecurityException {
+        byte[] bytes = Base64.getDecoder().decode(material);
+        Cipher cipher = Cipher.getInstance(CIPHER);
+        cipher.init(Cipher.DECRYPT_MODE, wrappingKey, new GCMParameterSpec(TAG_BITS, bytes, 0, IV_BYTES));
+        return new String(cipher.doFinal(bytes, IV_BYTES, bytes.length - IV_BYTES), StandardCharsets.UTF_8);
+    }
+
+    private static SecretKeySpec deriveWrappingKey(RSAPrivateKey privateKey) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(WRAP_CONTEXT);
+            return new SecretKeySpec(digest.digest(privateKey.getEncoded()), "AES");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static LocalDateTime toUtc(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private static Instant toInstant(LocalDateTime utc) {
+        return utc.toInstant(ZoneOffset.UTC);
+    }
+}
@@ -1,29 +1,45 @@
 package com.felipe.teachgram_backend.security;
 
-import com.felipe.teachgram_backend.entity.User;
-import com.felipe.teachgram_backend.repository.UserRepository;
+import com.felipe.teachgram_backend.observability.RequestLogContextFilter;
+import com.felipe.teachgram_backend.observability.TokenCheckEvent;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.stream.Collectors;
 
+/**
+ * Authenticates requests from the bearer token alone: the principal (id, username,
+ * roles) is rebuilt from the verified claims, and {@link UserStatusCache} rejects
+ * tokens of locked, deleted or revoked accounts without loading the user.
+ * <p>
+ * Authentication (not the rest of the chain) runs inside the
+ * {@code teachgram.security.jwt.filter} observation: a timer tagged by {@code outcome}
+ * and, when tracing is on, a span parent of the status lookup. The same step is also a
+ * {@link TokenCheckEvent} for Flight Recorder.
+ */
 @Component
-@RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserRepository userRepository;
+    private final UserStatusCache userStatusCache;
+    private final ObservationRegistry observationRegistry;
+
+    public JwtAuthFilter(JwtService jwtService, UserStatusCache userStatusCache,
+                         ObservationRegistry observationRegistry) {
+        this.jwtService = jwtService;
+        this.userStatusCache = userStatusCache;
+        this.observationRegistry = observationRegistry;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -38,39 +54,56 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             return;
         }
 
-        String jwt = authHeader.substring(7);
-        String username = jwtService.extractUsername(jwt);
-
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            Observation observation = Observation.createNotStarted("teachgram.security.jwt.filter", observationRegistry)
+                    .contextualName("jwt-authentication")
+                    .start();
+            try (Observation.Scope scope = observation.openScope()) {
+                observation.lowCardinalityKeyValue("outcome", authenticate(authHeader.substring(7), request)
+                        ? "authenticated" : "rejected");
+            } catch (RuntimeException e) {
+                observation.error(e);
+                throw e;
+            } finally {
+                observation.stop();
+            }
+        }
 
-            User user = userRepository.findByUsername(username).orElse(null);
+        filterChain.doFilter(request, response);
+    }
 
-            if (user != null && jwtService.isTokenValid(jwt, user)) {
-                List<SimpleGrantedAuthority> authorities = user.getRoles().stream()
-                        .map(role -> new SimpleGrantedAuthority(role.getName()))
-                        .collect(Collectors.toList());
+    private boolean authenticate(String token, HttpServletRequest request) {
+        TokenCheckEvent event = new TokenCheckEvent();
+        event.begin();
+        CustomUserDetails userDetails = jwtService.parsePrincipal(token);
+        if (userDetails == null) {
+            commit(event, "invalid");
+            return false;
+        }
+        if (!userStatusCache.isActive(userDetails.getId(), userDetails.getTokenVersion())) {
+            commit(event, "inactive");
+            return false;
+        }
+        commit(event, "authenticated");
 
-                CustomUserDetails userDetails = new CustomUserDetails(
-                        user.getId(),
-                        user.getUsername(),
-                        user.getEmail(),
-                        user.getPassword(),
-                        authorities
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities()
                 );
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        MDC.put(RequestLogContextFilter.USER_ID, userDetails.getId().toString());
+        return true;
+    }
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-            }
+    private static void commit(TokenCheckEvent event, String outcome) {
+        if (event.shouldCommit()) {
+            event.outcome = outcome;
+            event.commit();
         }
-
-        filterChain.doFilter(request, response);
     }
 }
@@ -0,0 +1,284 @@
+package com.felipe.teachgram_backend.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.Ed25519Signer;
+import com.nimbusds.jose.crypto.Ed25519Verifier;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.OctetKeyPairGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import lombok.extern.slf4j.Slf4j;
+
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Chaves de assinatura da API, indexadas por {@code kid}.
+ * <p>
+ * Exatamente uma chave está ativa e assina os novos tokens. {@link #rotate} ativa uma
+ * chave recém-gerada e mantém as anteriores só para verificação, até que todo token
+ * assinado por elas tenha expirado ({@code retention}). Cada chave traz o signer e o
+ * verifier já montados, então verificar é uma busca no mapa por {@code kid} mais a
+ * checagem da assinatura.
+ * <p>
+ * Algoritmos suportados: RS256 (o par {@code app.key}/{@code app.pub} configurado),
+ * ES256 (P-256) e EdDSA (Ed25519). As chaves geradas são gravadas em um {@link JwtKeyStore}
+ * compartilhado por todos os nós, e {@link #refresh} as recarrega: na inicialização,
+ * periodicamente e quando um token traz um {@code kid} que este nó ainda não viu. Assim
+ * todos os nós convergem para a chave ativa mais recente, publicam o mesmo JWKS e aceitam
+ * tokens assinados em qualquer um deles. A chave RSA configurada nunca é gravada; ela vem
+ * da configuração.
+ */
+@Slf4j
+public class JwtKeyRing {
+
+    public static final List<JWSAlgorithm> SUPPORTED_ALGORITHMS =
+            List.of(JWSAlgorithm.RS256, JWSAlgorithm.ES256, JWSAlgorithm.EdDSA);
+
+    /** Kids desconhecidos disparam no máximo uma recarga por intervalo; kids forjados não sobrecarregam o store. */
+    static final long UNKNOWN_KID_REFRESH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Duration retention;
+    private final Clock clock;
+    private final JwtKeyStore store;
+    private final AtomicLong nextUnknownKidRefresh = new AtomicLong(System.nanoTime());
+    private final Map<String, SigningKey> keys = new ConcurrentHashMap<>();
+    private volatile SigningKey active;
+    /** Gerar chave é lento; esperar num lock (e não num monitor) não prende virtual threads à carrier. */
+    private final ReentrantLock rotationLock = new ReentrantLock();
+
+    public JwtKeyRing(RSAPublicKey publicKey, RSAPrivateKey privateKey, Duration retention) {
+        this(publicKey, privateKey, retention, JwtKeyStore.NONE, Clock.systemUTC());
+    }
+
+    public JwtKeyRing(RSAPublicKey publicKey, RSAPrivateKey privateKey, Duration retention, JwtKeyStore store) {
+        this(publicKey, privateKey, retention, store, Clock.systemUTC());
+    }
+
+    JwtKeyRing(RSAPublicKey publicKey, RSAPrivateKey privateKey, Duration retention, Clock clock) {
+        this(publicKey, privateKey, retention, JwtKeyStore.NONE, clock);
+    }
+
+    JwtKeyRing(RSAPublicKey publicKey, RSAPrivateKey privateKey, Duration retention, JwtKeyStore store,
+               Clock clock) {
+        this.retention = retention;
+        this.clock = clock;
+        this.store = store;
+        try {
+            RSAKey rsaKey = new RSAKey.Builder(publicKey)
+                    .privateKey(privateKey)
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(JWSAlgorithm.RS256)
+                    .keyIDFromThumbprint()
+                    .build();
+            activate(SigningKey.of(rsaKey));
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Não foi possível registrar a chave RSA da aplicação", e);
+        }
+    }
+
+    /**
+     * Gera uma chave para {@code algorithm}, grava-a, passa a assinar com ela e aposenta a
+     * atual (ainda aceita até passar {@code retention}).
+     *
+     * @return o {@code kid} da nova chave.
+     * @throws IllegalArgumentException se o algoritmo não for suportado.
+     */
+    public String rotate(JWSAlgorithm algorithm) {
+        rotationLock.lock();
+        try {
+            JWK jwk = generate(algorithm);
+            Instant now = clock.instant();
+            store.saveRotation(jwk, now, now.plus(retention));
+            activate(SigningKey.of(jwk));
+            prune();
+            log.info("JWT signing key rotated to kid={} ({})", jwk.getKeyID(), algorithm);
+            return jwk.getKeyID();
+        } finally {
+            rotationLock.unlock();
+        }
+    }
+
+    /**
+     * Recarrega as chaves do store: adiciona as que este nó não conhecia, aposenta as que
+     * outro nó aposentou e passa a assinar com a chave ativa mais recente.
+     */
+    public void refresh() {
+        rotationLock.lock();
+        try {
+            Instant now = clock.instant();
+            JwtKeyStore.StoredKey newest = null;
+            for (JwtKeyStore.StoredKey stored : store.load(now)) {
+                String kid = stored.jwk().getKeyID();
+                SigningKey known = keys.get(kid);
+                if (known == null) {
+                    SigningKey key = SigningKey.of(stored.jwk());
+                    keys.put(kid, stored.retiredUntil() == null ? key : key.retireAt(stored.retiredUntil()));
+                } else if (stored.retiredUntil() != null && known.retiredUntil() == null && known != active) {
+                    keys.put(kid, known.retireAt(stored.retiredUntil()));
+                }
+                if (stored.retiredUntil() == null
+                        && (newest == null || stored.createdAt().isAfter(newest.createdAt()))) {
+                    newest = stored;
+                }
+            }
+            if (newest != null && !newest.jwk().getKeyID().equals(active.kid())) {
+                activate(keys.get(newest.jwk().getKeyID()));
+                log.info("JWT signing key switched to kid={} from the key store", active.kid());
+            }
+            prune();
+        } finally {
+            rotationLock.unlock();
+        }
+    }
+
+    public SigningKey active() {
+        return active;
+    }
+
+    /**
+     * Retorna o verifier de {@code kid}, ou {@code null} se a chave for desconhecida ou tiver
+     * sido aposentada há mais tempo que o período de retenção.
+     */
+    public JWSVerifier verifierFor(String kid) {
+        if (kid == null) {
+            return null;
+        }
+        SigningKey key = keys.get(kid);
+        if (key == null && refreshForUnknownKid()) {
+            key = keys.get(kid);
+        }
+        if (key == null || key.isExpired(clock.instant())) {
+            return null;
+        }
+        return key.verifier();
+    }
+
+    /**
+     * Parte pública de cada chave ainda aceita na verificação, para o endpoint JWKS.
+     */
+    public JWKSet publicJwkSet() {
+        Instant now = clock.instant();
+        return new JWKSet(keys.values().stream()
+                .filter(key -> !key.isExpired(now))
+                .map(key -> key.jwk().toPublicJWK())
+                .toList());
+    }
+
+    private void activate(SigningKey next) {
+        SigningKey previous = active;
+        next = next.retiredUntil() == null ? next : next.retireAt(null);
+        keys.put(next.kid(), next);
+        active = next;
+        if (previous != null) {
+            keys.put(previous.kid(), previous.retireAt(clock.instant().plus(retention)));
+        }
+    }
+
+    /**
+     * Um token assinado em outro nó logo após uma rotação traz um kid que este nó só
+     * conheceria no próximo {@link #refresh}; recarrega agora, no máximo uma vez por intervalo.
+     */
+    private boolean refreshForUnknownKid() {
+        if (store == JwtKeyStore.NONE) {
+            return false;
+        }
+        long now = System.nanoTime();
+        long next = nextUnknownKidRefresh.get();
+        if (now - next < 0 || !nextUnknownKidRefresh.compareAndSet(next, now + UNKNOWN_KID_REFRESH_INTERVAL_NANOS)) {
+            return false;
+        }
+        try {
+            refresh();
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Could not reload JWT signing keys: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void prune() {
+        Instant now = clock.instant();
+        keys.values().removeIf(key -> key.isExpired(now));
+    }
+
+    static JWK generate(JWSAlgorithm algorithm) {
+        try {
+            if (JWSAlgorithm.RS256.equals(algorithm)) {
+                return new RSAKeyGenerator(2048).keyUse(KeyUse.SIGNATURE).algorithm(algorithm)
+                        .keyIDFromThumbprint(true).generate();
+            }
+            if (JWSAlgorithm.ES256.equals(algorithm)) {
+                return new ECKeyGenerator(Curve.P_256).keyUse(KeyUse.SIGNATURE).algorithm(algorithm)
+                        .keyIDFromThumbprint(true).generate();
+            }
+            if (JWSAlgorithm.EdDSA.equals(algorithm)) {
+                return new OctetKeyPairGenerator(Curve.Ed25519).keyUse(KeyUse.SIGNATURE).algorithm(algorithm)
+                        .keyIDFromThumbprint(true).generate();
+            }
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Falha ao gerar chave " + algorithm, e);
+        }
+        throw new IllegalArgumentException("Algoritmo de assinatura não suportado: " + algorithm);
+    }
+
+    /**
+     * Uma chave com signer e verifier prontos para uso. {@code retiredUntil} fica
+     * {@code null} enquanto a chave está ativa.
+     */
+    public record SigningKey(JWK jwk, JWSAlgorithm algorithm, JWSSigner signer, JWSVerifier verifier,
+                             Instant retiredUntil) {
+
+        public String kid() {
+            return jwk.getKeyID();
+        }
+
+        private boolean isExpired(Instant now) {
+            return retiredUntil != null && !now.isBefore(retiredUntil);
+        }
+
+        private SigningKey retireAt(Instant until) {
+            return new SigningKey(jwk, algorithm, signer, verifier, until);
+        }
+
+        private static SigningKey of(JWK jwk) {
+            try {
+                if (jwk instanceof RSAKey rsa) {
+                    return new SigningKey(jwk, JWSAlgorithm.RS256, new RSASSASigner(rsa), new RSASSAVerifier(rsa), null);
+                }
+                if (jwk instanceof ECKey ec) {
+                    return new SigningKey(jwk, JWSAlgorithm.ES256, new ECDSASigner(ec), new ECDSAVerifier(ec), null);
+                }
+                if (jwk instanceof OctetKeyPair okp) {
+                    return new SigningKey(jwk, JWSAlgorithm.EdDSA, new Ed25519Signer(okp),
+                            new Ed25519Verifier(okp.toPublicJWK()), null);
+                }
+            } catch (JOSEException e) {
+                throw new IllegalStateException("Chave inválida: " + jwk.getKeyID(), e);
+            }
+            throw new IllegalArgumentException("Tipo de chave não suportado: " + jwk.getKeyType());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.felipe.teachgram_backend.security;
+
+import com.nimbusds.jose.jwk.JWK;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Onde o {@link JwtKeyRing} guarda as chaves que gera, para que todos os nós, e cada
+ * restart, assinem e verifiquem com o mesmo conjunto. A chave RSA configurada não é gravada:
+ * ela já vem da configuração em todos os nós.
+ */
+public interface JwtKeyStore {
+
+    /** Não guarda nada; um ring que o usa se comporta como um único nó em memória. */
+    JwtKeyStore NONE = new JwtKeyStore() {
+        @Override
+        public List<StoredKey> load(Instant now) {
+            return List.of();
+        }
+
+        @Override
+        public void saveRotation(JWK key, Instant now, Instant retireUntil) {
+        }
+    };
+
+    /**
+     * Retorna as chaves ativas e as aposentadas ainda aceitas em {@code now}.
+     */
+    List<StoredKey> load(Instant now);
+
+    /**
+     * Aposenta todas as chaves ativas até {@code retireUntil} e grava {@code key} como a
+     * ativa, de forma atômica.
+     */
+    void saveRotation(JWK key, Instant now, Instant retireUntil);
+
+    /**
+     * @param retiredUntil {@code null} enquanto a chave está ativa.
+     */
+    record StoredKey(JWK jwk, Instant createdAt, Instant retiredUntil) {}
+}
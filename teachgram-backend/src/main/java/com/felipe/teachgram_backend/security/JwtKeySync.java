@@ -0,0 +1,29 @@
+package com.felipe.teachgram_backend.security;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recarrega periodicamente o {@link JwtKeyRing} a partir do store de chaves, para que uma
+ * rotação feita em um nó chegue aos outros (chave de assinatura e JWKS) em até um intervalo.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JwtKeySync {
+
+    private final JwtKeyRing jwtKeyRing;
+
+    @Scheduled(fixedDelayString = "${application.security.jwt.key-sync-interval:30s}",
+            initialDelayString = "${application.security.jwt.key-sync-interval:30s}")
+    public void sync() {
+        try {
+            jwtKeyRing.refresh();
+        } catch (DataAccessException e) {
+            log.warn("Could not reload JWT signing keys: {}", e.getMessage());
+        }
+    }
+}
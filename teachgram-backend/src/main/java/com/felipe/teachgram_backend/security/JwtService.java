@@ -1,48 +1,116 @@
 package com.felipe.teachgram_backend.security;
 
+import com.felipe.teachgram_backend.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.oauth2.jwt.*;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
 
 @Service
 public class JwtService {
 
+    /** Emissor dos tokens da API ({@code iss}). */
+    public static final String ISSUER = "teachgram-api";
+    /** ID do usuário (UUID em texto). */
+    public static final String CLAIM_USER_ID = "uid";
+    /** Authorities do usuário no momento da emissão. */
+    public static final String CLAIM_ROLES = "roles";
+    /** {@code users.token_version} no momento da emissão. */
+    public static final String CLAIM_TOKEN_VERSION = "tv";
+
     private final JwtEncoder jwtEncoder;
     private final JwtDecoder jwtDecoder;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final Duration accessTokenTtl;
 
-    public JwtService(JwtEncoder jwtEncoder, JwtDecoder jwtDecoder) {
+    public JwtService(JwtEncoder jwtEncoder, JwtDecoder jwtDecoder, VerifiedTokenCache verifiedTokenCache,
+                      @Value("${application.security.jwt.expiration-minutes}") long expirationMinutes) {
         this.jwtEncoder = jwtEncoder;
         this.jwtDecoder = jwtDecoder;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.accessTokenTtl = Duration.ofMinutes(expirationMinutes);
+    }
+
+    /**
+     * Validade dos tokens de acesso ({@code application.security.jwt.expiration-minutes}).
+     */
+    public Duration getAccessTokenTtl() {
+        return accessTokenTtl;
     }
 
+    /**
+     * Emits a token carrying everything the API needs to authenticate a request on its own:
+     * the user id, the roles and the token version. For a {@link User} or
+     * {@link CustomUserDetails} the id (and, for {@link User}, the version) come from it.
+     */
     public String generateToken(UserDetails userDetails) {
         Instant now = Instant.now();
-        long expiresInSeconds = 900;
 
-        JwtClaimsSet claims = JwtClaimsSet.builder()
-                .issuer("teachgram-api")
+        JwtClaimsSet.Builder claims = JwtClaimsSet.builder()
+                .issuer(ISSUER)
                 .subject(userDetails.getUsername())
                 .issuedAt(now)
-                .expiresAt(now.plusSeconds(expiresInSeconds))
+                .expiresAt(now.plus(accessTokenTtl))
                 .claim("email", userDetails.getUsername())
-                .build();
+                .claim(CLAIM_ROLES, userDetails.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .toList());
+
+        if (userDetails instanceof User user) {
+            claims.claim(CLAIM_USER_ID, user.getId().toString())
+                    .claim(CLAIM_TOKEN_VERSION, user.getTokenVersion());
+        } else if (userDetails instanceof CustomUserDetails custom) {
+            claims.claim(CLAIM_USER_ID, custom.getId().toString())
+                    .claim(CLAIM_TOKEN_VERSION, custom.getTokenVersion());
+        }
 
-        return jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+        return jwtEncoder.encode(JwtEncoderParameters.from(claims.build())).getTokenValue();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
+    /**
+     * Verifies the signature and expiry of {@code token} and builds the principal from its
+     * claims alone, without touching the database. This is the only verification done per
+     * request, and tokens already verified are served from {@link VerifiedTokenCache}.
+     *
+     * @return the principal, or {@code null} if the token is invalid or predates the
+     *         {@value #CLAIM_USER_ID} claim.
+     */
+    public CustomUserDetails parsePrincipal(String token) {
+        CustomUserDetails cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        Jwt jwt;
         try {
-            Jwt decoded = jwtDecoder.decode(token);
-            return decoded.getSubject().equals(userDetails.getUsername());
+            jwt = jwtDecoder.decode(token);
         } catch (JwtException e) {
-            return false;
+            return null;
         }
-    }
 
-    public String extractUsername(String token) {
-        Jwt decoded = jwtDecoder.decode(token);
-        return decoded.getSubject();
+        String userId = jwt.getClaimAsString(CLAIM_USER_ID);
+        if (userId == null) {
+            return null;
+        }
+        List<String> roles = jwt.getClaimAsStringList(CLAIM_ROLES);
+        Object tokenVersion = jwt.getClaim(CLAIM_TOKEN_VERSION);
+
+        CustomUserDetails principal = new CustomUserDetails(
+                UUID.fromString(userId),
+                jwt.getSubject(),
+                jwt.getClaimAsString("email"),
+                null,
+                roles == null ? List.of() : roles.stream().map(SimpleGrantedAuthority::new).toList(),
+                tokenVersion instanceof Number number ? number.longValue() : 0L
+        );
+        verifiedTokenCache.put(token, principal, jwt.getExpiresAt());
+        return principal;
     }
 }
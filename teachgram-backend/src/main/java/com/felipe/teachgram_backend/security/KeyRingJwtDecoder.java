@@ -0,0 +1,78 @@
+package com.felipe.teachgram_backend.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jwt.SignedJWT;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.security.oauth2.jwt.MappedJwtClaimSetConverter;
+
+import java.text.ParseException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * {@link JwtDecoder} que resolve a chave de verificação pelo header {@code kid} no
+ * {@link JwtKeyRing}: uma única busca no mapa, com signer/verifier montados uma vez por chave
+ * em vez de por token. Tokens sem {@code kid}, ou cuja chave é desconhecida ou já passou da
+ * retenção, são recusados.
+ */
+public class KeyRingJwtDecoder implements JwtDecoder {
+
+    private final JwtKeyRing keyRing;
+    private final OAuth2TokenValidator<Jwt> validator;
+    private final Converter<Map<String, Object>, Map<String, Object>> claimSetConverter =
+            MappedJwtClaimSetConverter.withDefaults(Collections.emptyMap());
+
+    public KeyRingJwtDecoder(JwtKeyRing keyRing, OAuth2TokenValidator<Jwt> validator) {
+        this.keyRing = keyRing;
+        this.validator = validator;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        SignedJWT signedJwt;
+        Map<String, Object> claims;
+        try {
+            signedJwt = SignedJWT.parse(token);
+            claims = signedJwt.getJWTClaimsSet().getClaims();
+        } catch (ParseException e) {
+            throw new BadJwtException("JWT malformado: " + e.getMessage(), e);
+        }
+
+        String kid = signedJwt.getHeader().getKeyID();
+        JWSVerifier verifier = keyRing.verifierFor(kid);
+        if (verifier == null) {
+            throw new BadJwtException("Chave de assinatura desconhecida: " + kid);
+        }
+        try {
+            if (!signedJwt.verify(verifier)) {
+                throw new BadJwtException("Assinatura do JWT inválida");
+            }
+        } catch (JOSEException e) {
+            throw new BadJwtException("Falha ao verificar o JWT: " + e.getMessage(), e);
+        }
+
+        Jwt jwt = Jwt.withTokenValue(token)
+                .headers(h -> h.putAll(signedJwt.getHeader().toJSONObject()))
+                .claims(c -> c.putAll(claimSetConverter.convert(claims)))
+                .build();
+
+        OAuth2TokenValidatorResult result = validator.validate(jwt);
+        if (result.hasErrors()) {
+            String description = result.getErrors().stream()
+                    .map(OAuth2Error::getDescription)
+                    .collect(Collectors.joining("; "));
+            throw new JwtValidationException(description, result.getErrors());
+        }
+        return jwt;
+    }
+}
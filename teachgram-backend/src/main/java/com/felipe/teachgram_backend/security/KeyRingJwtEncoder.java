@@ -0,0 +1,69 @@
+package com.felipe.teachgram_backend.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtEncodingException;
+
+import java.net.URL;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * {@link JwtEncoder} que assina com a chave ativa do {@link JwtKeyRing} e coloca o
+ * {@code kid} dela no header, para que quem verifica escolha a chave certa sem testar todas.
+ * O {@code NimbusJwtEncoder} do Spring não suporta EdDSA, daí esta classe.
+ * <p>
+ * O header JOSE sempre vem da chave ativa; headers passados em
+ * {@link JwtEncoderParameters} são ignorados.
+ */
+public class KeyRingJwtEncoder implements JwtEncoder {
+
+    private final JwtKeyRing keyRing;
+
+    public KeyRingJwtEncoder(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+    }
+
+    @Override
+    public Jwt encode(JwtEncoderParameters parameters) throws JwtEncodingException {
+        JwtKeyRing.SigningKey key = keyRing.active();
+        JWSHeader header = new JWSHeader.Builder(key.algorithm())
+                .keyID(key.kid())
+                .type(JOSEObjectType.JWT)
+                .build();
+        JwtClaimsSet claims = parameters.getClaims();
+
+        SignedJWT signedJwt = new SignedJWT(header, toNimbus(claims));
+        try {
+            signedJwt.sign(key.signer());
+        } catch (JOSEException e) {
+            throw new JwtEncodingException("Falha ao assinar o JWT: " + e.getMessage(), e);
+        }
+
+        return Jwt.withTokenValue(signedJwt.serialize())
+                .headers(h -> h.putAll(header.toJSONObject()))
+                .claims(c -> c.putAll(claims.getClaims()))
+                .build();
+    }
+
+    private static JWTClaimsSet toNimbus(JwtClaimsSet claims) {
+        JWTClaimsSet.Builder builder = new JWTClaimsSet.Builder();
+        claims.getClaims().forEach((name, value) -> {
+            if (value instanceof Instant instant) {
+                builder.claim(name, Date.from(instant));
+            } else if (value instanceof URL url) {
+                builder.claim(name, url.toExternalForm());
+            } else {
+                builder.claim(name, value);
+            }
+        });
+        return builder.build();
+    }
+}
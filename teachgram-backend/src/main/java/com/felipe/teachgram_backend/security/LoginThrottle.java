@@ -0,0 +1,193 @@
+package com.felipe.teachgram_backend.security;
+
+import com.felipe.teachgram_backend.config.LoginThrottleProperties;
+import com.felipe.teachgram_backend.exception.TooManyRequestsException;
+import com.felipe.teachgram_backend.repository.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Throttling de tentativas de login, por e-mail e por IP, mantido em memória.
+ * <p>
+ * O {@link AuthHandler} consulta {@link #checkAllowed} antes de autenticar, então, quando um
+ * e-mail ou IP esgota as falhas da janela, as tentativas seguintes são recusadas com 429
+ * sem acessar o banco nem rodar o BCrypt. As falhas são contadas em
+ * {@link SlidingWindowCounter}s (um CAS por evento, sem locks). A única escrita no banco é o
+ * bloqueio da conta, feito uma vez quando o e-mail atinge o limite, em vez de uma leitura e
+ * um update a cada tentativa errada. O bloqueio dura {@code lockDuration} e depois expira
+ * sozinho.
+ * <p>
+ * Os contadores são por nó e se perdem no restart; o bloqueio gravado não. As chaves ficam
+ * em um {@link SegmentedLruCache} de {@code maxTrackedKeys}: uma chave nova sempre é
+ * registrada e, com o cache cheio, o contador usado há mais tempo é descartado.
+ */
+@Slf4j
+@Component
+public class LoginThrottle implements MeterBinder {
+
+    static final int BUCKETS = 15;
+
+    private final LoginThrottleProperties properties;
+    private final UserRepository userRepository;
+    private final UserStatusCache userStatusCache;
+    private final LongSupplier clock;
+
+    private final SegmentedLruCache<Key, Tracked> tracked;
+    private final LongAdder throttled = new LongAdder();
+
+    @Autowired
+    public LoginThrottle(LoginThrottleProperties properties, UserRepository userRepository,
+                         UserStatusCache userStatusCache) {
+        this(properties, userRepository, userStatusCache, System::nanoTime);
+    }
+
+    LoginThrottle(LoginThrottleProperties properties, UserRepository userRepository,
+                  UserStatusCache userStatusCache, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.userRepository = userRepository;
+        this.userStatusCache = userStatusCache;
+        long origin = nanoClock.getAsLong();
+        this.clock = () -> nanoClock.getAsLong() - origin;
+        this.tracked = new SegmentedLruCache<>(properties.getMaxTrackedKeys());
+    }
+
+    /**
+     * Recusa a tentativa se o e-mail ou o IP já esgotou as falhas permitidas na janela.
+     *
+     * @throws TooManyRequestsException com o tempo até a próxima tentativa ser aceita.
+     */
+    public void checkAllowed(String username, String ip) {
+        long now = clock.getAsLong();
+        checkLimit(lookup(ipKey(ip)), properties.getIpMaxFailures(), now);
+        checkLimit(lookup(usernameKey(username)), properties.getUsernameMaxFailures(), now);
+    }
+
+    /**
+     * Conta uma falha para {@code username} e {@code ip}. Quando o e-mail atinge o limite, a
+     * conta é bloqueada em {@code users}, uma única vez.
+     */
+    public void recordFailure(String username, String ip) {
+        long now = clock.getAsLong();
+
+        Tracked ipTracked = track(ipKey(ip), properties.getIpWindow());
+        if (ipTracked != null) {
+            ipTracked.counter().increment(now);
+        }
+
+        Tracked userTracked = track(usernameKey(username), properties.getUsernameWindow());
+        if (userTracked == null) {
+            return;
+        }
+        int failures = userTracked.counter().increment(now);
+        if (failures >= properties.getUsernameMaxFailures() && properties.isLockAccount()
+                && userTracked.claimLock(now)) {
+            lockAccount(username, failures);
+        }
+    }
+
+    /**
+     * Zera as falhas do e-mail após um login bem-sucedido. Não acessa o banco.
+     */
+    public void recordSuccess(String username) {
+        Key key = usernameKey(username);
+        if (key != null) {
+            tracked.remove(key);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("teachgram.login.throttle.keys", this, LoginThrottle::trackedKeys)
+                .description("Logins and IPs with failures in the current window").register(registry);
+        FunctionCounter.builder("teachgram.login.throttle.evicted", tracked, SegmentedLruCache::evictions)
+                .description("Counters dropped to make room for new keys").register(registry);
+        FunctionCounter.builder("teachgram.login.throttle.rejected", throttled, LongAdder::sum)
+                .description("Login attempts refused with 429").register(registry);
+    }
+
+    int trackedKeys() {
+        return tracked.size();
+    }
+
+    private void checkLimit(Tracked tracked, int maxFailures, long now) {
+        if (tracked == null || tracked.counter().count(now) < maxFailures) {
+            return;
+        }
+        throttled.increment();
+        long retryAfterNanos = Math.max(tracked.counter().nanosUntilDecrease(now), TimeUnit.SECONDS.toNanos(1));
+        throw new TooManyRequestsException(
+                "Muitas tentativas de login. Tente novamente mais tarde.",
+                (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private Tracked lookup(Key key) {
+        return key == null ? null : tracked.get(key);
+    }
+
+    private Tracked track(Key key, Duration window) {
+        if (key == null) {
+            return null;
+        }
+        return tracked.computeIfAbsent(key, k -> new Tracked(new SlidingWindowCounter(window.toNanos(), BUCKETS)));
+    }
+
+    private void lockAccount(String username, int failures) {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime lockedUntil = now.plus(properties.getLockDuration());
+            for (UUID userId : userRepository.lockByEmail(username, failures, lockedUntil, now)) {
+                userStatusCache.evict(userId);
+                log.warn("Account {} locked until {} after {} failed logins", userId, lockedUntil, failures);
+            }
+        } catch (DataAccessException e) {
+            log.error("Could not persist lock for {}", username, e);
+        }
+    }
+
+    private static Key usernameKey(String username) {
+        return username == null || username.isBlank()
+                ? null : new Key(false, username.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private static Key ipKey(String ip) {
+        return ip == null || ip.isBlank() ? null : new Key(true, ip);
+    }
+
+    /**
+     * E-mails e IPs dividem o mesmo cache; {@code ip} separa os dois espaços de chaves.
+     */
+    private record Key(boolean ip, String value) {
+    }
+
+    /**
+     * Contador de uma chave mais a época do último bloqueio gravado, para que falhas
+     * simultâneas que cruzam o limite emitam um único UPDATE por janela.
+     */
+    private record Tracked(SlidingWindowCounter counter, AtomicLong lastLockEpoch) {
+
+        private Tracked(SlidingWindowCounter counter) {
+            this(counter, new AtomicLong(Long.MIN_VALUE / 2));
+        }
+
+        private boolean claimLock(long now) {
+            long epoch = counter.epoch(now);
+            long previous = lastLockEpoch.get();
+            return epoch - previous >= counter.buckets() && lastLockEpoch.compareAndSet(previous, epoch);
+        }
+    }
+}
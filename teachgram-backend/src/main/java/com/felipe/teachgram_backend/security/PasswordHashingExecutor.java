@@ -0,0 +1,204 @@
+package com.felipe.teachgram_backend.security;
+
+import com.felipe.teachgram_backend.config.PasswordHashingProperties;
+import com.felipe.teachgram_backend.exception.ServiceUnavailableException;
+import com.felipe.teachgram_backend.observability.PasswordHashEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool limitado que executa todos os hashes e comparações de senha da API.
+ * <p>
+ * O BCrypt é propositalmente pesado em CPU. Rodá-lo nas threads das requisições deixa uma
+ * rajada de logins tomar todos os núcleos e travar os outros endpoints, então ele roda aqui
+ * em um número fixo de threads com fila limitada. Com a fila cheia, ou se quem chamou
+ * esperou mais que {@code timeout}, a chamada falha na hora com
+ * {@link ServiceUnavailableException} (503 com {@code Retry-After}) em vez de acumular.
+ * Quem desiste cancela o seu job: se ainda está na fila ele sai dela, e um job que chega a
+ * uma thread depois do prazo de quem o pediu é descartado sem calcular o hash. O BCrypt
+ * ignora interrupções, então um hash já iniciado vai até o fim.
+ * <p>
+ * A espera na fila e o tempo de hash são timers do Micrometer
+ * ({@code teachgram.password.hashing.queue} e {@code teachgram.password.hashing.duration});
+ * eles, a ocupação do pool e os contadores são publicados como métricas
+ * {@code teachgram.password.hashing.*}, {@link #stats()} lê os mesmos timers, e cada hash
+ * gera um {@link PasswordHashEvent} para o Flight Recorder.
+ */
+@Slf4j
+public class PasswordHashingExecutor implements MeterBinder {
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutNanos;
+    private final int retryAfterSeconds;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    // os timers nascem num composite vazio e passam a gravar no registry recebido em bindTo
+    private final CompositeMeterRegistry meters = new CompositeMeterRegistry();
+    private final Timer queueTimer;
+    private final Timer hashTimer;
+
+    public PasswordHashingExecutor(PasswordHashingProperties properties) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                properties.getThreads(), properties.getThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutNanos = properties.getTimeout().toNanos();
+        this.retryAfterSeconds = properties.getRetryAfterSeconds();
+        this.queueTimer = Timer.builder("teachgram.password.hashing.queue")
+                .description("Time a hash waited for a pool thread")
+                .register(meters);
+        this.hashTimer = Timer.builder("teachgram.password.hashing.duration")
+                .description("Time spent hashing or comparing a password")
+                .register(meters);
+    }
+
+    /**
+     * Executa {@code task} no pool de hashing e espera o resultado.
+     *
+     * @throws ServiceUnavailableException se o pool está saturado ou a espera passou do timeout.
+     */
+    public <T> T execute(Callable<T> task) {
+        return execute("task", task);
+    }
+
+    /**
+     * Igual a {@link #execute(Callable)}, mas identifica a operação ({@code encode},
+     * {@code matches}) no {@link PasswordHashEvent} gravado para ela.
+     */
+    public <T> T execute(String operation, Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                queueTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                if (startedAt - submittedAt >= timeoutNanos) {
+                    // quem pediu já recebeu 503; não vale gastar CPU com um hash que ninguém lê
+                    skipped.increment();
+                    throw new CancellationException("caller timed out while queued");
+                }
+                PasswordHashEvent event = new PasswordHashEvent();
+                event.begin();
+                try {
+                    return task.call();
+                } finally {
+                    hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    if (event.shouldCommit()) {
+                        event.operation = operation;
+                        event.queueTime = startedAt - submittedAt;
+                        event.commit();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw busy();
+        }
+
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            abandon(future);
+            timedOut.increment();
+            throw busy();
+        } catch (InterruptedException e) {
+            abandon(future);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CancellationException) {
+                // o job chegou à thread no limite do prazo e foi descartado antes deste get expirar
+                timedOut.increment();
+                throw busy();
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(
+                executor.getActiveCount(),
+                executor.getQueue().size(),
+                hashTimer.count(),
+                rejected.sum(),
+                timedOut.sum(),
+                skipped.sum(),
+                (long) queueTimer.mean(TimeUnit.MICROSECONDS),
+                (long) hashTimer.mean(TimeUnit.MICROSECONDS),
+                (long) hashTimer.max(TimeUnit.MICROSECONDS));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        meters.add(registry);
+        Gauge.builder("teachgram.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Threads hashing right now").register(registry);
+        Gauge.builder("teachgram.password.hashing.queued", executor, e -> e.getQueue().size())
+                .description("Hashes waiting for a thread").register(registry);
+        Gauge.builder("teachgram.password.hashing.queue.remaining", executor, e -> e.getQueue().remainingCapacity())
+                .description("Free queue slots before requests are rejected with 503").register(registry);
+        FunctionCounter.builder("teachgram.password.hashing.rejected", rejected, LongAdder::sum)
+                .description("Hashes refused because the queue was full").register(registry);
+        FunctionCounter.builder("teachgram.password.hashing.timed.out", timedOut, LongAdder::sum)
+                .description("Hashes abandoned after waiting longer than the timeout").register(registry);
+        FunctionCounter.builder("teachgram.password.hashing.skipped", skipped, LongAdder::sum)
+                .description("Queued hashes dropped because their caller had already timed out").register(registry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void abandon(Future<?> future) {
+        future.cancel(true);
+        // libera a vaga na fila já, em vez de esperar uma thread tirar o job cancelado
+        executor.remove((Runnable) future);
+    }
+
+    private ServiceUnavailableException busy() {
+        log.warn("Password hashing pool saturated ({} active, {} queued)",
+                executor.getActiveCount(), executor.getQueue().size());
+        return new ServiceUnavailableException(
+                "Servidor ocupado processando autenticações, tente novamente em instantes.", retryAfterSeconds);
+    }
+
+    /**
+     * Contadores acumulados desde a inicialização; tempos em microssegundos lidos dos timers
+     * (médias desde a inicialização, máximo da janela recente do Micrometer).
+     */
+    public record Stats(int active, int queued, long completed, long rejected, long timedOut, long skipped,
+                        long avgQueueMicros, long avgHashMicros, long maxHashMicros) {
+    }
+}
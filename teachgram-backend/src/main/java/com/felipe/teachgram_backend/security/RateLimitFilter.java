@@ -0,0 +1,88 @@
+package com.felipe.teachgram_backend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.felipe.teachgram_backend.exception.ErrorDetails;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Aplica o {@link RateLimiter} depois do {@link JwtAuthFilter}, então quem está autenticado
+ * é limitado pelo id do usuário e quem é anônimo pelo IP do cliente. Toda resposta limitada
+ * traz {@code RateLimit-Limit}, {@code RateLimit-Remaining}, {@code RateLimit-Reset} e
+ * {@code RateLimit-Policy}; requisições recusadas recebem 429 com {@code Retry-After}.
+ * <p>
+ * O bucket anônimo usa {@code request.getRemoteAddr()}. Atrás do proxy reverso ele só é o IP
+ * do cliente porque o profile prod liga {@code server.forward-headers-strategy}; sem isso
+ * todos os anônimos dividiriam o bucket do proxy.
+ */
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String LIMIT_HEADER = "RateLimit-Limit";
+    static final String REMAINING_HEADER = "RateLimit-Remaining";
+    static final String RESET_HEADER = "RateLimit-Reset";
+    static final String POLICY_HEADER = "RateLimit-Policy";
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(request.getMethod(), path, caller(request));
+
+        if (decision == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        response.setHeader(LIMIT_HEADER, String.valueOf(decision.limit()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(decision.remaining()));
+        response.setHeader(RESET_HEADER, String.valueOf(decision.resetSeconds()));
+        response.setHeader(POLICY_HEADER, decision.limit() + ";w=" + decision.windowSeconds());
+
+        if (decision.allowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, decision.retryAfterSeconds())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorDetails(
+                LocalDateTime.now(),
+                "Limite de requisições excedido. Tente novamente em instantes.",
+                "uri=" + request.getRequestURI(),
+                HttpStatus.TOO_MANY_REQUESTS.value()));
+    }
+
+    private static String caller(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails user) {
+            return "u:" + user.getId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
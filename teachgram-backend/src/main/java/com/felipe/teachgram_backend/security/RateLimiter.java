@@ -0,0 +1,148 @@
+package com.felipe.teachgram_backend.security;
+
+import com.felipe.teachgram_backend.config.RateLimitProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Limites de requisições por usuário e por grupo de endpoints.
+ * <p>
+ * Cada requisição é comparada com as políticas configuradas (vale a primeira que casar) e
+ * tira um token do {@link TokenBucket} de {@code (política, chamador)}, em que o chamador é o
+ * id do usuário autenticado ou, em requisições anônimas, o IP do cliente. Os buckets ficam em
+ * um {@link SegmentedLruCache}; um bucket descartado por ser o usado há mais tempo apenas
+ * recomeça cheio na próxima vez.
+ * <p>
+ * As decisões por política e o número de buckets são publicados como {@code teachgram.rate.limit.*}.
+ */
+@Component
+public class RateLimiter implements MeterBinder {
+
+    private final boolean enabled;
+    private final List<CompiledPolicy> policies;
+    private final SegmentedLruCache<String, TokenBucket> buckets;
+    private final LongSupplier clock;
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties properties, LongSupplier nanoClock) {
+        this.enabled = properties.isEnabled();
+        this.policies = properties.getPolicies().stream().map(CompiledPolicy::of).toList();
+        this.buckets = new SegmentedLruCache<>(properties.getMaxTrackedBuckets());
+        this.clock = nanoClock;
+    }
+
+    /**
+     * Consome uma requisição de {@code caller} no grupo que casa com {@code method} e {@code path}.
+     *
+     * @return a decisão, ou {@code null} se nenhuma política cobre a requisição.
+     */
+    public Decision tryAcquire(String method, String path, String caller) {
+        if (!enabled) {
+            return null;
+        }
+        CompiledPolicy policy = match(method, path);
+        if (policy == null) {
+            return null;
+        }
+
+        TokenBucket bucket = buckets.computeIfAbsent(policy.name() + '|' + caller, key -> new TokenBucket());
+        TokenBucket.Result result = bucket.tryConsume(policy.capacity(), policy.periodNanos(), clock.getAsLong());
+        if (result.allowed()) {
+            policy.allowed().increment();
+        } else {
+            policy.rejected().increment();
+        }
+        return new Decision(policy.name(), result.allowed(), policy.capacity(), result.remaining(),
+                toSeconds(result.nanosUntilFull()), toSeconds(result.retryAfterNanos()),
+                TimeUnit.NANOSECONDS.toSeconds(policy.periodNanos()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (CompiledPolicy policy : policies) {
+            FunctionCounter.builder("teachgram.rate.limit.requests", policy.allowed(), LongAdder::sum)
+                    .tags("policy", policy.name(), "result", "allowed").register(registry);
+            FunctionCounter.builder("teachgram.rate.limit.requests", policy.rejected(), LongAdder::sum)
+                    .tags("policy", policy.name(), "result", "rejected").register(registry);
+        }
+        Gauge.builder("teachgram.rate.limit.buckets", buckets, SegmentedLruCache::size)
+                .description("Token buckets currently tracked").register(registry);
+        FunctionCounter.builder("teachgram.rate.limit.buckets.evicted", buckets, SegmentedLruCache::evictions)
+                .register(registry);
+    }
+
+    public Stats stats() {
+        Map<String, PolicyStats> perPolicy = new LinkedHashMap<>();
+        for (CompiledPolicy policy : policies) {
+            perPolicy.put(policy.name(), new PolicyStats(policy.allowed().sum(), policy.rejected().sum()));
+        }
+        return new Stats(buckets.size(), buckets.evictions(), perPolicy);
+    }
+
+    private CompiledPolicy match(String method, String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        for (CompiledPolicy policy : policies) {
+            if ((policy.methods().isEmpty() || policy.methods().contains(method))
+                    && policy.patterns().stream().anyMatch(pattern -> pattern.matches(container))) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    private static long toSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /**
+     * Resultado de uma requisição, com os valores dos cabeçalhos {@code RateLimit-*}.
+     */
+    public record Decision(String policy, boolean allowed, int limit, long remaining,
+                           long resetSeconds, long retryAfterSeconds, long windowSeconds) {
+    }
+
+    public record PolicyStats(long allowed, long rejected) {
+    }
+
+    public record Stats(int trackedBuckets, long evictedBuckets, Map<String, PolicyStats> policies) {
+    }
+
+    private record CompiledPolicy(String name, Set<String> methods, List<PathPattern> patterns,
+                                  int capacity, long periodNanos, LongAdder allowed, LongAdder rejected) {
+
+        private static CompiledPolicy of(RateLimitProperties.Policy policy) {
+            if (policy.getCapacity() <= 0) {
+                throw new IllegalArgumentException("Capacidade inválida na política de rate limit " + policy.getName());
+            }
+            return new CompiledPolicy(
+                    policy.getName(),
+                    policy.getMethods().stream().map(m -> m.toUpperCase(Locale.ROOT)).collect(Collectors.toSet()),
+                    policy.getPaths().stream().map(PathPatternParser.defaultInstance::parse).toList(),
+                    policy.getCapacity(),
+                    policy.getPeriod().toNanos(),
+                    new LongAdder(),
+                    new LongAdder());
+        }
+    }
+}
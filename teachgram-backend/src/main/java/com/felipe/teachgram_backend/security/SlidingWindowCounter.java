@@ -0,0 +1,85 @@
+package com.felipe.teachgram_backend.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Contador de eventos sem lock sobre uma janela de tempo deslizante.
+ * <p>
+ * A janela é dividida em {@code buckets} posições. Cada posição é um {@code long} com a época
+ * do bucket (40 bits altos) e a contagem (24 bits baixos), atualizado com um único CAS; uma
+ * posição que ainda guarda uma época antiga é simplesmente sobrescrita. A contagem é exata
+ * por bucket e a janela desliza na granularidade do bucket.
+ */
+final class SlidingWindowCounter {
+
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final AtomicLongArray slots;
+    private final long bucketNanos;
+
+    SlidingWindowCounter(long windowNanos, int buckets) {
+        this.slots = new AtomicLongArray(buckets);
+        this.bucketNanos = Math.max(1, windowNanos / buckets);
+    }
+
+    /**
+     * Conta um evento em {@code nowNanos} e retorna o total dentro da janela.
+     */
+    int increment(long nowNanos) {
+        long epoch = epoch(nowNanos);
+        int index = (int) (epoch % slots.length());
+        while (true) {
+            long current = slots.get(index);
+            long next = (current >>> COUNT_BITS) == epoch
+                    ? Math.min(current + 1, (epoch << COUNT_BITS) | COUNT_MASK)
+                    : (epoch << COUNT_BITS) | 1;
+            if (slots.compareAndSet(index, current, next)) {
+                return sum(epoch);
+            }
+        }
+    }
+
+    int count(long nowNanos) {
+        return sum(epoch(nowNanos));
+    }
+
+    /**
+     * Nanossegundos até o bucket contado mais antigo sair da janela, isto é, até a contagem
+     * cair pela primeira vez; {@code 0} se nada foi contado.
+     */
+    long nanosUntilDecrease(long nowNanos) {
+        long epoch = epoch(nowNanos);
+        long oldest = Long.MAX_VALUE;
+        for (int i = 0; i < slots.length(); i++) {
+            long slot = slots.get(i);
+            long slotEpoch = slot >>> COUNT_BITS;
+            if ((slot & COUNT_MASK) > 0 && epoch - slotEpoch < slots.length()) {
+                oldest = Math.min(oldest, slotEpoch);
+            }
+        }
+        if (oldest == Long.MAX_VALUE) {
+            return 0;
+        }
+        return (oldest + slots.length()) * bucketNanos - nowNanos;
+    }
+
+    long epoch(long nowNanos) {
+        return nowNanos / bucketNanos;
+    }
+
+    int buckets() {
+        return slots.length();
+    }
+
+    private int sum(long epoch) {
+        long total = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            long slot = slots.get(i);
+            if (epoch - (slot >>> COUNT_BITS) < slots.length()) {
+                total += slot & COUNT_MASK;
+            }
+        }
+        return (int) Math.min(total, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,46 @@
+package com.felipe.teachgram_backend.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket cujo estado inteiro é um {@code long}: o instante em que o bucket estará
+ * cheio de novo (o theoretical arrival time do GCRA).
+ * <p>
+ * Tirar um token empurra esse instante um intervalo de emissão ({@code period / capacity})
+ * para a frente; a requisição é recusada se o bucket tivesse de ficar "mais vazio que vazio",
+ * isto é, se o instante passasse mais de {@code period} à frente de agora. A recarga fica
+ * implícita na passagem do tempo, então consumir é uma leitura e um CAS, sem lock nem timer.
+ */
+final class TokenBucket {
+
+    private final AtomicLong fullAtNanos = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Tenta tirar um token em {@code nowNanos}.
+     *
+     * @return se foi permitido, mais os valores dos cabeçalhos de rate limit da resposta.
+     */
+    Result tryConsume(int capacity, long periodNanos, long nowNanos) {
+        long interval = Math.max(1, periodNanos / capacity);
+        long burst = interval * capacity;
+        while (true) {
+            long fullAt = fullAtNanos.get();
+            long next = Math.max(fullAt, nowNanos) + interval;
+            long ahead = next - nowNanos;
+            if (ahead > burst) {
+                long current = Math.max(fullAt, nowNanos) - nowNanos;
+                return new Result(false, 0, current, ahead - burst);
+            }
+            if (fullAtNanos.compareAndSet(fullAt, next)) {
+                return new Result(true, (burst - ahead) / interval, ahead, 0);
+            }
+        }
+    }
+
+    /**
+     * {@code remaining}: tokens restantes; {@code nanosUntilFull}: tempo até o bucket encher
+     * de novo; {@code retryAfterNanos}: tempo até o próximo token, quando recusado.
+     */
+    record Result(boolean allowed, long remaining, long nanosUntilFull, long retryAfterNanos) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.felipe.teachgram_backend.security;
+
+import com.felipe.teachgram_backend.repository.UserRepository;
+import com.felipe.teachgram_backend.repository.UserStatusView;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Pequeno cache de "este usuário ainda pode entrar, e qual é a versão de token atual?",
+ * para que o filtro JWT recuse contas bloqueadas, excluídas ou com tokens revogados sem
+ * carregar o usuário a cada requisição.
+ * <p>
+ * Cada entrada é uma consulta de {@code (token_version, deleted, account_non_locked, locked_until)},
+ * mantida por {@link #TTL}, ou só até {@code locked_until} quando um bloqueio temporário
+ * termina antes. Alterações feitas pelo {@code UserService} descartam a entrada na hora;
+ * alterações em outro nó são vistas quando a entrada expira. O cache guarda no máximo
+ * {@value #MAX_ENTRIES} usuários e, cheio, descarta o usado há mais tempo.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserStatusCache implements MeterBinder {
+
+    static final Duration TTL = Duration.ofSeconds(30);
+    static final int MAX_ENTRIES = 50_000;
+
+    private final UserRepository userRepository;
+    private final SegmentedLruCache<UUID, Status> entries = new SegmentedLruCache<>(MAX_ENTRIES);
+
+    /**
+     * Indica se um token emitido com {@code tokenVersion} para {@code userId} ainda é aceito:
+     * o usuário existe, não está excluído nem bloqueado e não revogou o token.
+     */
+    public boolean isActive(UUID userId, long tokenVersion) {
+        Status status = entries.get(userId);
+        if (status == null || status.isExpired()) {
+            status = load(userId);
+        }
+        return status.active() && status.tokenVersion() == tokenVersion;
+    }
+
+    /**
+     * Descarta o status em cache de {@code userId}; a próxima requisição consulta o banco.
+     * Dentro de uma transação, descarta de novo após o commit, para que uma leitura concorrente
+     * não guarde o estado anterior à alteração.
+     */
+    public void evict(UUID userId) {
+        entries.remove(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entries.remove(userId);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("teachgram.security.user.status.cache.size", entries, SegmentedLruCache::size)
+                .register(registry);
+        FunctionCounter.builder("teachgram.security.user.status.cache.evicted", entries, SegmentedLruCache::evictions)
+                .register(registry);
+    }
+
+    private Status load(UUID userId) {
+        Status status = userRepository.findStatusById(userId)
+                .map(UserStatusCache::toStatus)
+                .orElseGet(() -> new Status(-1, false, expiry()));
+        entries.put(userId, status);
+        return status;
+    }
+
+    private static Status toStatus(UserStatusView view) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lockedUntil = view.getLockedUntil();
+        boolean locked = !view.getAccountNonLocked() && (lockedUntil == null || lockedUntil.isAfter(now));
+        boolean active = !Boolean.TRUE.equals(view.getDeleted()) && !locked;
+        long expiresAt = expiry();
+        if (locked && lockedUntil != null) {
+            long unlocksAt = System.nanoTime() + Duration.between(now, lockedUntil).toNanos();
+            if (unlocksAt - expiresAt < 0) {
+                expiresAt = unlocksAt;
+            }
+        }
+        return new Status(view.getTokenVersion(), active, expiresAt);
+    }
+
+    private static long expiry() {
+        return System.nanoTime() + TTL.toNanos();
+    }
+
+    private record Status(long tokenVersion, boolean active, long expiresAtNanos) {
+        private boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos > 0;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.felipe.teachgram_backend.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache limitado de bearer tokens já verificados, para que um cliente que reutiliza o mesmo
+ * token pague a checagem da assinatura RS256 uma vez, e não a cada requisição.
+ * <p>
+ * As entradas são indexadas pelo SHA-256 do token (o token em si nunca é guardado) e guardam
+ * o principal montado a partir dos claims até o {@code exp} do token. A revogação não fica
+ * em cache aqui: o {@link UserStatusCache} continua sendo consultado em toda requisição.
+ * <p>
+ * São mantidos no máximo {@value #MAX_ENTRIES} tokens; com o cache cheio, guardar um token
+ * novo descarta o usado há mais tempo, então um token expirado que ninguém reapresenta
+ * também sai do cache.
+ * <p>
+ * Acertos, falhas e o número de entradas são publicados como {@code teachgram.security.token.cache.*}.
+ */
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    static final int MAX_ENTRIES = 20_000;
+
+    private final SegmentedLruCache<String, Entry> entries = new SegmentedLruCache<>(MAX_ENTRIES);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Retorna o principal em cache de {@code token}, ou {@code null} se ele nunca foi
+     * verificado ou expirou desde então.
+     */
+    public CustomUserDetails get(String token) {
+        String key = hash(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.isExpired()) {
+            entries.remove(key);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.principal();
+    }
+
+    /**
+     * Guarda o principal de um token cuja assinatura e validade acabaram de ser verificadas.
+     */
+    public void put(String token, CustomUserDetails principal, Instant expiresAt) {
+        if (expiresAt == null) {
+            return;
+        }
+        entries.put(hash(token), new Entry(principal, expiresAt.toEpochMilli()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("teachgram.security.token.cache.size", entries, SegmentedLruCache::size).register(registry);
+        FunctionCounter.builder("teachgram.security.token.cache.evicted", entries, SegmentedLruCache::evictions)
+                .register(registry);
+        FunctionCounter.builder("teachgram.security.token.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("teachgram.security.token.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss").register(registry);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Entry(CustomUserDetails principal, long expiresAtMillis) {
+        private boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAtMillis;
+        }
+    }
+}
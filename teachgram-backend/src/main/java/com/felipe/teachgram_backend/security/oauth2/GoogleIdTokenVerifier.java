@@ -0,0 +1,134 @@
+package com.felipe.teachgram_backend.security.oauth2;
+
+import com.felipe.teachgram_backend.config.GoogleOAuth2Properties;
+import com.felipe.teachgram_backend.exception.ValidationException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.jwt.JwtClaimValidator;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Verifica ID tokens do Google localmente, sem chamar o endpoint {@code tokeninfo}.
+ * <p>
+ * A assinatura é conferida contra o JWKS do Google, baixado uma vez pelo {@link HttpClient}
+ * compartilhado, mantido em cache por {@code jwk-set-cache-ttl} e renovado em segundo plano
+ * pouco antes de expirar (ou na hora, com limite de frequência, quando um token traz um
+ * {@code kid} desconhecido). Depois são validados {@code exp}/{@code nbf} (com tolerância de
+ * relógio), {@code iss}, {@code aud} (deve conter o client id da aplicação) e
+ * {@code email_verified}.
+ * <p>
+ * Um JWKS em {@code classpath:} ou {@code file:} carrega um conjunto fixo de chaves, para
+ * que o fluxo possa ser exercitado offline com tokens assinados localmente.
+ */
+@Slf4j
+@Component
+public class GoogleIdTokenVerifier {
+
+    private static final long REFRESH_AHEAD_MILLIS = 60_000;
+    private static final long CACHE_REFRESH_TIMEOUT_MILLIS = 5_000;
+
+    private final JWKSource<SecurityContext> jwkSource;
+    private final NimbusJwtDecoder decoder;
+
+    @Autowired
+    public GoogleIdTokenVerifier(GoogleOAuth2Properties properties, HttpClient httpClient) {
+        this(properties, jwkSource(properties, httpClient));
+    }
+
+    GoogleIdTokenVerifier(GoogleOAuth2Properties properties, JWKSource<SecurityContext> jwkSource) {
+        this.jwkSource = jwkSource;
+
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+            // validados abaixo pelos validators do Spring
+        });
+
+        this.decoder = new NimbusJwtDecoder(processor);
+        this.decoder.setJwtValidator(validator(properties));
+    }
+
+    /**
+     * Valida {@code idToken} e retorna seus claims.
+     *
+     * @throws ValidationException se o token é inválido, expirado ou não foi emitido para este app.
+     */
+    public Map<String, Object> verify(String idToken) {
+        try {
+            return decoder.decode(idToken).getClaims();
+        } catch (JwtException e) {
+            log.debug("Rejected Google ID token: {}", e.getMessage());
+            throw new ValidationException("Token do Google inválido: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        if (jwkSource instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static OAuth2TokenValidator<Jwt> validator(GoogleOAuth2Properties properties) {
+        String clientId = properties.getClientId();
+        List<String> issuers = properties.getIssuers();
+        return new DelegatingOAuth2TokenValidator<>(
+                new JwtTimestampValidator(properties.getClockSkew()),
+                new JwtClaimValidator<Object>(JwtClaimNames.ISS, iss -> iss != null && issuers.contains(iss.toString())),
+                new JwtClaimValidator<List<String>>(JwtClaimNames.AUD,
+                        aud -> clientId != null && !clientId.isBlank() && aud != null && aud.contains(clientId)),
+                new JwtClaimValidator<Object>("email_verified",
+                        verified -> Boolean.TRUE.equals(verified) || "true".equals(verified))
+        );
+    }
+
+    private static JWKSource<SecurityContext> jwkSource(GoogleOAuth2Properties properties, HttpClient httpClient) {
+        String location = properties.getJwkSetUri();
+        try {
+            if (location.startsWith("classpath:") || location.startsWith("file:")) {
+                try (InputStream in = new DefaultResourceLoader().getResource(location).getInputStream()) {
+                    log.warn("Using fixed Google JWKS from {}; do not use in production", location);
+                    return new ImmutableJWKSet<>(JWKSet.parse(new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+                }
+            }
+            long ttlMillis = properties.getJwkSetCacheTtl().toMillis();
+            return JWKSourceBuilder.<SecurityContext>create(
+                            URI.create(location).toURL(),
+                            new HttpClientResourceRetriever(httpClient, properties.getReadTimeout()))
+                    .cache(ttlMillis, CACHE_REFRESH_TIMEOUT_MILLIS)
+                    .refreshAheadCache(REFRESH_AHEAD_MILLIS, true)
+                    .rateLimited(true)
+                    .retrying(true)
+                    .build();
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Não foi possível carregar o JWKS do Google de " + location, e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.felipe.teachgram_backend.security.oauth2;
+
+import com.nimbusds.jose.util.Resource;
+import com.nimbusds.jose.util.ResourceRetriever;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * {@link ResourceRetriever} do Nimbus apoiado no {@link HttpClient} compartilhado, para que
+ * os downloads do JWKS reutilizem conexões do pool em vez de abrir uma a cada busca.
+ */
+public class HttpClientResourceRetriever implements ResourceRetriever {
+
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    private final HttpClient httpClient;
+    private final Duration readTimeout;
+
+    public HttpClientResourceRetriever(HttpClient httpClient, Duration readTimeout) {
+        this.httpClient = httpClient;
+        this.readTimeout = readTimeout;
+    }
+
+    @Override
+    public Resource retrieveResource(URL url) throws IOException {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(url.toURI())
+                    .timeout(readTimeout)
+                    .header("Accept", "application/json")
+                    .GET()
+                    .build();
+        } catch (URISyntaxException e) {
+            throw new IOException("URL inválida: " + url, e);
+        }
+
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrompido ao buscar " + url, e);
+        }
+
+        if (response.statusCode() != 200) {
+            throw new IOException("HTTP " + response.statusCode() + " ao buscar " + url);
+        }
+        if (response.body().length > MAX_BODY_BYTES) {
+            throw new IOException("Resposta grande demais de " + url);
+        }
+        return new Resource(new String(response.body(), StandardCharsets.UTF_8),
+                response.headers().firstValue("Content-Type").orElse(null));
+    }
+}
@@ -8,25 +8,18 @@ import com.felipe.teachgram_backend.exception.ValidationException;
 import com.felipe.teachgram_backend.repository.UserRepository;
 import com.felipe.teachgram_backend.security.AuthHandler;
 import com.felipe.teachgram_backend.security.JwtService;
+import com.felipe.teachgram_backend.security.oauth2.GoogleIdTokenVerifier;
 import com.felipe.teachgram_backend.security.oauth2.user.OAuth2UserInfo;
 import com.felipe.teachgram_backend.security.oauth2.user.OAuth2UserInfoFactory;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * AuthService handles user registration and authentication,
@@ -36,6 +29,7 @@ import java.util.stream.Collectors;
  */
 @Service
 @RequiredArgsConstructor
+@Observed(name = "teachgram.auth")
 public class AuthService {
 
     private final UserRepository userRepository;
@@ -43,23 +37,22 @@ public class AuthService {
     private final JwtService jwtService;
     private final AuthHandler authHandler;
     private final PasswordEncoder passwordEncoder;
-
-    @Value("${application.security.jwt.expiration-minutes}")
-    private long jwtExpirationMinutes;
+    private final RefreshTokenService refreshTokenService;
+    private final GoogleIdTokenVerifier googleIdTokenVerifier;
 
     /**
      * Registers a new user and logs them in by generating a JWT.
+     * The tokens are issued straight from the inserted user: the password was just hashed,
+     * so authenticating it again would only pay for a second BCrypt round.
      *
      * @param userRequestDTO request payload with user details
      * @return LoginResponseDTO with token, user ID and name
      */
+    @Counted(value = "teachgram.auth.signups", description = "Cadastros concluídos ou tentados")
     public LoginResponseDTO signup(UserRequestDTO userRequestDTO) {
-        userService.createUser(userRequestDTO);
-        return login(new LoginRequestDTO(userRequestDTO.getEmail(), userRequestDTO.getPassword()));
-    }
-
-    protected RestTemplate createRestTemplate() {
-        return new RestTemplate();
+        User user = userService.registerUser(userRequestDTO);
+        String jwtToken = jwtService.generateToken(user);
+        return buildLoginResponse(user, jwtToken, refreshTokenService.issue(user));
     }
 
     public LoginResponseDTO signupWithOAuth2(String idToken) {
@@ -80,38 +73,19 @@ public class AuthService {
             userRepository.save(user);
         }
 
-        List<SimpleGrantedAuthority> authorities = user.getRoles()
-                .stream()
-                .map(role -> new SimpleGrantedAuthority(role.getName()))
-                .collect(Collectors.toList());
-
-        UserDetails userDetails = new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                authorities
-        );
-
-        String token = jwtService.generateToken(userDetails);
-        long expiresInMillis = jwtExpirationMinutes * 60;
-        return new LoginResponseDTO(token, user.getId(), user.getUsername(), expiresInMillis);
+        String token = jwtService.generateToken(user);
+        return new LoginResponseDTO(token, user.getId(), user.getUsername(),
+                jwtService.getAccessTokenTtl().toSeconds(), refreshTokenService.issue(user));
     }
 
+    /**
+     * Verifies a Google ID token locally (signature against the cached JWKS, issuer,
+     * audience, expiry) and returns its claims.
+     *
+     * @throws ValidationException if the token is not valid for this app
+     */
     public Map<String, Object> verifyGoogleIdToken(String idToken) {
-        RestTemplate restTemplate = createRestTemplate();
-        String url = "https://oauth2.googleapis.com/tokeninfo?id_token=" + idToken;
-
-        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                url,
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<Map<String, Object>>() {}
-        );
-
-        if (response.getStatusCode() != HttpStatus.OK) {
-            throw new RuntimeException("Token inválido");
-        }
-
-        return response.getBody();
+        return googleIdTokenVerifier.verify(idToken);
     }
 
     /**
@@ -130,15 +104,35 @@ public class AuthService {
         User user = (User) userDetails;
 
         String jwtToken = jwtService.generateToken(userDetails);
-        return buildLoginResponse(user, jwtToken);
+        return buildLoginResponse(user, jwtToken, refreshTokenService.issue(user));
     }
 
+    /**
+     * Exchanges a refresh token for a new access token and the next refresh token of the
+     * same family. No password is checked, so this never pays for a BCrypt comparison.
+     *
+     * @param refreshToken refresh token returned by the last login or refresh
+     * @return LoginResponseDTO with the new JWT and refresh token
+     * @throws ValidationException if the refresh token is invalid, expired or was already used
+     */
+    public LoginResponseDTO refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        User user = rotation.user();
+        return buildLoginResponse(user, jwtService.generateToken(user), rotation.refreshToken());
+    }
+
+    /**
+     * Revokes the refresh token family of {@code refreshToken} (logout).
+     */
+    public void logout(String refreshToken) {
+        refreshTokenService.revoke(refreshToken);
+    }
 
     /**
      * Helper method to build LoginResponseDTO with user data and JWT.
      */
-    private LoginResponseDTO buildLoginResponse(User user, String token) {
-        long expiresInMillis = jwtExpirationMinutes * 60;
-        return new LoginResponseDTO(token, user.getId(), user.getName(), expiresInMillis);
+    private LoginResponseDTO buildLoginResponse(User user, String token, String refreshToken) {
+        long expiresInSeconds = jwtService.getAccessTokenTtl().toSeconds();
+        return new LoginResponseDTO(token, user.getId(), user.getName(), expiresInSeconds, refreshToken);
     }
 }
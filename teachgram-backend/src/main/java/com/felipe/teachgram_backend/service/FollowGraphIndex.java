@@ -0,0 +1,414 @@
+package com.felipe.teachgram_backend.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Índice de adjacência do grafo de follows em memória, percorrido pelo
+ * {@link FollowSuggestionService} para achar amigos de amigos sem ir ao banco.
+ * <p>
+ * Os UUIDs dos usuários viram ids {@code int} densos, e cada usuário guarda dois arrays
+ * primitivos ordenados (quem ele segue e quem o segue): checar uma relação é uma busca
+ * binária e cada aresta custa poucos bytes em vez de uma entidade {@code Follow}.
+ * <p>
+ * Leituras compartilham o read lock; follow/unfollow e a carga completa tomam o write lock.
+ * O índice só vê as escritas feitas por esta instância e não é avisado de usuários
+ * excluídos logicamente, então com mais de um nó ele se desatualiza até o próximo restart
+ * ou {@link #rebuild}. Isso é aceitável para sugestões, que já são aproximadas, mas o que
+ * precisa ser exato (status de follow, contadores) consulta o banco.
+ */
+@Component
+public class FollowGraphIndex {
+
+    private static final int[] EMPTY = new int[0];
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock readLock = lock.readLock();
+    private final Lock writeLock = lock.writeLock();
+
+    private Graph graph = new Graph(INITIAL_CAPACITY);
+    private boolean ready;
+    private List<Mutation> pendingDuringRebuild;
+
+    /**
+     * Indica se a carga completa terminou; antes disso as respostas podem estar incompletas
+     * e quem chama deve recorrer ao banco.
+     */
+    public boolean isReady() {
+        readLock.lock();
+        try {
+            return ready;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    public boolean follows(UUID followerId, UUID followingId) {
+        readLock.lock();
+        try {
+            int follower = graph.idOf(followerId);
+            int following = graph.idOf(followingId);
+            return follower >= 0 && following >= 0 && graph.following.contains(follower, following);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    public int followingCount(UUID userId) {
+        readLock.lock();
+        try {
+            int id = graph.idOf(userId);
+            return id < 0 ? 0 : graph.following.size(id);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    public int followersCount(UUID userId) {
+        readLock.lock();
+        try {
+            int id = graph.idOf(userId);
+            return id < 0 ? 0 : graph.followers.size(id);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Retorna o id denso de um usuário, ou {@code -1} se ele não tiver arestas no índice.
+     */
+    public int indexOf(UUID userId) {
+        readLock.lock();
+        try {
+            return graph.idOf(userId);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    public UUID userIdOf(int index) {
+        readLock.lock();
+        try {
+            return graph.uuids[index];
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Retorna uma cópia ordenada dos ids densos seguidos por {@code index}. Acima de
+     * {@code limit}, devolve uma amostra espaçada da lista inteira em vez das primeiras
+     * entradas: os ids densos seguem a ordem de carga, e truncar manteria só as contas mais antigas.
+     */
+    public int[] followingOf(int index, int limit) {
+        readLock.lock();
+        try {
+            return graph.following.sample(index, limit);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    public boolean follows(int follower, int following) {
+        readLock.lock();
+        try {
+            return graph.following.contains(follower, following);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    public void addFollow(UUID followerId, UUID followingId) {
+        writeLock.lock();
+        try {
+            graph.add(followerId, followingId);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(new Mutation(followerId, followingId, true));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Aplica vários follows do mesmo usuário sob um único write lock.
+     */
+    public void addFollows(UUID followerId, Iterable<UUID> followingIds) {
+        writeLock.lock();
+        try {
+            for (UUID followingId : followingIds) {
+                graph.add(followerId, followingId);
+                if (pendingDuringRebuild != null) {
+                    pendingDuringRebuild.add(new Mutation(followerId, followingId, true));
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void removeFollow(UUID followerId, UUID followingId) {
+        writeLock.lock();
+        try {
+            graph.remove(followerId, followingId);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(new Mutation(followerId, followingId, false));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Remove vários follows do mesmo usuário sob um único write lock.
+     */
+    public void removeFollows(UUID followerId, Iterable<UUID> followingIds) {
+        writeLock.lock();
+        try {
+            for (UUID followingId : followingIds) {
+                graph.remove(followerId, followingId);
+                if (pendingDuringRebuild != null) {
+                    pendingDuringRebuild.add(new Mutation(followerId, followingId, false));
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Reconstrói o índice a partir de uma leitura completa das arestas. O novo grafo é
+     * montado fora do lock e trocado de uma vez; follows/unfollows feitos durante a leitura
+     * são reaplicados sobre ele, então nenhum se perde.
+     *
+     * @param source envia cada aresta (seguidor, seguido) ao sink recebido.
+     */
+    public void rebuild(Consumer<EdgeSink> source) {
+        writeLock.lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            writeLock.unlock();
+        }
+
+        Graph rebuilt = new Graph(INITIAL_CAPACITY);
+        try {
+            source.accept(rebuilt::append);
+            rebuilt.following.sortAll();
+            rebuilt.followers.sortAll();
+        } catch (RuntimeException e) {
+            writeLock.lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                writeLock.unlock();
+            }
+            throw e;
+        }
+
+        writeLock.lock();
+        try {
+            for (Mutation mutation : pendingDuringRebuild) {
+                if (mutation.added()) {
+                    rebuilt.add(mutation.followerId(), mutation.followingId());
+                } else {
+                    rebuilt.remove(mutation.followerId(), mutation.followingId());
+                }
+            }
+            pendingDuringRebuild = null;
+            graph = rebuilt;
+            ready = true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Recebe as arestas durante o {@link #rebuild}, em qualquer ordem.
+     */
+    @FunctionalInterface
+    public interface EdgeSink {
+        void accept(UUID followerId, UUID followingId);
+    }
+
+    private record Mutation(UUID followerId, UUID followingId, boolean added) {}
+
+    /**
+     * Dicionário de UUIDs mais as duas direções de adjacência.
+     */
+    private static final class Graph {
+        private final Map<UUID, Integer> ids = new HashMap<>();
+        private UUID[] uuids;
+        private final Adjacency following;
+        private final Adjacency followers;
+
+        private Graph(int capacity) {
+            uuids = new UUID[capacity];
+            following = new Adjacency(capacity);
+            followers = new Adjacency(capacity);
+        }
+
+        private int idOf(UUID userId) {
+            Integer id = ids.get(userId);
+            return id == null ? -1 : id;
+        }
+
+        private int intern(UUID userId) {
+            Integer existing = ids.get(userId);
+            if (existing != null) {
+                return existing;
+            }
+            int id = ids.size();
+            if (id == uuids.length) {
+                uuids = Arrays.copyOf(uuids, id * 2);
+            }
+            uuids[id] = userId;
+            ids.put(userId, id);
+            following.ensureCapacity(id + 1);
+            followers.ensureCapacity(id + 1);
+            return id;
+        }
+
+        /** Acrescenta sem ordenar; só vale durante a carga completa. */
+        private void append(UUID followerId, UUID followingId) {
+            int follower = intern(followerId);
+            int followed = intern(followingId);
+            following.append(follower, followed);
+            followers.append(followed, follower);
+        }
+
+        private void add(UUID followerId, UUID followingId) {
+            int follower = intern(followerId);
+            int followed = intern(followingId);
+            following.insert(follower, followed);
+            followers.insert(followed, follower);
+        }
+
+        private void remove(UUID followerId, UUID followingId) {
+            int follower = idOf(followerId);
+            int followed = idOf(followingId);
+            if (follower >= 0 && followed >= 0) {
+                following.delete(follower, followed);
+                followers.delete(followed, follower);
+            }
+        }
+    }
+
+    /**
+     * Um {@code int[]} ordenado e expansível por id denso.
+     */
+    private static final class Adjacency {
+        private int[][] values;
+        private int[] sizes;
+
+        private Adjacency(int capacity) {
+            values = new int[capacity][];
+            sizes = new int[capacity];
+        }
+
+        private void ensureCapacity(int required) {
+            if (required > values.length) {
+                int capacity = Math.max(required, values.length * 2);
+                values = Arrays.copyOf(values, capacity);
+                sizes = Arrays.copyOf(sizes, capacity);
+            }
+        }
+
+        private int size(int id) {
+            return sizes[id];
+        }
+
+        private boolean contains(int id, int neighbour) {
+            int[] row = values[id];
+            return row != null && Arrays.binarySearch(row, 0, sizes[id], neighbour) >= 0;
+        }
+
+        private int[] sample(int id, int limit) {
+            int[] row = values[id];
+            int size = sizes[id];
+            if (row == null || limit <= 0) {
+                return EMPTY;
+            }
+            if (size <= limit) {
+                return Arrays.copyOf(row, size);
+            }
+            int[] sample = new int[limit];
+            for (int i = 0; i < limit; i++) {
+                sample[i] = row[(int) ((long) i * size / limit)];
+            }
+            return sample;
+        }
+
+        private void append(int id, int neighbour) {
+            int[] row = grow(id);
+            row[sizes[id]++] = neighbour;
+        }
+
+        private void insert(int id, int neighbour) {
+            int size = sizes[id];
+            int position = values[id] == null ? -1 : Arrays.binarySearch(values[id], 0, size, neighbour);
+            if (position >= 0) {
+                return;
+            }
+            int insertAt = -position - 1;
+            int[] row = grow(id);
+            System.arraycopy(row, insertAt, row, insertAt + 1, size - insertAt);
+            row[insertAt] = neighbour;
+            sizes[id] = size + 1;
+        }
+
+        private void delete(int id, int neighbour) {
+            int[] row = values[id];
+            if (row == null) {
+                return;
+            }
+            int size = sizes[id];
+            int position = Arrays.binarySearch(row, 0, size, neighbour);
+            if (position >= 0) {
+                System.arraycopy(row, position + 1, row, position, size - position - 1);
+                sizes[id] = size - 1;
+            }
+        }
+
+        private int[] grow(int id) {
+            int[] row = values[id];
+            if (row == null) {
+                row = new int[4];
+                values[id] = row;
+            } else if (sizes[id] == row.length) {
+                row = Arrays.copyOf(row, row.length * 2);
+                values[id] = row;
+            }
+            return row;
+        }
+
+        /** Ordena e remove duplicatas de cada linha após a carga completa. */
+        private void sortAll() {
+            for (int id = 0; id < values.length; id++) {
+                int[] row = values[id];
+                if (row == null) {
+                    continue;
+                }
+                int size = sizes[id];
+                Arrays.sort(row, 0, size);
+                int unique = 0;
+                for (int i = 0; i < size; i++) {
+                    if (unique == 0 || row[i] != row[unique - 1]) {
+                        row[unique++] = row[i];
+                    }
+                }
+                sizes[id] = unique;
+            }
+        }
+    }
+}
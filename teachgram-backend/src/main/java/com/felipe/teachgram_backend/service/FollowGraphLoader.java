@@ -0,0 +1,43 @@
+package com.felipe.teachgram_backend.service;
+
+import com.felipe.teachgram_backend.repository.FollowEdgeView;
+import com.felipe.teachgram_backend.repository.FollowRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+/**
+ * Carrega o {@link FollowGraphIndex} a partir da tabela {@code follows} assim que a
+ * aplicação fica pronta, lendo as arestas em stream em vez de materializá-las.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FollowGraphLoader {
+
+    private final FollowRepository followRepository;
+    private final FollowGraphIndex followGraphIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long start = System.nanoTime();
+        long[] edges = {0};
+
+        followGraphIndex.rebuild(sink -> {
+            try (Stream<FollowEdgeView> stream = followRepository.streamAllEdges()) {
+                stream.forEach(edge -> {
+                    sink.accept(edge.getFollowerId(), edge.getFollowingId());
+                    edges[0]++;
+                });
+            }
+        });
+
+        log.info("Follow graph index loaded: {} edges in {} ms", edges[0], (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -1,16 +1,37 @@
 package com.felipe.teachgram_backend.service;
 
+import com.felipe.teachgram_backend.constants.FollowOutcome;
+import com.felipe.teachgram_backend.dto.common.CursorPageDTO;
+import com.felipe.teachgram_backend.dto.user.FollowBatchRequestDTO;
+import com.felipe.teachgram_backend.dto.user.FollowBatchResultDTO;
+import com.felipe.teachgram_backend.dto.user.FollowOutcomeDTO;
+import com.felipe.teachgram_backend.dto.user.FollowStatusDTO;
 import com.felipe.teachgram_backend.dto.user.UserFollowDTO;
 import com.felipe.teachgram_backend.entity.Follow;
 import com.felipe.teachgram_backend.entity.User;
+import com.felipe.teachgram_backend.exception.ValidationException;
 import com.felipe.teachgram_backend.repository.FollowRepository;
+import com.felipe.teachgram_backend.repository.FollowUserView;
 import com.felipe.teachgram_backend.repository.UserRepository;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiFunction;
 
 /**
  * Serviço responsável por gerenciar o relacionamento de "seguir" entre usuários,
@@ -21,10 +42,20 @@ import java.util.UUID;
  */
 @Service
 @RequiredArgsConstructor
+@Observed(name = "teachgram.follows")
 public class FollowService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final String CURSOR_SEPARATOR = "|";
+
+    public static final int MAX_STATUS_IDS = 200;
+    public static final int MAX_BATCH_SIZE = 200;
+
     private final FollowRepository followRepository;
     private final UserRepository userRepository;
+    private final FollowGraphIndex followGraphIndex;
+    private final FollowSuggestionService followSuggestionService;
 
     /**
      * Registra que o usuário de ID {@code followerId} está seguindo o usuário {@code followingId}.
@@ -49,6 +80,10 @@ public class FollowService {
         follow.setFollowedAt(LocalDateTime.now());
 
         followRepository.save(follow);
+        afterCommit(() -> {
+            followGraphIndex.addFollow(followerId, followingId);
+            followSuggestionService.invalidate(followerId);
+        });
     }
 
     /**
@@ -57,52 +92,233 @@ public class FollowService {
      * @param followerId  ID do usuário que está deixando de seguir.
      * @param followingId ID do usuário que será deixado de seguir.
      */
+    @Transactional
     public void unfollowUser(UUID followerId, UUID followingId) {
         User follower = userRepository.findById(followerId).orElseThrow();
         User following = userRepository.findById(followingId).orElseThrow();
         followRepository.deleteByFollowerAndFollowing(follower, following);
+        afterCommit(() -> {
+            followGraphIndex.removeFollow(followerId, followingId);
+            followSuggestionService.invalidate(followerId);
+        });
     }
 
     /**
-     * Retorna uma lista de usuários que seguem o usuário especificado.
+     * Segue e deixa de seguir vários usuários de uma vez, em uma única transação.
+     * <p>
+     * Os follows são gravados com um único {@code INSERT ... ON CONFLICT DO NOTHING} e os unfollows
+     * com um único {@code DELETE}, então pares já existentes ou inexistentes não derrubam o lote nem
+     * disputam a constraint de unicidade. O índice em memória é atualizado em bloco após o commit,
+     * sob um único lock de escrita; é dele que saem os contadores de seguidores e seguindo do resumo
+     * de perfil, então não há contador por linha em {@code users} para atualizar aqui.
+     *
+     * @param followerId ID do usuário autenticado.
+     * @param request    IDs a seguir e a deixar de seguir (no máximo {@value #MAX_BATCH_SIZE} de cada).
+     * @return {@link FollowBatchResultDTO} com o resultado de cada usuário alvo.
+     * @throws ValidationException se o lote exceder o limite ou repetir um ID nas duas listas.
+     */
+    @Transactional
+    public FollowBatchResultDTO batchFollow(UUID followerId, FollowBatchRequestDTO request) {
+        Set<UUID> requested = new LinkedHashSet<>(request.getFollow() == null ? List.of() : request.getFollow());
+        Set<UUID> toUnfollow = new LinkedHashSet<>(request.getUnfollow() == null ? List.of() : request.getUnfollow());
+        if (requested.size() > MAX_BATCH_SIZE || toUnfollow.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("No máximo " + MAX_BATCH_SIZE + " usuários por lista.");
+        }
+        if (requested.stream().anyMatch(toUnfollow::contains)) {
+            throw new ValidationException("Um mesmo usuário não pode estar em 'follow' e 'unfollow'.");
+        }
+
+        List<FollowOutcomeDTO> results = new ArrayList<>(requested.size() + toUnfollow.size());
+
+        Set<UUID> toFollow = new LinkedHashSet<>(requested);
+        toFollow.remove(followerId);
+        Set<UUID> followed = toFollow.isEmpty() ? Set.of()
+                : new HashSet<>(followRepository.insertFollowsIgnoringExisting(followerId, toFollow));
+        Set<UUID> alreadyFollowing = followed.size() == toFollow.size() ? Set.of()
+                : new HashSet<>(followRepository.findFollowingIdsAmong(followerId, toFollow));
+        for (UUID id : requested) {
+            FollowOutcome outcome;
+            if (id.equals(followerId)) {
+                outcome = FollowOutcome.SELF;
+            } else if (followed.contains(id)) {
+                outcome = FollowOutcome.FOLLOWED;
+            } else if (alreadyFollowing.contains(id)) {
+                outcome = FollowOutcome.ALREADY_FOLLOWING;
+            } else {
+                outcome = FollowOutcome.NOT_FOUND;
+            }
+            results.add(new FollowOutcomeDTO(id, outcome));
+        }
+
+        Set<UUID> unfollowed = toUnfollow.isEmpty() ? Set.of()
+                : new HashSet<>(followRepository.deleteFollowsReturningIds(followerId, toUnfollow));
+        for (UUID id : toUnfollow) {
+            results.add(new FollowOutcomeDTO(id,
+                    unfollowed.contains(id) ? FollowOutcome.UNFOLLOWED : FollowOutcome.NOT_FOLLOWING));
+        }
+
+        if (!followed.isEmpty() || !unfollowed.isEmpty()) {
+            afterCommit(() -> {
+                followGraphIndex.addFollows(followerId, followed);
+                followGraphIndex.removeFollows(followerId, unfollowed);
+                followSuggestionService.invalidate(followerId);
+            });
+        }
+        return new FollowBatchResultDTO(followed.size(), unfollowed.size(), results);
+    }
+
+    /**
+     * Retorna, para cada usuário de {@code ids}, se o usuário autenticado o segue, se é seguido por ele
+     * e se o follow é mútuo, com duas consultas em lote ao banco. O {@link FollowGraphIndex} não é usado
+     * aqui: ele só enxerga as escritas deste nó e serve apenas para as sugestões.
      *
      * @param userId ID do usuário autenticado.
-     * @return Lista de usuários que seguem o usuário, mapeada como DTOs leves.
+     * @param ids    IDs dos usuários a verificar (no máximo {@value #MAX_STATUS_IDS}).
+     * @return Um {@link FollowStatusDTO} por ID, na ordem recebida e sem repetições.
+     * @throws ValidationException se forem enviados mais IDs que o permitido.
      */
-    public List<UserFollowDTO> getFollowers(UUID userId) {
-        User user = userRepository.findById(userId).orElseThrow();
-        return followRepository.findAllByFollowing(user)
-                .stream()
-                .map(f -> toDTO(f.getFollower()))
+    public List<FollowStatusDTO> getFollowStatuses(UUID userId, Collection<UUID> ids) {
+        if (ids.size() > MAX_STATUS_IDS) {
+            throw new ValidationException("No máximo " + MAX_STATUS_IDS + " IDs por consulta.");
+        }
+        Set<UUID> distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.isEmpty()) {
+            return List.of();
+        }
+
+        Set<UUID> following = new HashSet<>(followRepository.findFollowingIdsAmong(userId, distinctIds));
+        Set<UUID> followers = new HashSet<>(followRepository.findFollowerIdsAmong(userId, distinctIds));
+        return distinctIds.stream()
+                .map(id -> toStatus(id, following.contains(id), followers.contains(id)))
                 .toList();
     }
 
     /**
-     * Retorna uma lista de usuários que o usuário especificado está seguindo.
+     * Retorna a relação de follow entre o usuário autenticado e outro usuário.
+     *
+     * @param userId  ID do usuário autenticado.
+     * @param otherId ID do outro usuário.
+     * @return {@link FollowStatusDTO} da relação.
+     */
+    public FollowStatusDTO getFollowStatus(UUID userId, UUID otherId) {
+        return getFollowStatuses(userId, List.of(otherId)).get(0);
+    }
+
+    private static FollowStatusDTO toStatus(UUID id, boolean following, boolean followedBy) {
+        return new FollowStatusDTO(id, following, followedBy, following && followedBy);
+    }
+
+    /**
+     * Aplica a alteração no índice em memória somente depois do commit, para que um rollback
+     * não deixe o índice divergente do banco.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Retorna uma página (keyset) dos usuários que seguem o usuário especificado,
+     * do follow mais recente para o mais antigo.
      *
      * @param userId ID do usuário autenticado.
-     * @return Lista de usuários seguidos, mapeada como DTOs leves.
+     * @param cursor Cursor opaco retornado pela página anterior, ou {@code null} para a primeira página.
+     * @param size   Quantidade de itens desejada (limitada entre 1 e {@value #MAX_PAGE_SIZE}).
+     * @return Página de usuários que seguem o usuário, mapeada como DTOs leves.
+     * @throws ValidationException se o cursor for inválido.
      */
-    public List<UserFollowDTO> getFollowing(UUID userId) {
-        User user = userRepository.findById(userId).orElseThrow();
-        return followRepository.findAllByFollower(user)
-                .stream()
-                .map(f -> toDTO(f.getFollowing()))
-                .toList();
+    public CursorPageDTO<UserFollowDTO> getFollowers(UUID userId, String cursor, int size) {
+        int limit = clampPageSize(size);
+        List<FollowUserView> rows = cursor == null || cursor.isBlank()
+                ? followRepository.findFollowersFirstPage(userId, limit + 1)
+                : withCursor(cursor, (followedAt, lastId) ->
+                        followRepository.findFollowersAfter(userId, followedAt, lastId, limit + 1));
+        return toPage(rows, limit);
+    }
+
+    /**
+     * Retorna uma página (keyset) dos usuários que o usuário especificado está seguindo,
+     * do follow mais recente para o mais antigo.
+     *
+     * @param userId ID do usuário autenticado.
+     * @param cursor Cursor opaco retornado pela página anterior, ou {@code null} para a primeira página.
+     * @param size   Quantidade de itens desejada (limitada entre 1 e {@value #MAX_PAGE_SIZE}).
+     * @return Página de usuários seguidos, mapeada como DTOs leves.
+     * @throws ValidationException se o cursor for inválido.
+     */
+    public CursorPageDTO<UserFollowDTO> getFollowing(UUID userId, String cursor, int size) {
+        int limit = clampPageSize(size);
+        List<FollowUserView> rows = cursor == null || cursor.isBlank()
+                ? followRepository.findFollowingFirstPage(userId, limit + 1)
+                : withCursor(cursor, (followedAt, lastId) ->
+                        followRepository.findFollowingAfter(userId, followedAt, lastId, limit + 1));
+        return toPage(rows, limit);
+    }
+
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Monta a página a partir de {@code limit + 1} linhas: a linha extra só indica que existe
+     * uma próxima página e não é retornada ao cliente.
+     */
+    private CursorPageDTO<UserFollowDTO> toPage(List<FollowUserView> rows, int limit) {
+        boolean hasNext = rows.size() > limit;
+        List<FollowUserView> pageRows = hasNext ? rows.subList(0, limit) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            FollowUserView last = pageRows.get(pageRows.size() - 1);
+            nextCursor = encodeCursor(last.getFollowedAt(), last.getId());
+        }
+
+        return new CursorPageDTO<>(pageRows.stream().map(this::toDTO).toList(), nextCursor, hasNext);
+    }
+
+    /**
+     * O cursor é a chave (followedAt, id) da última linha entregue, em Base64 URL-safe.
+     */
+    private static String encodeCursor(LocalDateTime followedAt, UUID id) {
+        String raw = followedAt + CURSOR_SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static <T> T withCursor(String cursor, BiFunction<LocalDateTime, UUID, T> query) {
+        LocalDateTime followedAt;
+        UUID lastId;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(CURSOR_SEPARATOR);
+            followedAt = LocalDateTime.parse(raw.substring(0, separator));
+            lastId = UUID.fromString(raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new ValidationException("Cursor de paginação inválido.", e);
+        }
+        return query.apply(followedAt, lastId);
     }
 
     /**
-     * Converte a entidade {@link User} em {@link UserFollowDTO}, contendo apenas dados necessários para o frontend.
+     * Converte a projeção {@link FollowUserView} em {@link UserFollowDTO}, contendo apenas dados necessários
+     * para o frontend.
      *
-     * @param user Entidade do usuário.
+     * @param view Projeção do usuário.
      * @return DTO com dados de identificação e perfil.
      */
-    private UserFollowDTO toDTO(User user) {
+    private UserFollowDTO toDTO(FollowUserView view) {
         return new UserFollowDTO(
-                user.getId(),
-                user.getName(),
-                user.getUsername(),
-                user.getProfileLink()
+                view.getId(),
+                view.getName(),
+                view.getUsername(),
+                view.getProfileLink()
         );
     }
 }
@@ -0,0 +1,300 @@
+package com.felipe.teachgram_backend.service;
+
+import com.felipe.teachgram_backend.dto.user.FollowSuggestionDTO;
+import com.felipe.teachgram_backend.dto.user.UserFollowDTO;
+import com.felipe.teachgram_backend.repository.UserRepository;
+import com.felipe.teachgram_backend.security.SegmentedLruCache;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço de sugestões "pessoas que você talvez conheça".
+ * <p>
+ * Cada candidato recebe como pontuação o número de pessoas seguidas pelo usuário que
+ * também o seguem (amigos de amigos), percorrendo o {@link FollowGraphIndex} em memória.
+ * O percurso é dividido em um {@link ForkJoinPool} próprio; cada folha conta em seu próprio
+ * {@link IntIntCounter} primitivo e os contadores parciais são somados no join, então não há
+ * estado mutável compartilhado nem boxing no caminho quente.
+ * <p>
+ * Contas de celebridades dominariam o custo, então são expandidos no máximo
+ * {@value #MAX_SEEDS} follows do usuário e {@value #MAX_FANOUT_PER_SEED} follows de cada um
+ * deles. Acima desses limites {@link FollowGraphIndex#followingOf} amostra a lista inteira
+ * de forma espaçada, e contas novas têm a mesma chance de entrar que as antigas. O resultado
+ * fica em cache por usuário durante {@link #CACHE_TTL} em um LRU limitado
+ * ({@value #MAX_CACHED_USERS} usuários) e é descartado pelo {@link FollowService} sempre que
+ * o usuário segue ou deixa de seguir alguém.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Observed(name = "teachgram.follow.suggestions")
+public class FollowSuggestionService {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    static final int MAX_SEEDS = 2_000;
+    static final int MAX_FANOUT_PER_SEED = 500;
+    static final int SEEDS_PER_LEAF = 64;
+    static final Duration CACHE_TTL = Duration.ofMinutes(10);
+    static final int MAX_CACHED_USERS = 10_000;
+
+    private final FollowGraphIndex followGraphIndex;
+    private final UserRepository userRepository;
+
+    private final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    private final SegmentedLruCache<UUID, CachedSuggestions> cache = new SegmentedLruCache<>(MAX_CACHED_USERS);
+
+    /**
+     * Retorna até {@code limit} sugestões de usuários para {@code userId} seguir, ordenadas
+     * pelo número de conexões em comum.
+     *
+     * @param userId ID do usuário autenticado.
+     * @param limit  Quantidade máxima de sugestões (limitada a {@value #MAX_LIMIT}).
+     * @return Lista de {@link FollowSuggestionDTO}; vazia enquanto o grafo ainda está sendo carregado.
+     */
+    public List<FollowSuggestionDTO> getSuggestions(UUID userId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        CachedSuggestions cached = cache.get(userId);
+        if (cached != null && !cached.isExpired()) {
+            return cached.suggestions().stream().limit(pageSize).toList();
+        }
+
+        if (!followGraphIndex.isReady()) {
+            log.debug("Follow graph not loaded yet, no suggestions for user {}", userId);
+            return List.of();
+        }
+
+        List<FollowSuggestionDTO> suggestions = compute(userId);
+        cache.put(userId, new CachedSuggestions(suggestions, System.nanoTime() + CACHE_TTL.toNanos()));
+        return suggestions.stream().limit(pageSize).toList();
+    }
+
+    /**
+     * Descarta as sugestões em cache de {@code userId}.
+     */
+    public void invalidate(UUID userId) {
+        cache.remove(userId);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private List<FollowSuggestionDTO> compute(UUID userId) {
+        int self = followGraphIndex.indexOf(userId);
+        if (self < 0) {
+            return List.of();
+        }
+
+        int[] seeds = followGraphIndex.followingOf(self, MAX_SEEDS);
+        if (seeds.length == 0) {
+            return List.of();
+        }
+
+        IntIntCounter scores = pool.invoke(new ScoreTask(seeds, 0, seeds.length));
+        int[][] top = topCandidates(scores, self, MAX_LIMIT);
+        if (top.length == 0) {
+            return List.of();
+        }
+
+        List<UUID> ids = new ArrayList<>(top.length);
+        for (int[] candidate : top) {
+            ids.add(followGraphIndex.userIdOf(candidate[0]));
+        }
+        Map<UUID, UserFollowDTO> users = userRepository.findFollowDTOsByIdIn(ids).stream()
+                .collect(Collectors.toMap(UserFollowDTO::id, Function.identity()));
+
+        List<FollowSuggestionDTO> suggestions = new ArrayList<>(top.length);
+        for (int i = 0; i < top.length; i++) {
+            UserFollowDTO user = users.get(ids.get(i));
+            if (user != null) {
+                suggestions.add(new FollowSuggestionDTO(
+                        user.id(), user.name(), user.username(), user.profileLink(), top[i][1]));
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Escolhe os {@code k} candidatos de maior pontuação, pulando o próprio usuário e quem ele
+     * já segue. Empates são decididos pelo id denso, para que o resultado seja estável.
+     *
+     * @return pares {id denso, pontuação}, do melhor para o pior.
+     */
+    private int[][] topCandidates(IntIntCounter scores, int self, int k) {
+        Comparator<int[]> worstFirst = Comparator.<int[]>comparingInt(c -> c[1])
+                .thenComparing(c -> c[0], Comparator.reverseOrder());
+        PriorityQueue<int[]> heap = new PriorityQueue<>(k + 1, worstFirst);
+
+        scores.forEach((candidate, score) -> {
+            if (candidate == self || followGraphIndex.follows(self, candidate)) {
+                return;
+            }
+            if (heap.size() < k) {
+                heap.add(new int[]{candidate, score});
+            } else if (worstFirst.compare(new int[]{candidate, score}, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(new int[]{candidate, score});
+            }
+        });
+
+        int[][] result = new int[heap.size()][];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = heap.poll();
+        }
+        return result;
+    }
+
+    /**
+     * Conta os candidatos de segundo grau de um intervalo de sementes, dividindo-o até ficar
+     * pequeno o bastante para percorrer sequencialmente.
+     */
+    private final class ScoreTask extends RecursiveTask<IntIntCounter> {
+        private final int[] seeds;
+        private final int from;
+        private final int to;
+
+        private ScoreTask(int[] seeds, int from, int to) {
+            this.seeds = seeds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected IntIntCounter compute() {
+            if (to - from <= SEEDS_PER_LEAF) {
+                IntIntCounter counter = new IntIntCounter(256);
+                for (int i = from; i < to; i++) {
+                    for (int candidate : followGraphIndex.followingOf(seeds[i], MAX_FANOUT_PER_SEED)) {
+                        counter.increment(candidate);
+                    }
+                }
+                return counter;
+            }
+            int middle = (from + to) >>> 1;
+            ScoreTask left = new ScoreTask(seeds, from, middle);
+            left.fork();
+            IntIntCounter right = new ScoreTask(seeds, middle, to).compute();
+            IntIntCounter merged = left.join();
+            merged.addAll(right);
+            return merged;
+        }
+    }
+
+    private record CachedSuggestions(List<FollowSuggestionDTO> suggestions, long expiresAtNanos) {
+        private boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos > 0;
+        }
+    }
+
+    /**
+     * Contador {@code int -> int} com endereçamento aberto e sondagem linear. As chaves são ids
+     * densos de usuário, nunca negativos, então {@code -1} marca uma posição livre.
+     */
+    static final class IntIntCounter {
+        private static final int FREE = -1;
+
+        private int[] keys;
+        private int[] values;
+        private int size;
+
+        IntIntCounter(int expectedSize) {
+            int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+            keys = new int[capacity];
+            values = new int[capacity];
+            Arrays.fill(keys, FREE);
+        }
+
+        void increment(int key) {
+            add(key, 1);
+        }
+
+        void add(int key, int delta) {
+            int mask = keys.length - 1;
+            int slot = mix(key) & mask;
+            while (keys[slot] != FREE) {
+                if (keys[slot] == key) {
+                    values[slot] += delta;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = delta;
+            if (++size * 2 > keys.length) {
+                resize();
+            }
+        }
+
+        int get(int key) {
+            int mask = keys.length - 1;
+            int slot = mix(key) & mask;
+            while (keys[slot] != FREE) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void addAll(IntIntCounter other) {
+            other.forEach(this::add);
+        }
+
+        void forEach(Entry consumer) {
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != FREE) {
+                    consumer.accept(keys[slot], values[slot]);
+                }
+            }
+        }
+
+        private void resize() {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = new int[oldValues.length * 2];
+            Arrays.fill(keys, FREE);
+            size = 0;
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldKeys[slot] != FREE) {
+                    add(oldKeys[slot], oldValues[slot]);
+                }
+            }
+        }
+
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+
+        @FunctionalInterface
+        interface Entry {
+            void accept(int key, int value);
+        }
+    }
+}
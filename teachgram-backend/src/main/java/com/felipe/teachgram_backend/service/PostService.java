@@ -9,7 +9,11 @@ import com.felipe.teachgram_backend.entity.Post;
 import com.felipe.teachgram_backend.entity.User;
 import com.felipe.teachgram_backend.exception.ResourceNotFoundException;
 import com.felipe.teachgram_backend.exception.ValidationException;
+import com.felipe.teachgram_backend.observability.FeedBuildEvent;
+import com.felipe.teachgram_backend.observability.LikeFlushEvent;
 import com.felipe.teachgram_backend.repository.PostRepository;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -29,6 +33,7 @@ import java.util.stream.Collectors;
  */
 @Service
 @RequiredArgsConstructor
+@Observed(name = "teachgram.posts")
 public class PostService {
 
     private final PostRepository postRepository;
@@ -75,11 +80,20 @@ public class PostService {
      */
 
     public Page<PostResponseDTO> getAllPosts(Pageable pageable) {
+        FeedBuildEvent event = new FeedBuildEvent();
+        event.begin();
         Page<Post> postsPage = postRepository.findByPrivatePostFalse(pageable);
         List<PostResponseDTO> postResponseDTOs = postsPage.getContent().stream()
                 // Antes: .map(this::mapToPostResponseDTO)
                 .map(postMapper::toDto)
                 .collect(Collectors.toList());
+        if (event.shouldCommit()) {
+            event.page = pageable.isPaged() ? pageable.getPageNumber() : 0;
+            event.pageSize = pageable.isPaged() ? pageable.getPageSize() : postResponseDTOs.size();
+            event.posts = postResponseDTOs.size();
+            event.totalPosts = postsPage.getTotalElements();
+            event.commit();
+        }
         return new PageImpl<>(postResponseDTOs, pageable, postsPage.getTotalElements());
     }
 
@@ -104,15 +118,15 @@ public class PostService {
      * Retrieves a single post by ID, enforcing access control for private posts.
      *
      * @param id The ID of the post to retrieve.
-     * @param currentUser The authenticated user.
+     * @param currentUserId ID of the authenticated user.
      * @return {@link PostResponseDTO} of the post.
      * @throws ResourceNotFoundException if the post is not found.
      * @throws ValidationException if the post is private and the current user is not the owner.
      */
-    public PostResponseDTO getPostById(Long id, User currentUser) {
+    public PostResponseDTO getPostById(Long id, UUID currentUserId) {
         Post post = findPostEntityById(id);
 
-        if (post.getPrivatePost() && !post.getUser().getId().equals(currentUser.getId())) {
+        if (post.getPrivatePost() && !post.getUser().getId().equals(currentUserId)) {
             throw new ValidationException("Access denied. This post is private and only visible to the owner.");
         }
 
@@ -184,10 +198,16 @@ public class PostService {
      * @throws ResourceNotFoundException if the post is not found.
      */
     @Transactional
+    @Counted(value = "teachgram.posts.likes", description = "Curtidas registradas")
     public PostResponseDTO likePost(Long postId) {
+        LikeFlushEvent event = new LikeFlushEvent();
+        event.begin();
         Post post = findPostEntityById(postId);
         post.setLikesCount(post.getLikesCount() + 1);
         Post updatedPost = postRepository.save(post);
+        event.postId = postId;
+        event.likesCount = updatedPost.getLikesCount();
+        event.commitAfterTransaction();
         return mapToPostResponseDTO(updatedPost);
     }
 
@@ -240,6 +260,28 @@ public class PostService {
         return new PageImpl<>(postResponseDTOs, pageable, postsPage.getTotalElements());
     }
 
+    /**
+     * Retrieves one page of a user's profile grid without loading the owner first.
+     * The author is fetched in the same query, so the page can be mapped outside
+     * of a transaction (e.g. from a forked subtask of the profile summary).
+     *
+     * @param userId The ID of the profile owner.
+     * @param includePrivate Whether private posts are visible to the caller (only the owner).
+     * @param pageable Pagination and sorting information.
+     * @return A {@link Page} of {@link PostResponseDTO} for the profile grid.
+     */
+    public Page<PostResponseDTO> getProfileGrid(UUID userId, boolean includePrivate, Pageable pageable) {
+        Page<Post> postsPage = includePrivate
+                ? postRepository.findByUser_Id(userId, pageable)
+                : postRepository.findByUser_IdAndPrivatePostFalse(userId, pageable);
+
+        List<PostResponseDTO> postResponseDTOs = postsPage.getContent().stream()
+                .map(this::mapToPostResponseDTO)
+                .collect(Collectors.toList());
+
+        return new PageImpl<>(postResponseDTOs, pageable, postsPage.getTotalElements());
+    }
+
     /**
      * Retrieves all posts (public and private) created by a specific user.
      *
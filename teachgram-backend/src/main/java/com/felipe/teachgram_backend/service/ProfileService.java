@@ -0,0 +1,132 @@
+package com.felipe.teachgram_backend.service;
+
+import com.felipe.teachgram_backend.config.ProfileProperties;
+import com.felipe.teachgram_backend.dto.post.PostResponseDTO;
+import com.felipe.teachgram_backend.dto.user.FollowStatusDTO;
+import com.felipe.teachgram_backend.dto.user.ProfileSummaryDTO;
+import com.felipe.teachgram_backend.dto.user.UserResponseDTO;
+import com.felipe.teachgram_backend.exception.ResourceNotFoundException;
+import com.felipe.teachgram_backend.repository.FollowRepository;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.StructuredTaskScope.Subtask;
+
+/**
+ * Serviço que monta tudo o que a página de perfil precisa em uma única ida ao servidor:
+ * o usuário, os contadores de follow, a relação com quem consulta e a primeira página
+ * da grade de posts.
+ * <p>
+ * As consultas não dependem umas das outras, então rodam em paralelo dentro de um
+ * {@link StructuredTaskScope}; a primeira falha (por exemplo, usuário inexistente)
+ * cancela as demais subtarefas e é relançada como veio.
+ * <p>
+ * Os contadores de seguidores e seguidos são duas consultas {@code COUNT}, e não leituras
+ * do {@link FollowGraphIndex}: o índice só vê as escritas deste nó e ignora exclusões
+ * lógicas, então não é exato o bastante para números exibidos no perfil.
+ * <p>
+ * Cada subtarefa pega a própria conexão do pool, e um resumo poderia segurar cinco
+ * conexões ao mesmo tempo. Por isso elas tomam uma permissão de um semáforo do nó
+ * ({@link ProfileProperties#getMaxConcurrentQueries()}) antes de consultar: visualizações
+ * de perfil simultâneas esperam nele em vez de esgotar o pool do Hikari para todo o resto.
+ * <p>
+ * As subtarefas rodam em threads próprias, então cada uma leva também um snapshot do
+ * contexto da requisição (trace, MDC e a contagem de comandos SQL) para a sua thread.
+ */
+@Service
+@Observed(name = "teachgram.profiles")
+public class ProfileService {
+
+    private final UserService userService;
+    private final PostService postService;
+    private final FollowService followService;
+    private final FollowRepository followRepository;
+    private final Semaphore queryPermits;
+    private final ContextSnapshotFactory snapshots = ContextSnapshotFactory.builder().build();
+
+    public ProfileService(UserService userService, PostService postService, FollowService followService,
+                          FollowRepository followRepository, ProfileProperties properties) {
+        this.userService = userService;
+        this.postService = postService;
+        this.followService = followService;
+        this.followRepository = followRepository;
+        this.queryPermits = new Semaphore(Math.max(1, properties.getMaxConcurrentQueries()));
+    }
+
+    /**
+     * Monta o resumo do perfil de {@code userId} como visto por {@code callerId}.
+     *
+     * @param userId   ID do dono do perfil.
+     * @param callerId ID do usuário autenticado.
+     * @param pageable Paginação da primeira página da grade.
+     * @return {@link ProfileSummaryDTO} com usuário, contadores, relação e posts. O contador de
+     * posts é o total da grade que quem consulta vê: os posts privados do dono só contam no
+     * próprio perfil, então o número sempre bate com o que dá para rolar.
+     * @throws ResourceNotFoundException se o usuário não for encontrado.
+     */
+    public ProfileSummaryDTO getProfileSummary(UUID userId, UUID callerId, Pageable pageable) {
+        boolean ownProfile = userId.equals(callerId);
+
+        try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
+            Subtask<UserResponseDTO> user = scope.fork(limited(() -> userService.getUserById(userId)));
+            Subtask<Long> followersCount = scope.fork(limited(() -> followRepository.countByFollowing_Id(userId)));
+            Subtask<Long> followingCount = scope.fork(limited(() -> followRepository.countByFollower_Id(userId)));
+            Subtask<FollowStatusDTO> relation = scope.fork(ownProfile
+                    ? () -> new FollowStatusDTO(userId, false, false, false)
+                    : limited(() -> followService.getFollowStatus(callerId, userId)));
+            Subtask<Page<PostResponseDTO>> posts = scope.fork(limited(() ->
+                    postService.getProfileGrid(userId, ownProfile, pageable)));
+
+            scope.join().throwIfFailed(ProfileService::propagate);
+
+            return new ProfileSummaryDTO(
+                    user.get(),
+                    posts.get().getTotalElements(),
+                    followersCount.get(),
+                    followingCount.get(),
+                    relation.get().following(),
+                    relation.get().followedBy(),
+                    posts.get()
+            );
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Profile summary interrupted for user: " + userId, e);
+        }
+    }
+
+    /**
+     * Executa {@code query} segurando uma das permissões de consulta do nó, no contexto
+     * capturado aqui, na thread da requisição. A espera é interrompível, então uma subtarefa
+     * ainda na fila quando outra falha é cancelada junto com o escopo.
+     */
+    private <T> Callable<T> limited(Callable<T> query) {
+        ContextSnapshot context = snapshots.captureAll();
+        return context.wrap(() -> {
+            queryPermits.acquire();
+            try {
+                return query.call();
+            } finally {
+                queryPermits.release();
+            }
+        });
+    }
+
+    /**
+     * Relança a falha de uma subtarefa sem alterá-la, para que os handlers de exceção de
+     * sempre (404 para {@link ResourceNotFoundException} etc.) continuem valendo.
+     */
+    private static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new IllegalStateException(cause);
+    }
+}
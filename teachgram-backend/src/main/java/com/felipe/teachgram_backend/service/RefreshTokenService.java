@@ -0,0 +1,137 @@
+package com.felipe.teachgram_backend.service;
+
+import com.felipe.teachgram_backend.constants.AuthErrorMessages;
+import com.felipe.teachgram_backend.entity.RefreshToken;
+import com.felipe.teachgram_backend.entity.User;
+import com.felipe.teachgram_backend.exception.ValidationException;
+import com.felipe.teachgram_backend.repository.RefreshTokenRepository;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Emissão e rotação de refresh tokens.
+ * <p>
+ * Um refresh token são 256 bits aleatórios entregues ao cliente uma única vez; só o SHA-256
+ * é gravado, então conferir um token é uma busca em índice único e nunca uma comparação
+ * BCrypt. Cada refresh consome o token apresentado e emite o próximo da mesma família. Um
+ * token apresentado pela segunda vez vazou (ou o cliente concorreu consigo mesmo), então a
+ * família inteira é revogada e o usuário precisa entrar de novo.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Observed(name = "teachgram.refresh.tokens")
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${application.security.jwt.refresh-expiration-days:14}")
+    private long refreshExpirationDays;
+
+    /**
+     * Abre uma nova família de refresh tokens para {@code user} (um login).
+     *
+     * @return o token em texto, a ser entregue ao cliente.
+     */
+    @Transactional
+    public String issue(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.deleteExpiredByUserId(user.getId(), now);
+        return create(user, UUID.randomUUID(), now);
+    }
+
+    /**
+     * Consome {@code rawToken} e emite o próximo token da mesma família.
+     * <p>
+     * Roda com {@code noRollbackFor} para que a revogação da família feita no reuso seja
+     * mantida mesmo com a chamada falhando.
+     *
+     * @throws ValidationException se o token é desconhecido, expirado, revogado ou já usado.
+     */
+    @Transactional(noRollbackFor = ValidationException.class)
+    public Rotation rotate(String rawToken) {
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken current = refreshTokenRepository.findWithUserByTokenHash(hash(rawToken))
+                .orElseThrow(RefreshTokenService::invalidToken);
+
+        if (current.getRevokedAt() != null) {
+            throw invalidToken();
+        }
+        if (current.getUsedAt() != null || refreshTokenRepository.markUsed(current.getId(), now) == 0) {
+            log.warn("Refresh token reuse detected for user {}, revoking family {}",
+                    current.getUser().getId(), current.getFamilyId());
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            throw invalidToken();
+        }
+
+        User user = current.getUser();
+        boolean userActive = !Boolean.TRUE.equals(user.getDeleted()) && user.isAccountNonLocked()
+                && current.getTokenVersion() == user.getTokenVersion();
+        if (current.isExpired(now) || !userActive) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            throw invalidToken();
+        }
+
+        return new Rotation(user, create(user, current.getFamilyId(), now));
+    }
+
+    /**
+     * Revoga a família de {@code rawToken} (logout). Tokens desconhecidos são ignorados.
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    private String create(User user, UUID familyId, LocalDateTime now) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken();
+        token.setUser(user);
+        token.setFamilyId(familyId);
+        token.setTokenHash(hash(rawToken));
+        token.setTokenVersion(user.getTokenVersion());
+        token.setCreatedAt(now);
+        token.setExpiresAt(now.plusDays(refreshExpirationDays));
+        refreshTokenRepository.save(token);
+        return rawToken;
+    }
+
+    static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static ValidationException invalidToken() {
+        return new ValidationException(AuthErrorMessages.INVALID_REFRESH_TOKEN.getMessage());
+    }
+
+    /**
+     * Resultado de uma rotação: o dono do token e o novo refresh token em texto.
+     */
+    public record Rotation(User user, String refreshToken) {
+    }
+}
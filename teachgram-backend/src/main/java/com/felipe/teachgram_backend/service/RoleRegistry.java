@@ -0,0 +1,53 @@
+package com.felipe.teachgram_backend.service;
+
+import com.felipe.teachgram_backend.constants.UserRole;
+import com.felipe.teachgram_backend.entity.Role;
+import com.felipe.teachgram_backend.repository.RoleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cópia em memória da tabela {@code roles}, indexada pelo nome.
+ * <p>
+ * As roles são poucas linhas que só mudam por migrations ou pelo {@code RoleInitializer},
+ * então são carregadas quando a aplicação fica pronta (depois do initializer) e todo cadastro
+ * ou troca de role as lê daqui em vez de emitir um {@code findByName}. Um nome que ainda não
+ * está em cache é buscado no repositório e guardado se existir.
+ * <p>
+ * As instâncias de {@link Role} em cache são detached e compartilhadas; quem as usa só as
+ * associa a outras entidades e não deve alterá-las.
+ */
+@Slf4j
+@Component
+public class RoleRegistry {
+
+    private final RoleRepository roleRepository;
+    private final Map<String, Role> rolesByName = new ConcurrentHashMap<>();
+
+    public RoleRegistry(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        roleRepository.findAll().forEach(role -> rolesByName.put(role.getName(), role));
+        log.info("Role registry loaded: {}", rolesByName.keySet());
+    }
+
+    public Optional<Role> find(UserRole userRole) {
+        String name = userRole.getRoleName();
+        Role cached = rolesByName.get(name);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<Role> loaded = roleRepository.findByName(name);
+        loaded.ifPresent(role -> rolesByName.put(name, role));
+        return loaded;
+    }
+}
@@ -7,12 +7,16 @@ import com.felipe.teachgram_backend.entity.User;
 import com.felipe.teachgram_backend.exception.ResourceNotFoundException;
 import com.felipe.teachgram_backend.exception.ValidationException;
 import com.felipe.teachgram_backend.mapper.UserMapper;
-import com.felipe.teachgram_backend.repository.RoleRepository;
+import com.felipe.teachgram_backend.repository.UserIdentityView;
 import com.felipe.teachgram_backend.repository.UserRepository;
+import com.felipe.teachgram_backend.security.UserStatusCache;
 import com.felipe.teachgram_backend.constants.UserRole;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -28,14 +32,16 @@ import java.util.stream.Collectors;
  */
 @Service
 @RequiredArgsConstructor
+@Observed(name = "teachgram.users")
 public class UserService {
 
     @Autowired
     public final UserRepository userRepository;
 
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
+    private final UserStatusCache userStatusCache;
 
     /**
      * Creates a new user with the default {@code ROLE_USER} role.
@@ -46,16 +52,33 @@ public class UserService {
      */
     @Transactional
     public UserResponseDTO createUser(UserRequestDTO userRequestDTO) {
-        if (userRepository.existsByUsername(userRequestDTO.getUsername())) {
-            throw new ValidationException("Username '" + userRequestDTO.getUsername() + "' already in use.");
-        }
-        if (userRepository.existsByEmail(userRequestDTO.getEmail())) {
-            throw new ValidationException("Email '" + userRequestDTO.getEmail() + "' already in use.");
-        }
-        if (userRequestDTO.getPhone() != null && userRepository.existsByPhone(userRequestDTO.getPhone())) {
-            throw new ValidationException("Phone '" + userRequestDTO.getPhone() + "' already in use.");
+        return mapToUserResponseDTO(registerUser(userRequestDTO));
+    }
+
+    /**
+     * Inserts a new user with the default {@code ROLE_USER} role and returns the managed entity,
+     * so signup can issue its tokens without authenticating (and hashing) the password again.
+     * <p>
+     * Uniqueness is checked with one query; a concurrent signup that slips past it is caught by
+     * the unique constraints on {@code username}/{@code email} and reported the same way.
+     *
+     * @param userRequestDTO DTO containing the new user's data.
+     * @return the saved {@link User}.
+     * @throws ValidationException       if username, email, or phone already exist.
+     * @throws ResourceNotFoundException if {@code ROLE_USER} is not found in the database.
+     */
+    @Transactional
+    public User registerUser(UserRequestDTO userRequestDTO) {
+        List<UserIdentityView> conflicts = userRepository.findIdentityConflicts(
+                userRequestDTO.getUsername(), userRequestDTO.getEmail(), userRequestDTO.getPhone());
+        if (!conflicts.isEmpty()) {
+            throw identityConflict(userRequestDTO, conflicts);
         }
 
+        Role userRole = roleRegistry.find(UserRole.USER)
+                .orElseThrow(() -> new ResourceNotFoundException("Error: 'ROLE_USER' not found. Please ensure " +
+                        " roles are populated."));
+
         User user = new User();
         user.setName(userRequestDTO.getName());
         user.setUsername(userRequestDTO.getUsername());
@@ -64,29 +87,60 @@ public class UserService {
         user.setDescription(userRequestDTO.getDescription());
         user.setProfileLink(userRequestDTO.getProfileLink());
         user.setPassword(passwordEncoder.encode(userRequestDTO.getPassword()));
-
-        Role userRole = roleRepository.findByName(UserRole.USER.getRoleName())
-                .orElseThrow(() -> new ResourceNotFoundException("Error: 'ROLE_USER' not found. Please ensure " +
-                        " roles are populated."));
-
         user.setRoles(new HashSet<>(List.of(userRole)));
 
-        User savedUser = userRepository.save(user);
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw uniqueViolation(userRequestDTO, e);
+        }
+    }
 
-        return mapToUserResponseDTO(savedUser);
+    private static ValidationException identityConflict(UserRequestDTO dto, List<UserIdentityView> conflicts) {
+        for (UserIdentityView conflict : conflicts) {
+            if (dto.getUsername().equals(conflict.getUsername())) {
+                return new ValidationException("Username '" + dto.getUsername() + "' already in use.");
+            }
+        }
+        for (UserIdentityView conflict : conflicts) {
+            if (dto.getEmail().equals(conflict.getEmail())) {
+                return new ValidationException("Email '" + dto.getEmail() + "' already in use.");
+            }
+        }
+        return new ValidationException("Phone '" + dto.getPhone() + "' already in use.");
     }
 
-    public void processFailedLogin(String username) {
-        userRepository.findByUsername(username).ifPresent(user -> {
-            user.incrementFailedLoginAttempts();
-            userRepository.save(user);
-        });
+    /**
+     * Translates a unique-constraint violation on insert into the same message the pre-check gives.
+     */
+    private static RuntimeException uniqueViolation(UserRequestDTO dto, DataIntegrityViolationException e) {
+        String constraint = null;
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                constraint = violation.getConstraintName();
+                break;
+            }
+        }
+        if (constraint != null) {
+            String name = constraint.toLowerCase(Locale.ROOT);
+            if (name.contains("username")) {
+                return new ValidationException("Username '" + dto.getUsername() + "' already in use.");
+            }
+            if (name.contains("email")) {
+                return new ValidationException("Email '" + dto.getEmail() + "' already in use.");
+            }
+            if (name.contains("phone")) {
+                return new ValidationException("Phone '" + dto.getPhone() + "' already in use.");
+            }
+        }
+        return e;
     }
 
     public void processSuccessfulLogin(String username) {
         userRepository.findByUsername(username).ifPresent(user -> {
             user.resetFailedLoginAttempts();
             userRepository.save(user);
+            userStatusCache.evict(user.getId());
         });
     }
 
@@ -166,6 +220,8 @@ public class UserService {
         // Update password only if a new one is provided and not empty
         if (userRequestDTO.getPassword() != null && !userRequestDTO.getPassword().isEmpty()) {
             existingUser.setPassword(passwordEncoder.encode(userRequestDTO.getPassword()));
+            existingUser.revokeTokens();
+            userStatusCache.evict(id);
         }
 
         User updatedUser = userRepository.save(existingUser);
@@ -182,6 +238,7 @@ public class UserService {
     public void deleteUser(UUID id) {
         User userToDelete = findUserEntityById(id); // Use helper to find entity
         userRepository.delete(userToDelete);
+        userStatusCache.evict(id);
     }
 
     /**
@@ -196,11 +253,13 @@ public class UserService {
     public UserResponseDTO assignRoleToUser(UUID userId, UserRole roleEnum) {
         User user = findUserEntityById(userId); // Use helper to find entity
 
-        Role role = roleRepository.findByName(roleEnum.getRoleName())
+        Role role = roleRegistry.find(roleEnum)
                 .orElseThrow(() -> new ResourceNotFoundException("Role '" + roleEnum.getRoleName() + "' not found."));
 
         user.getRoles().add(role);
+        user.revokeTokens(); // os papéis viajam no token
         User updatedUser = userRepository.save(user);
+        userStatusCache.evict(userId);
 
         return mapToUserResponseDTO(updatedUser);
     }
@@ -217,11 +276,13 @@ public class UserService {
     public UserResponseDTO removeRoleFromUser(UUID userId, UserRole roleEnum) {
         User user = findUserEntityById(userId); // Use helper to find entity
 
-        Role roleToRemove = roleRepository.findByName(roleEnum.getRoleName())
+        Role roleToRemove = roleRegistry.find(roleEnum)
                 .orElseThrow(() -> new ResourceNotFoundException("Role '" + roleEnum.getRoleName() + "' not found."));
 
         user.getRoles().remove(roleToRemove);
+        user.revokeTokens(); // os papéis viajam no token
         User updatedUser = userRepository.save(user);
+        userStatusCache.evict(userId);
 
         return mapToUserResponseDTO(updatedUser);
     }
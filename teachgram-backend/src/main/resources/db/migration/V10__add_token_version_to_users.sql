@@ -0,0 +1,4 @@
+-- Versão dos tokens do usuário, gravada no claim "tv" do JWT.
+-- Incrementar a coluna invalida todos os tokens já emitidos (troca de senha, papéis, etc.).
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,21 @@
+-- Refresh tokens opacos. Só o SHA-256 do token é gravado; o valor original fica apenas com o cliente.
+-- Cada login abre uma família (family_id); cada /api/auth/refresh consome o token atual (used_at)
+-- e emite o próximo na mesma família. Reapresentar um token já consumido revoga a família inteira.
+
+CREATE TABLE refresh_tokens (
+                                id UUID PRIMARY KEY DEFAULT uuid_generate_v7(),
+                                user_id UUID NOT NULL,
+                                family_id UUID NOT NULL,
+                                token_hash VARCHAR(64) NOT NULL,
+                                token_version BIGINT NOT NULL,
+                                created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                expires_at TIMESTAMP NOT NULL,
+                                used_at TIMESTAMP,
+                                revoked_at TIMESTAMP,
+
+                                CONSTRAINT fk_refresh_token_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+                                CONSTRAINT uc_refresh_token_hash UNIQUE (token_hash)
+);
+
+CREATE INDEX idx_refresh_tokens_family ON refresh_tokens (family_id);
+CREATE INDEX idx_refresh_tokens_user_expires ON refresh_tokens (user_id, expires_at);
@@ -0,0 +1,12 @@
+-- Chaves de assinatura geradas pela rotação (/api/admin/keys/rotate), compartilhadas entre os nós.
+-- A chave RS256 configurada (app.key) não entra aqui. key_material é o JWK privado cifrado com
+-- AES-GCM sob uma chave derivada de app.key, então um dump do banco sozinho não permite assinar tokens.
+-- retired_until NULL = chave ativa; depois da rotação a chave só verifica até retired_until.
+
+CREATE TABLE jwt_signing_keys (
+                                  kid VARCHAR(64) PRIMARY KEY,
+                                  algorithm VARCHAR(16) NOT NULL,
+                                  key_material TEXT NOT NULL,
+                                  created_at TIMESTAMP NOT NULL,
+                                  retired_until TIMESTAMP
+);
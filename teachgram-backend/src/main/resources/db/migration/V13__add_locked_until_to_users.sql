@@ -0,0 +1,4 @@
+-- Fim do bloqueio por tentativas de login. Com o prazo vencido a conta volta a entrar sozinha;
+-- NULL com account_non_locked = false continua sendo um bloqueio sem prazo (manual).
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS locked_until TIMESTAMP;
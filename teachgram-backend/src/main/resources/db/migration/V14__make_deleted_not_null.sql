@@ -0,0 +1,9 @@
+-- As consultas filtram por deleted = false; uma linha com deleted nulo sumiria delas sem ter sido apagada.
+
+UPDATE users SET deleted = false WHERE deleted IS NULL;
+UPDATE posts SET deleted = false WHERE deleted IS NULL;
+
+ALTER TABLE users ALTER COLUMN deleted SET DEFAULT false;
+ALTER TABLE users ALTER COLUMN deleted SET NOT NULL;
+ALTER TABLE posts ALTER COLUMN deleted SET DEFAULT false;
+ALTER TABLE posts ALTER COLUMN deleted SET NOT NULL;
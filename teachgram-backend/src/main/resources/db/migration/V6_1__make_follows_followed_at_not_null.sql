@@ -0,0 +1,5 @@
+-- A paginação por keyset compara (followed_at, id); uma linha sem data sairia da ordem.
+
+UPDATE follows SET followed_at = CURRENT_TIMESTAMP WHERE followed_at IS NULL;
+
+ALTER TABLE follows ALTER COLUMN followed_at SET NOT NULL;
@@ -0,0 +1,13 @@
+-- Índices para paginação por keyset das listas de seguidores e seguindo.
+-- A ordem (followed_at DESC, id do outro lado DESC) é a mesma usada pelas consultas,
+-- então cada página é uma leitura sequencial do índice sem ordenação extra.
+--
+-- Criados com CONCURRENTLY, sem bloquear escritas em follows; por isso esta migration
+-- contém só esses comandos (o Flyway a executa fora de transação). O NOT NULL de
+-- followed_at fica na V6_1.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_follows_following_keyset
+    ON follows (following_id, followed_at DESC, follower_id DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_follows_follower_keyset
+    ON follows (follower_id, followed_at DESC, following_id DESC);
@@ -0,0 +1,24 @@
+-- UUIDv7 (RFC 9562) para as chaves de users e follows.
+-- Os 48 bits mais altos são o timestamp em milissegundos, então novas chaves entram
+-- sempre no fim do índice da PK em vez de em uma página aleatória (como no v4).
+-- A aplicação já gera v7 (@UuidV7); o default cobre inserts feitos direto no banco,
+-- como o INSERT ... ON CONFLICT do follow em lote. Linhas antigas mantêm o id v4.
+-- No PostgreSQL 18+ esta função pode ser trocada pela nativa uuidv7().
+
+CREATE OR REPLACE FUNCTION uuid_generate_v7() RETURNS uuid AS $$
+DECLARE
+    uuid_bytes bytea;
+BEGIN
+    uuid_bytes := uuid_send(uuid_generate_v4());
+    uuid_bytes := overlay(uuid_bytes
+        PLACING substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+        FROM 1 FOR 6);
+    -- versão 7 no nibble alto do byte 6; a variante (10xx) já vem do v4
+    uuid_bytes := set_byte(uuid_bytes, 6, (b'0111' || get_byte(uuid_bytes, 6)::bit(4))::bit(8)::int);
+    RETURN encode(uuid_bytes, 'hex')::uuid;
+END
+$$ LANGUAGE plpgsql VOLATILE;
+
+ALTER TABLE users ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+
+ALTER TABLE follows ALTER COLUMN id SET DEFAULT uuid_generate_v7();
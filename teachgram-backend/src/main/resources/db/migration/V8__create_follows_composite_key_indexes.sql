@@ -0,0 +1,10 @@
+-- Primeira etapa da troca da PK de follows de (id) para (follower_id, following_id).
+-- O índice é criado com CONCURRENTLY, sem bloquear escritas na tabela; por isso esta
+-- migration contém só esse comando (o Flyway a executa fora de transação).
+--
+-- follows_pair_key vira a nova PK na V9. O caminho inverso (quem segue X?) não ganha
+-- índice próprio: idx_follows_following_keyset (V6) já começa por following_id, e a
+-- existência "X segue Y?" em qualquer direção é uma busca pela própria PK.
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS follows_pair_key
+    ON follows (follower_id, following_id);
@@ -0,0 +1,20 @@
+-- Segunda etapa: promove follows_pair_key (criado na V8) a PK e remove o id substituto.
+-- Nenhum índice é construído aqui: ADD PRIMARY KEY USING INDEX só reaproveita o índice
+-- existente, então o lock exclusivo dura apenas a troca de catálogo.
+
+ALTER TABLE follows DROP CONSTRAINT follows_pkey;
+
+ALTER TABLE follows ADD CONSTRAINT follows_pkey PRIMARY KEY USING INDEX follows_pair_key;
+
+-- Coberto pela nova PK.
+ALTER TABLE follows DROP CONSTRAINT uc_follow_pair;
+
+ALTER TABLE follows DROP COLUMN id;
+
+-- Index-only scans dependem do visibility map; em uma tabela quase só de inserts o
+-- autovacuum padrão (20% de linhas novas) demora a rodar e as leituras voltam ao heap.
+ALTER TABLE follows SET (
+    autovacuum_vacuum_insert_scale_factor = 0.02,
+    autovacuum_vacuum_scale_factor = 0.02,
+    autovacuum_analyze_scale_factor = 0.02
+);
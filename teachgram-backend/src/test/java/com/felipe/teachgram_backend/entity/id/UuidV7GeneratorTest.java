@@ -0,0 +1,58 @@
+package com.felipe.teachgram_backend.entity.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void next_setsVersionVariantAndTimestamp() {
+        // Arrange
+        long now = System.currentTimeMillis();
+
+        // Act
+        UUID uuid = UuidV7Generator.next(now);
+
+        // Assert
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(uuid.getMostSignificantBits() >>> 16).isGreaterThanOrEqualTo(now);
+    }
+
+    @Test
+    void next_isStrictlyIncreasingWithinTheSameMillisecond() {
+        // Arrange
+        long now = System.currentTimeMillis() + 60_000;
+        List<UUID> ids = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(UuidV7Generator.next(now));
+        }
+
+        // Assert
+        for (int i = 1; i < ids.size(); i++) {
+            assertThat(Long.compareUnsigned(
+                    ids.get(i).getMostSignificantBits(), ids.get(i - 1).getMostSignificantBits()))
+                    .isPositive();
+        }
+    }
+
+    @Test
+    void next_clockMovingBackwards_neverGoesBackwards() {
+        // Arrange
+        UUID later = UuidV7Generator.next(System.currentTimeMillis() + 120_000);
+
+        // Act
+        UUID earlier = UuidV7Generator.next(System.currentTimeMillis());
+
+        // Assert
+        assertThat(Long.compareUnsigned(earlier.getMostSignificantBits(), later.getMostSignificantBits()))
+                .isPositive();
+    }
+}
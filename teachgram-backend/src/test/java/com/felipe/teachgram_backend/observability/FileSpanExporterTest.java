@@ -0,0 +1,59 @@
+package com.felipe.teachgram_backend.observability;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileSpanExporterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void export_writesOneJsonLinePerSpanWithParentLink() throws Exception {
+        // Arrange
+        Path file = dir.resolve("traces/spans.jsonl");
+        FileSpanExporter exporter = new FileSpanExporter(file, objectMapper);
+        SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                .build();
+        Tracer tracer = tracerProvider.get("test");
+
+        // Act
+        Span parent = tracer.spanBuilder("http get /api/posts").startSpan();
+        try (Scope scope = parent.makeCurrent()) {
+            tracer.spanBuilder("PostRepository#findAll").setAttribute("repository", "PostRepository")
+                    .startSpan().end();
+        } finally {
+            parent.end();
+        }
+        tracerProvider.shutdown().join(5, TimeUnit.SECONDS);
+
+        // Assert
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(2);
+        JsonNode child = objectMapper.readTree(lines.get(0));
+        JsonNode root = objectMapper.readTree(lines.get(1));
+        assertThat(child.get("name").asText()).isEqualTo("PostRepository#findAll");
+        assertThat(child.get("traceId").asText()).isEqualTo(root.get("traceId").asText());
+        assertThat(child.get("parentSpanId").asText()).isEqualTo(root.get("spanId").asText());
+        assertThat(child.get("attributes").get("repository").asText()).isEqualTo("PostRepository");
+        assertThat(root.has("parentSpanId")).isFalse();
+        assertThat(root.get("durationMicros").asLong()).isNotNegative();
+    }
+}
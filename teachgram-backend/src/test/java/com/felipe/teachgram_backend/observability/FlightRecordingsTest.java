@@ -0,0 +1,122 @@
+package com.felipe.teachgram_backend.observability;
+
+import com.felipe.teachgram_backend.config.ProfilingProperties;
+import com.felipe.teachgram_backend.exception.ResourceNotFoundException;
+import com.felipe.teachgram_backend.exception.ValidationException;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FlightRecordingsTest {
+
+    @TempDir
+    Path dir;
+
+    private ProfilingProperties properties;
+    private FlightRecordings flightRecordings;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ProfilingProperties();
+        properties.setDirectory(dir.toString());
+        properties.setDefaultSettings("default");
+        properties.setMaxDuration(Duration.ofMinutes(10));
+        flightRecordings = new FlightRecordings(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        flightRecordings.list().stream()
+                .filter(FlightRecordings.Info::startedByApi)
+                .forEach(info -> flightRecordings.delete(info.id()));
+    }
+
+    @Test
+    void start_thenDump_containsDomainEvents() throws Exception {
+        // Arrange
+        FlightRecordings.Info started = flightRecordings.start(null, 5);
+        FeedBuildEvent event = new FeedBuildEvent();
+        event.begin();
+        event.page = 2;
+        event.posts = 10;
+        event.commit();
+
+        // Act
+        Path file = flightRecordings.dump(started.id());
+
+        // Assert
+        assertThat(started.state()).isEqualTo("RUNNING");
+        assertThat(started.duration()).isEqualTo(Duration.ofMinutes(5));
+        assertThat(file.getParent()).isEqualTo(dir);
+        List<RecordedEvent> feedEvents = RecordingFile.readAllEvents(file).stream()
+                .filter(recorded -> recorded.getEventType().getName().equals("teachgram.FeedBuild"))
+                .toList();
+        assertThat(feedEvents).singleElement()
+                .satisfies(recorded -> assertThat(recorded.getInt("page")).isEqualTo(2));
+    }
+
+    @Test
+    void start_whileAnotherIsRunning_isRejected() {
+        // Arrange
+        flightRecordings.start("default", 5);
+
+        // Act & Assert
+        assertThatThrownBy(() -> flightRecordings.start("default", 5)).isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void start_invalidSettingsOrDuration_isRejected() {
+        // Act & Assert
+        assertThatThrownBy(() -> flightRecordings.start("../../etc/passwd", 5)).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> flightRecordings.start("default", 0)).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> flightRecordings.start("default", 11)).isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void stop_keepsDataUntilDeleted() {
+        // Arrange
+        long id = flightRecordings.start("default", 5).id();
+
+        // Act
+        FlightRecordings.Info stopped = flightRecordings.stop(id);
+        Path file = flightRecordings.dump(id);
+        flightRecordings.delete(id);
+
+        // Assert
+        assertThat(stopped.state()).isEqualTo("STOPPED");
+        assertThat(Files.exists(file)).isFalse();
+        assertThatThrownBy(() -> flightRecordings.dump(id)).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> flightRecordings.stop(id)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void stop_beyondMaxStoppedRecordings_closesTheOldestWithItsFile() {
+        // Arrange
+        properties.setMaxStoppedRecordings(1);
+        long oldest = flightRecordings.start("default", 5).id();
+        flightRecordings.stop(oldest);
+        Path oldestFile = flightRecordings.dump(oldest);
+        long newest = flightRecordings.start("default", 5).id();
+
+        // Act
+        flightRecordings.stop(newest);
+
+        // Assert
+        assertThat(flightRecordings.list()).extracting(FlightRecordings.Info::id)
+                .contains(newest)
+                .doesNotContain(oldest);
+        assertThat(Files.exists(oldestFile)).isFalse();
+        assertThatThrownBy(() -> flightRecordings.dump(oldest)).isInstanceOf(ResourceNotFoundException.class);
+    }
+}
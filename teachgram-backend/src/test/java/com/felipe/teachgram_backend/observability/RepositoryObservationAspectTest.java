@@ -0,0 +1,66 @@
+package com.felipe.teachgram_backend.observability;
+
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.repository.Repository;
+
+import java.lang.reflect.Proxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RepositoryObservationAspectTest {
+
+    interface SampleRepository extends Repository<Object, Long> {
+        String findNameById(Long id);
+    }
+
+    private SimpleMeterRegistry meterRegistry;
+    private SampleRepository repository;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+
+        // os repositórios do Spring Data também são proxies do JDK
+        SampleRepository target = (SampleRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{SampleRepository.class}, (proxy, method, args) -> {
+                    if (args[0] == null) {
+                        throw new IllegalArgumentException("id");
+                    }
+                    return "user-" + args[0];
+                });
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addInterface(SampleRepository.class);
+        factory.addAspect(new RepositoryObservationAspect(observationRegistry));
+        repository = factory.getProxy();
+    }
+
+    @Test
+    void call_isObservedPerRepositoryAndMethod() {
+        // Act
+        String name = repository.findNameById(7L);
+
+        // Assert
+        assertThat(name).isEqualTo("user-7");
+        assertThat(meterRegistry.get("teachgram.repository")
+                .tag("repository", "SampleRepository")
+                .tag("method", "findNameById")
+                .tag("error", "none")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void failingCall_isRecordedWithError() {
+        // Act + Assert
+        assertThatThrownBy(() -> repository.findNameById(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(meterRegistry.get("teachgram.repository").tag("error", "IllegalArgumentException").timer().count())
+                .isEqualTo(1);
+    }
+}
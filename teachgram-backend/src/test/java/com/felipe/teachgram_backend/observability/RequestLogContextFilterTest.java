@@ -0,0 +1,59 @@
+package com.felipe.teachgram_backend.observability;
+
+import com.felipe.teachgram_backend.config.RequestLoggingProperties;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestLogContextFilterTest {
+
+    private final RequestLoggingProperties properties = new RequestLoggingProperties();
+
+    @Test
+    void doFilter_validIncomingRequestId_isReusedAndEchoed() throws Exception {
+        // Arrange
+        RequestLogContextFilter filter = new RequestLogContextFilter(properties, () -> 0.0);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts");
+        request.addHeader("X-Request-Id", "edge-123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Map<String, String> seen = new HashMap<>();
+
+        // Act
+        filter.doFilter(request, response, (req, res) -> seen.putAll(MDC.getCopyOfContextMap()));
+
+        // Assert
+        assertThat(seen).containsEntry(RequestLogContextFilter.REQUEST_ID, "edge-123")
+                .doesNotContainKey(RequestLogContextFilter.SQL_SAMPLED);
+        assertThat(response.getHeader("X-Request-Id")).isEqualTo("edge-123");
+        assertThat(MDC.get(RequestLogContextFilter.REQUEST_ID)).isNull();
+    }
+
+    @Test
+    void doFilter_invalidRequestIdAndSampled_generatesIdAndFlagsSql() throws Exception {
+        // Arrange
+        properties.setSqlSampleRate(0.01);
+        RequestLogContextFilter filter = new RequestLogContextFilter(properties, () -> 0.005);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts");
+        request.addHeader("X-Request-Id", "bad id\n");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Map<String, String> seen = new HashMap<>();
+
+        // Act
+        filter.doFilter(request, response, (req, res) -> {
+            MDC.put(RequestLogContextFilter.USER_ID, "42");
+            seen.putAll(MDC.getCopyOfContextMap());
+        });
+
+        // Assert
+        assertThat(seen.get(RequestLogContextFilter.REQUEST_ID)).isEqualTo(response.getHeader("X-Request-Id"))
+                .hasSize(36);
+        assertThat(seen).containsEntry(RequestLogContextFilter.SQL_SAMPLED, "true");
+        assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
+    }
+}
@@ -0,0 +1,93 @@
+package com.felipe.teachgram_backend.observability;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestVerbosityTurboFilterTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+
+    private final LoggerContext loggerContext = new LoggerContext();
+    private RequestVerbosityTurboFilter filter;
+    private Logger sqlLogger;
+    private Logger appLogger;
+    private Logger otherLogger;
+
+    @BeforeEach
+    void setup() {
+        LogVerbosity.reset(Clock.fixed(NOW, ZoneOffset.UTC));
+        loggerContext.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+        sqlLogger = loggerContext.getLogger("org.hibernate.SQL");
+        appLogger = loggerContext.getLogger("com.felipe.teachgram_backend.service.PostService");
+        otherLogger = loggerContext.getLogger("com.felipe.teachgram_backend_other.Foo");
+        filter = new RequestVerbosityTurboFilter();
+        filter.addVerboseLogger("com.felipe.teachgram_backend");
+    }
+
+    @AfterEach
+    void cleanup() {
+        MDC.clear();
+        LogVerbosity.reset(Clock.systemUTC());
+    }
+
+    @Test
+    void decide_plainRequest_leavesLevelsAlone() {
+        // Act + Assert
+        assertThat(filter.decide(null, sqlLogger, Level.DEBUG, "select 1", null, null)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.decide(null, appLogger, Level.WARN, "x", null, null)).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void decide_sampledRequest_acceptsSqlOnly() {
+        // Arrange
+        MDC.put(RequestLogContextFilter.SQL_SAMPLED, "true");
+
+        // Act + Assert
+        assertThat(filter.decide(null, sqlLogger, Level.DEBUG, "select 1", null, null)).isEqualTo(FilterReply.ACCEPT);
+        assertThat(filter.decide(null, loggerContext.getLogger("org.hibernate.orm.jdbc.bind"), Level.TRACE, "p", null, null))
+                .isEqualTo(FilterReply.ACCEPT);
+        assertThat(filter.decide(null, appLogger, Level.DEBUG, "x", null, null)).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void decide_verboseUser_acceptsConfiguredLoggersUntilDeadline() {
+        // Arrange
+        LogVerbosity.enable(LogVerbosity.Target.USER, "42", NOW.plus(Duration.ofMinutes(5)));
+        MDC.put(RequestLogContextFilter.USER_ID, "42");
+
+        // Act + Assert
+        assertThat(filter.decide(null, appLogger, Level.DEBUG, "x", null, null)).isEqualTo(FilterReply.ACCEPT);
+        assertThat(filter.decide(null, sqlLogger, Level.DEBUG, "select 1", null, null)).isEqualTo(FilterReply.ACCEPT);
+        assertThat(filter.decide(null, otherLogger, Level.DEBUG, "x", null, null)).isEqualTo(FilterReply.NEUTRAL);
+
+        MDC.put(RequestLogContextFilter.USER_ID, "43");
+        assertThat(filter.decide(null, appLogger, Level.DEBUG, "x", null, null)).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void decide_verboseTraceExpired_isDroppedFromActiveList() {
+        // Arrange
+        LogVerbosity.enable(LogVerbosity.Target.TRACE, "abc", NOW);
+        MDC.put(RequestLogContextFilter.TRACE_ID, "abc");
+
+        // Act
+        FilterReply reply = filter.decide(null, appLogger, Level.DEBUG, "x", null, null);
+
+        // Assert
+        assertThat(reply).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(LogVerbosity.active()).isEmpty();
+    }
+}
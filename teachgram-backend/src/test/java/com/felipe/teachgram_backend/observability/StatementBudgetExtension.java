@@ -0,0 +1,75 @@
+package com.felipe.teachgram_backend.observability;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.opentest4j.AssertionFailedError;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Falha um teste que emite mais comandos SQL do que declarou.
+ * <p>
+ * Cada teste roda dentro de um {@link StatementCounter.Recording}. O teste falha quando
+ * <ul>
+ *   <li>está anotado com {@link StatementBudget} (método ou classe) e o teste inteiro passou
+ *       desse número, ou</li>
+ *   <li>alguma requisição feita por ele via MockMvc passou do orçamento do seu endpoint,
+ *       conforme reportado pelo {@link StatementBudgetFilter}.</li>
+ * </ul>
+ * Só são vistos os comandos emitidos na thread do teste, então use MockMvc em vez de uma porta real.
+ * <pre>
+ * &#64;ExtendWith(StatementBudgetExtension.class)
+ * class FeedQueriesTest { ... }
+ * </pre>
+ */
+public class StatementBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(StatementBudgetExtension.class);
+    private static final int KEPT_STATEMENTS = 50;
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(context.getUniqueId(), StatementCounter.start(KEPT_STATEMENTS));
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        StatementCounter.Recording recording =
+                context.getStore(NAMESPACE).remove(context.getUniqueId(), StatementCounter.Recording.class);
+        if (recording == null) {
+            return;
+        }
+        recording.close();
+        Integer budget = context.getTestMethod()
+                .flatMap(method -> AnnotationSupport.findAnnotation(method, StatementBudget.class))
+                .or(() -> context.getTestClass()
+                        .flatMap(type -> AnnotationSupport.findAnnotation(type, StatementBudget.class)))
+                .map(StatementBudget::value)
+                .orElse(null);
+        verify(context.getDisplayName(), recording, budget);
+    }
+
+    /**
+     * @param budget comandos permitidos no teste inteiro, ou {@code null} para conferir só as requisições.
+     */
+    static void verify(String testName, StatementCounter.Recording recording, Integer budget) {
+        List<StatementCounter.Violation> violations = new ArrayList<>(recording.violations());
+        if (budget != null && recording.count() > budget) {
+            violations.add(0, new StatementCounter.Violation(testName, recording.count(), budget,
+                    recording.statements()));
+        }
+        if (violations.isEmpty()) {
+            return;
+        }
+        StringBuilder message = new StringBuilder("Orçamento de comandos SQL excedido");
+        for (StatementCounter.Violation violation : violations) {
+            message.append("\n  ").append(violation);
+            violation.sample().forEach(sql -> message.append("\n    ").append(sql));
+        }
+        throw new AssertionFailedError(message.toString());
+    }
+}
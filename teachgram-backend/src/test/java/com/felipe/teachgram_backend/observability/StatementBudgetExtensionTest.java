@@ -0,0 +1,73 @@
+package com.felipe.teachgram_backend.observability;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StatementBudgetExtensionTest {
+
+    private final CountingStatementInspector inspector = new CountingStatementInspector();
+
+    @Nested
+    @ExtendWith(StatementBudgetExtension.class)
+    class Registered {
+
+        @Test
+        @StatementBudget(2)
+        void testWithinItsBudget_passes() {
+            // Act
+            inspector.inspect("select 1");
+            inspector.inspect("select 2");
+        }
+    }
+
+    @Test
+    void verify_testOverItsBudget_failsWithStatements() {
+        // Arrange
+        StatementCounter.Recording recording = StatementCounter.start(10);
+        inspector.inspect("select * from posts");
+        inspector.inspect("select * from users where id = ?");
+        inspector.inspect("select * from users where id = ?");
+        recording.close();
+
+        // Act + Assert
+        assertThatThrownBy(() -> StatementBudgetExtension.verify("feed", recording, 2))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("feed: 3 comandos SQL (orçamento 2)")
+                .hasMessageContaining("select * from users where id = ?");
+    }
+
+    @Test
+    void verify_requestOverEndpointBudget_failsEvenWithoutTestBudget() {
+        // Arrange
+        StatementCounter.Recording recording = StatementCounter.start(10);
+        StatementCounter.report(new StatementCounter.Violation("GET /api/posts", 12, 3, List.of("select 1")));
+        recording.close();
+
+        // Act + Assert
+        assertThatThrownBy(() -> StatementBudgetExtension.verify("feed", recording, null))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("GET /api/posts: 12 comandos SQL (orçamento 3)");
+    }
+
+    @Test
+    void recordings_nest_andCountForEveryOpenRecording() {
+        // Arrange
+        StatementCounter.Recording outer = StatementCounter.start(0);
+        inspector.inspect("select 1");
+        StatementCounter.Recording inner = StatementCounter.start(0);
+        inspector.inspect("select 2");
+        inner.close();
+        inspector.inspect("select 3");
+        outer.close();
+
+        // Act + Assert
+        assertThatCode(() -> StatementBudgetExtension.verify("outer", outer, 3)).doesNotThrowAnyException();
+        assertThatCode(() -> StatementBudgetExtension.verify("inner", inner, 1)).doesNotThrowAnyException();
+    }
+}
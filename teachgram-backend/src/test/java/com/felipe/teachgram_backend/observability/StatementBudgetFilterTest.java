@@ -0,0 +1,131 @@
+package com.felipe.teachgram_backend.observability;
+
+import com.felipe.teachgram_backend.config.StatementBudgetProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatementBudgetFilterTest {
+
+    private final CountingStatementInspector inspector = new CountingStatementInspector();
+    private final AtomicInteger draws = new AtomicInteger();
+    private StatementBudgetProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private StatementBudgetFilter filter;
+
+    @BeforeEach
+    void setup() {
+        properties = new StatementBudgetProperties();
+        properties.setDefaultBudget(4);
+        properties.setLogSampleRate(0.5);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new StatementBudgetFilter(properties, meterRegistry, () -> draws.getAndIncrement() % 2 == 0 ? 0.1 : 0.9);
+    }
+
+    @Test
+    void doFilter_withinEndpointBudget_recordsStatementsOnly() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = request("budgeted", "/api/test/budgeted");
+
+        // Act
+        StatementCounter.Recording outer = StatementCounter.start(10);
+        filter.doFilter(request, new MockHttpServletResponse(), issuing(2));
+        outer.close();
+
+        // Assert
+        assertThat(outer.count()).isEqualTo(2);
+        assertThat(outer.violations()).isEmpty();
+        assertThat(meterRegistry.get("teachgram.sql.statements").tag("uri", "/api/test/budgeted").summary().totalAmount())
+                .isEqualTo(2);
+        assertThat(meterRegistry.find("teachgram.sql.budget.exceeded").counter()).isNull();
+        assertThat(draws).hasValue(0);
+    }
+
+    @Test
+    void doFilter_overEndpointBudget_reportsViolationWithStatements() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = request("budgeted", "/api/test/budgeted");
+
+        // Act
+        StatementCounter.Recording outer = StatementCounter.start(10);
+        filter.doFilter(request, new MockHttpServletResponse(), issuing(3));
+        outer.close();
+
+        // Assert
+        assertThat(outer.violations()).singleElement().satisfies(violation -> {
+            assertThat(violation.operation()).isEqualTo("GET /api/test/budgeted");
+            assertThat(violation.statements()).isEqualTo(3);
+            assertThat(violation.budget()).isEqualTo(2);
+            assertThat(violation.sample()).containsExactly("select 1", "select 2", "select 3");
+        });
+        assertThat(meterRegistry.get("teachgram.sql.budget.exceeded").counter().count()).isEqualTo(1);
+        assertThat(draws).hasValue(1);
+    }
+
+    @Test
+    void doFilter_endpointWithoutAnnotation_usesDefaultBudget() throws Exception {
+        // Arrange
+        MockHttpServletRequest withinDefault = request("unbudgeted", "/api/test/unbudgeted");
+        MockHttpServletRequest overDefault = request("unbudgeted", "/api/test/unbudgeted");
+
+        // Act
+        StatementCounter.Recording outer = StatementCounter.start(10);
+        filter.doFilter(withinDefault, new MockHttpServletResponse(), issuing(4));
+        filter.doFilter(overDefault, new MockHttpServletResponse(), issuing(5));
+        outer.close();
+
+        // Assert
+        assertThat(outer.count()).isEqualTo(9);
+        assertThat(outer.violations()).extracting(StatementCounter.Violation::budget).containsExactly(4);
+    }
+
+    @Test
+    void doFilter_requestWithoutHandler_isNotChecked() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/missing");
+
+        // Act
+        StatementCounter.Recording outer = StatementCounter.start(10);
+        filter.doFilter(request, new MockHttpServletResponse(), issuing(50));
+        outer.close();
+
+        // Assert
+        assertThat(outer.violations()).isEmpty();
+        assertThat(meterRegistry.getMeters()).isEmpty();
+    }
+
+    private FilterChain issuing(int statements) {
+        return (request, response) -> {
+            for (int i = 1; i <= statements; i++) {
+                inspector.inspect("select " + i);
+            }
+        };
+    }
+
+    private static MockHttpServletRequest request(String method, String pattern) throws NoSuchMethodException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(new TestController(), TestController.class.getMethod(method)));
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+
+    static class TestController {
+
+        @StatementBudget(2)
+        public void budgeted() {
+        }
+
+        public void unbudgeted() {
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.felipe.teachgram_backend.observability;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatementCounterTest {
+
+    private final CountingStatementInspector inspector = new CountingStatementInspector();
+    private ThreadPoolTaskExecutor executor;
+
+    @BeforeEach
+    void setup() {
+        // mesmo decorator do applicationTaskExecutor (AsyncConfig), com uma única thread reaproveitada
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        executor.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void record_onDecoratedWorker_countsForTheSubmittingRecording() throws Exception {
+        // Arrange
+        StatementCounter.Recording recording = StatementCounter.start(10);
+
+        // Act
+        try {
+            inspector.inspect("select 1");
+            executor.submit(() -> inspector.inspect("insert into post_likes")).get(5, TimeUnit.SECONDS);
+        } finally {
+            recording.close();
+        }
+
+        // Assert
+        assertThat(recording.count()).isEqualTo(2);
+        assertThat(recording.statements()).containsExactly("select 1", "insert into post_likes");
+    }
+
+    @Test
+    void record_afterDecoratedTask_workerNoLongerFeedsTheRecording() throws Exception {
+        // Arrange
+        StatementCounter.Recording recording = StatementCounter.start(10);
+        try {
+            executor.submit(() -> inspector.inspect("select 1")).get(5, TimeUnit.SECONDS);
+        } finally {
+            recording.close();
+        }
+
+        // Act
+        executor.submit(() -> inspector.inspect("select 2")).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertThat(recording.count()).isEqualTo(1);
+        assertThat(executor.submit(StatementCounter::current).get(5, TimeUnit.SECONDS)).isNull();
+    }
+}
@@ -0,0 +1,78 @@
+package com.felipe.teachgram_backend.security;
+
+import com.felipe.teachgram_backend.entity.JwtSigningKey;
+import com.felipe.teachgram_backend.repository.JwtSigningKeyRepository;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class JpaJwtKeyStoreTest {
+
+    @Mock
+    private JwtSigningKeyRepository repository;
+
+    private JpaJwtKeyStore store;
+
+    @BeforeEach
+    void setup() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        store = new JpaJwtKeyStore(repository, newAppKey());
+    }
+
+    @Test
+    void saveRotation_sealsPrivateKeyAndLoadReadsItBack() {
+        // Arrange
+        JWK key = JwtKeyRing.generate(JWSAlgorithm.EdDSA);
+        Instant now = Instant.parse("2026-01-01T10:00:00Z");
+
+        // Act
+        store.saveRotation(key, now, now.plusSeconds(900));
+
+        // Assert
+        ArgumentCaptor<JwtSigningKey> saved = ArgumentCaptor.forClass(JwtSigningKey.class);
+        verify(repository).retireActive(any());
+        verify(repository).save(saved.capture());
+        assertThat(saved.getValue().getKeyMaterial()).doesNotContain(key.toJSONObject().get("d").toString());
+
+        when(repository.findUsable(any())).thenReturn(List.of(saved.getValue()));
+        List<JwtKeyStore.StoredKey> loaded = store.load(now);
+        assertThat(loaded).singleElement().satisfies(stored -> {
+            assertThat(stored.jwk()).isEqualTo(key);
+            assertThat(stored.createdAt()).isEqualTo(now);
+            assertThat(stored.retiredUntil()).isNull();
+        });
+    }
+
+    @Test
+    void load_keySealedUnderAnotherAppKey_isSkipped() throws Exception {
+        // Arrange
+        JpaJwtKeyStore otherNode = new JpaJwtKeyStore(repository, newAppKey());
+        Instant now = Instant.now();
+        otherNode.saveRotation(JwtKeyRing.generate(JWSAlgorithm.ES256), now, now.plusSeconds(900));
+        ArgumentCaptor<JwtSigningKey> saved = ArgumentCaptor.forClass(JwtSigningKey.class);
+        verify(repository).save(saved.capture());
+        when(repository.findUsable(any())).thenReturn(List.of(saved.getValue()));
+
+        // Act & Assert
+        assertThat(store.load(now)).isEmpty();
+    }
+
+    private static RSAPrivateKey newAppKey() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return (RSAPrivateKey) generator.generateKeyPair().getPrivate();
+    }
+}
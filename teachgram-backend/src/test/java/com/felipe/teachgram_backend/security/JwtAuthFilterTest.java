@@ -0,0 +1,163 @@
+package com.felipe.teachgram_backend.security;
+
+import com.felipe.teachgram_backend.entity.Role;
+import com.felipe.teachgram_backend.entity.User;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class JwtAuthFilterTest {
+
+    @Mock
+    private UserStatusCache userStatusCache;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private JwtService jwtService;
+    private JwtAuthFilter jwtAuthFilter;
+    private SimpleMeterRegistry meterRegistry;
+    private User user;
+    private final AtomicInteger decodes = new AtomicInteger();
+
+    @BeforeEach
+    void setup() throws Exception {
+        MockitoAnnotations.openMocks(this);
+
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        RSAKey jwk = new RSAKey.Builder(publicKey).privateKey((RSAPrivateKey) keyPair.getPrivate()).build();
+
+        JwtDecoder nimbusDecoder = NimbusJwtDecoder.withPublicKey(publicKey).build();
+        jwtService = new JwtService(
+                new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(jwk))),
+                token -> {
+                    decodes.incrementAndGet();
+                    return nimbusDecoder.decode(token);
+                },
+                new VerifiedTokenCache(),
+                15);
+        meterRegistry = new SimpleMeterRegistry();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        jwtAuthFilter = new JwtAuthFilter(jwtService, userStatusCache, observationRegistry);
+
+        Role role = new Role();
+        role.setName("ROLE_USER");
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername("felipe");
+        user.setRoles(Set.of(role));
+        user.setTokenVersion(3);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_validToken_buildsPrincipalFromClaimsOnly() throws Exception {
+        // Arrange
+        when(userStatusCache.isActive(user.getId(), 3)).thenReturn(true);
+        MockHttpServletRequest request = bearer(jwtService.generateToken(user));
+
+        // Act
+        jwtAuthFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        // Assert
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication).isNotNull();
+        CustomUserDetails principal = (CustomUserDetails) authentication.getPrincipal();
+        assertThat(principal.getId()).isEqualTo(user.getId());
+        assertThat(principal.getUsername()).isEqualTo("felipe");
+        assertThat(principal.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_USER");
+        verify(filterChain).doFilter(any(), any());
+        assertThat(meterRegistry.get("teachgram.security.jwt.filter").tag("outcome", "authenticated").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void doFilter_revokedOrInactiveUser_leavesRequestUnauthenticated() throws Exception {
+        // Arrange
+        when(userStatusCache.isActive(user.getId(), 3)).thenReturn(false);
+        MockHttpServletRequest request = bearer(jwtService.generateToken(user));
+
+        // Act
+        jwtAuthFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        // Assert
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(filterChain).doFilter(any(), any());
+        assertThat(meterRegistry.get("teachgram.security.jwt.filter").tag("outcome", "rejected").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void doFilter_tamperedToken_isIgnored() throws Exception {
+        // Arrange
+        String token = jwtService.generateToken(user);
+        MockHttpServletRequest request = bearer(token.substring(0, token.length() - 4) + "AAAA");
+
+        // Act
+        jwtAuthFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        // Assert
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verifyNoInteractions(userStatusCache);
+        verify(filterChain).doFilter(any(), any());
+    }
+
+    @Test
+    void doFilter_sameTokenTwice_verifiesSignatureOnce() throws Exception {
+        // Arrange
+        when(userStatusCache.isActive(user.getId(), 3)).thenReturn(true);
+        String token = jwtService.generateToken(user);
+
+        // Act
+        jwtAuthFilter.doFilter(bearer(token), new MockHttpServletResponse(), filterChain);
+        SecurityContextHolder.clearContext();
+        jwtAuthFilter.doFilter(bearer(token), new MockHttpServletResponse(), filterChain);
+
+        // Assert
+        assertThat(decodes).hasValue(1);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+        verify(userStatusCache, times(2)).isActive(user.getId(), 3);
+    }
+
+    private static MockHttpServletRequest bearer(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
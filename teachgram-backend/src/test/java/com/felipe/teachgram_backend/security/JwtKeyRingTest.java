@@ -0,0 +1,241 @@
+package com.felipe.teachgram_backend.security;
+
+import com.felipe.teachgram_backend.entity.Role;
+import com.felipe.teachgram_backend.entity.User;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyRingTest {
+
+    private static final Duration RETENTION = Duration.ofMinutes(60);
+
+    private final MutableClock clock = new MutableClock(Instant.now());
+    private JwtKeyRing keyRing;
+    private JwtService jwtService;
+    private User user;
+
+    @BeforeEach
+    void setup() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+
+        keyRing = new JwtKeyRing((RSAPublicKey) keyPair.getPublic(), (RSAPrivateKey) keyPair.getPrivate(),
+                RETENTION, clock);
+        JwtDecoder decoder = new KeyRingJwtDecoder(keyRing, JwtValidators.createDefaultWithIssuer(JwtService.ISSUER));
+        jwtService = new JwtService(new KeyRingJwtEncoder(keyRing), decoder, new VerifiedTokenCache() {
+            @Override
+            public void put(String token, CustomUserDetails principal, Instant expiresAt) {
+                // sem cache: cada chamada verifica a assinatura
+            }
+        }, 15);
+
+        Role role = new Role();
+        role.setName("ROLE_USER");
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername("felipe");
+        user.setRoles(Set.of(role));
+    }
+
+    @Test
+    void generateToken_stampsActiveKid() throws Exception {
+        // Act
+        String token = jwtService.generateToken(user);
+
+        // Assert
+        JWSHeader header = SignedJWT.parse(token).getHeader();
+        assertThat(header.getKeyID()).isEqualTo(keyRing.active().kid());
+        assertThat(header.getAlgorithm()).isEqualTo(JWSAlgorithm.RS256);
+    }
+
+    @Test
+    void rotate_es256AndEdDsa_roundTrip() throws Exception {
+        for (JWSAlgorithm algorithm : new JWSAlgorithm[]{JWSAlgorithm.ES256, JWSAlgorithm.EdDSA}) {
+            // Arrange
+            keyRing.rotate(algorithm);
+
+            // Act
+            String token = jwtService.generateToken(user);
+            CustomUserDetails principal = jwtService.parsePrincipal(token);
+
+            // Assert
+            assertThat(SignedJWT.parse(token).getHeader().getAlgorithm()).isEqualTo(algorithm);
+            assertThat(principal).isNotNull();
+            assertThat(principal.getId()).isEqualTo(user.getId());
+        }
+    }
+
+    @Test
+    void rotate_previousKeyAcceptedUntilRetentionPasses() {
+        // Arrange
+        String oldToken = jwtService.generateToken(user);
+        String oldKid = keyRing.active().kid();
+
+        // Act
+        String newKid = keyRing.rotate(JWSAlgorithm.ES256);
+
+        // Assert
+        assertThat(newKid).isNotEqualTo(oldKid);
+        assertThat(jwtService.parsePrincipal(oldToken)).isNotNull();
+        assertThat(keyRing.publicJwkSet().getKeyByKeyId(oldKid)).isNotNull();
+
+        clock.advance(RETENTION);
+        assertThat(keyRing.verifierFor(oldKid)).isNull();
+        assertThat(keyRing.publicJwkSet().getKeyByKeyId(oldKid)).isNull();
+        assertThat(keyRing.verifierFor(newKid)).isNotNull();
+    }
+
+    @Test
+    void publicJwkSet_exposesNoPrivateMaterial() {
+        // Arrange
+        keyRing.rotate(JWSAlgorithm.EdDSA);
+
+        // Act & Assert
+        assertThat(keyRing.publicJwkSet().getKeys())
+                .hasSize(2)
+                .allSatisfy(jwk -> assertThat(jwk.isPrivate()).isFalse());
+    }
+
+    @Test
+    void decode_unknownKid_isRejected() throws Exception {
+        // Arrange
+        JwtKeyRing otherRing = new JwtKeyRing(
+                (RSAPublicKey) keyRing.active().jwk().toRSAKey().toPublicKey(),
+                keyRing.active().jwk().toRSAKey().toRSAPrivateKey(), RETENTION, clock);
+        otherRing.rotate(JWSAlgorithm.ES256);
+        SignedJWT foreign = new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.ES256).keyID(otherRing.active().kid()).build(),
+                new JWTClaimsSet.Builder().issuer(JwtService.ISSUER).subject("felipe")
+                        .expirationTime(Date.from(clock.instant().plusSeconds(60))).build());
+        foreign.sign(otherRing.active().signer());
+        KeyRingJwtDecoder decoder = new KeyRingJwtDecoder(keyRing,
+                JwtValidators.createDefaultWithIssuer(JwtService.ISSUER));
+
+        // Act & Assert
+        assertThatThrownBy(() -> decoder.decode(foreign.serialize()))
+                .isInstanceOf(BadJwtException.class)
+                .hasMessageContaining(otherRing.active().kid());
+    }
+
+    @Test
+    void rotate_onOneNode_isAdoptedByOtherNodesAndAfterRestart() throws Exception {
+        // Arrange
+        SharedStore store = new SharedStore();
+        RSAPublicKey publicKey = (RSAPublicKey) keyRing.active().jwk().toRSAKey().toPublicKey();
+        RSAPrivateKey privateKey = keyRing.active().jwk().toRSAKey().toRSAPrivateKey();
+        JwtKeyRing nodeA = new JwtKeyRing(publicKey, privateKey, RETENTION, store, clock);
+        JwtKeyRing nodeB = new JwtKeyRing(publicKey, privateKey, RETENTION, store, clock);
+
+        // Act
+        String kid = nodeA.rotate(JWSAlgorithm.ES256);
+
+        // Assert: nodeB verifica um kid que ainda não carregou e, após um refresh, assina com ele
+        assertThat(nodeB.verifierFor(kid)).isNotNull();
+        nodeB.refresh();
+        assertThat(nodeB.active().kid()).isEqualTo(kid);
+        assertThat(nodeB.publicJwkSet().getKeyByKeyId(kid)).isNotNull();
+
+        JwtKeyRing restarted = new JwtKeyRing(publicKey, privateKey, RETENTION, store, clock);
+        restarted.refresh();
+        assertThat(restarted.active().kid()).isEqualTo(kid);
+        assertThat(restarted.active().algorithm()).isEqualTo(JWSAlgorithm.ES256);
+    }
+
+    @Test
+    void refresh_retiresKeysRetiredByAnotherNode() throws Exception {
+        // Arrange
+        SharedStore store = new SharedStore();
+        RSAPublicKey publicKey = (RSAPublicKey) keyRing.active().jwk().toRSAKey().toPublicKey();
+        RSAPrivateKey privateKey = keyRing.active().jwk().toRSAKey().toRSAPrivateKey();
+        JwtKeyRing nodeA = new JwtKeyRing(publicKey, privateKey, RETENTION, store, clock);
+        JwtKeyRing nodeB = new JwtKeyRing(publicKey, privateKey, RETENTION, store, clock);
+        String first = nodeA.rotate(JWSAlgorithm.ES256);
+        nodeB.refresh();
+
+        // Act
+        String second = nodeA.rotate(JWSAlgorithm.EdDSA);
+        nodeB.refresh();
+        clock.advance(RETENTION);
+        nodeB.refresh();
+
+        // Assert
+        assertThat(nodeB.active().kid()).isEqualTo(second);
+        assertThat(nodeB.verifierFor(first)).isNull();
+    }
+
+    @Test
+    void rotate_unsupportedAlgorithm_throws() {
+        assertThatThrownBy(() -> keyRing.rotate(JWSAlgorithm.HS256))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /** Key store shared by several rings, as the database is shared by several nodes. */
+    private static final class SharedStore implements JwtKeyStore {
+        private final List<StoredKey> rows = new ArrayList<>();
+
+        @Override
+        public synchronized List<StoredKey> load(Instant now) {
+            return rows.stream().filter(row -> row.retiredUntil() == null || row.retiredUntil().isAfter(now)).toList();
+        }
+
+        @Override
+        public synchronized void saveRotation(JWK key, Instant now, Instant retireUntil) {
+            rows.replaceAll(row -> row.retiredUntil() == null ? new StoredKey(row.jwk(), row.createdAt(), retireUntil) : row);
+            rows.add(new StoredKey(key, now, null));
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
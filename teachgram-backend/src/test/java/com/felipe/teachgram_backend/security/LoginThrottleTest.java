@@ -0,0 +1,167 @@
+package com.felipe.teachgram_backend.security;
+
+import com.felipe.teachgram_backend.config.LoginThrottleProperties;
+import com.felipe.teachgram_backend.exception.TooManyRequestsException;
+import com.felipe.teachgram_backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class LoginThrottleTest {
+
+    private static final String EMAIL = "felipe@teachgram.com";
+    private static final String IP = "10.0.0.1";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserStatusCache userStatusCache;
+
+    private final AtomicLong nanos = new AtomicLong(1_000);
+    private LoginThrottleProperties properties;
+    private LoginThrottle loginThrottle;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        properties = new LoginThrottleProperties();
+        properties.setUsernameMaxFailures(3);
+        properties.setUsernameWindow(Duration.ofMinutes(15));
+        properties.setIpMaxFailures(5);
+        properties.setIpWindow(Duration.ofMinutes(5));
+        loginThrottle = new LoginThrottle(properties, userRepository, userStatusCache, nanos::get);
+    }
+
+    @Test
+    void recordFailure_reachingLimit_throttlesAndLocksAccountOnce() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        when(userRepository.lockByEmail(eq(EMAIL), eq(3), any(), any())).thenReturn(List.of(userId));
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            loginThrottle.recordFailure(EMAIL, "10.0.0." + i);
+        }
+
+        // Assert
+        assertThatThrownBy(() -> loginThrottle.checkAllowed(EMAIL.toUpperCase(), "10.9.9.9"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .satisfies(e -> assertThat(((TooManyRequestsException) e).getRetryAfterSeconds())
+                        .isBetween(1L, Duration.ofMinutes(15).toSeconds()));
+        ArgumentCaptor<LocalDateTime> lockedUntil = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(userRepository, times(1)).lockByEmail(anyString(), anyInt(), lockedUntil.capture(), any());
+        assertThat(lockedUntil.getValue()).isBetween(
+                LocalDateTime.now().plusMinutes(14), LocalDateTime.now().plusMinutes(15));
+        verify(userStatusCache).evict(userId);
+    }
+
+    @Test
+    void checkAllowed_afterWindowSlides_allowsAgain() {
+        // Arrange
+        properties.setLockAccount(false);
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.recordFailure(EMAIL, IP);
+        }
+        assertThatThrownBy(() -> loginThrottle.checkAllowed(EMAIL, IP)).isInstanceOf(TooManyRequestsException.class);
+
+        // Act
+        nanos.addAndGet(Duration.ofMinutes(16).toNanos());
+
+        // Assert
+        assertThatCode(() -> loginThrottle.checkAllowed(EMAIL, IP)).doesNotThrowAnyException();
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void recordSuccess_clearsUsernameFailures() {
+        // Arrange
+        loginThrottle.recordFailure(EMAIL, IP);
+        loginThrottle.recordFailure(EMAIL, IP);
+
+        // Act
+        loginThrottle.recordSuccess(EMAIL);
+        loginThrottle.recordFailure(EMAIL, IP);
+
+        // Assert
+        assertThatCode(() -> loginThrottle.checkAllowed(EMAIL, IP)).doesNotThrowAnyException();
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void checkAllowed_ipOverLimit_throttlesEveryLoginFromIt() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            loginThrottle.recordFailure("user" + i + "@teachgram.com", IP);
+        }
+
+        // Act & Assert
+        assertThatThrownBy(() -> loginThrottle.checkAllowed("other@teachgram.com", IP))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> loginThrottle.checkAllowed("other@teachgram.com", "10.0.0.2"))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void recordFailure_beyondMaxTrackedKeys_evictsLeastRecentlyUsedAndKeepsTracking() {
+        // Arrange
+        properties.setMaxTrackedKeys(64);
+        properties.setLockAccount(false);
+        loginThrottle = new LoginThrottle(properties, userRepository, userStatusCache, nanos::get);
+        for (int i = 0; i < 1_000; i++) {
+            loginThrottle.recordFailure("user" + i + "@teachgram.com", "10.1." + (i / 250) + "." + (i % 250));
+        }
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            loginThrottle.recordFailure("late" + i + "@teachgram.com", "10.9.9.9");
+        }
+
+        // Assert
+        assertThat(loginThrottle.trackedKeys()).isLessThanOrEqualTo(64);
+        assertThatThrownBy(() -> loginThrottle.checkAllowed("other@teachgram.com", "10.9.9.9"))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void slidingWindowCounter_concurrentIncrements_areNotLost() throws Exception {
+        // Arrange
+        SlidingWindowCounter counter = new SlidingWindowCounter(Duration.ofMinutes(1).toNanos(), 15);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        // Act
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    counter.increment(10);
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+
+        // Assert
+        assertThat(counter.count(10)).isEqualTo(8_000);
+        assertThat(counter.count(Duration.ofMinutes(2).toNanos())).isZero();
+    }
+}
@@ -0,0 +1,164 @@
+package com.felipe.teachgram_backend.security;
+
+import com.felipe.teachgram_backend.config.PasswordHashingProperties;
+import com.felipe.teachgram_backend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingExecutorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private PasswordHashingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void offloadingEncoder_encodesAndMatchesOnPool() {
+        // Arrange
+        executor = executor(properties(2, 4, Duration.ofSeconds(5)));
+        OffloadingPasswordEncoder encoder = new OffloadingPasswordEncoder(new BCryptPasswordEncoder(4), executor);
+
+        // Act
+        String hash = encoder.encode("secret");
+
+        // Assert
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        assertThat(executor.stats().completed()).isEqualTo(3);
+        assertThat(registry.get("teachgram.password.hashing.duration").timer().count()).isEqualTo(3);
+        assertThat(registry.get("teachgram.password.hashing.queue").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void execute_queueFull_rejectsImmediatelyWithRetryAfter() throws Exception {
+        // Arrange
+        executor = executor(properties(1, 1, Duration.ofSeconds(5)));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        CompletableFuture<Boolean> busy = CompletableFuture.supplyAsync(() -> executor.execute(() -> {
+            running.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }));
+        running.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Integer> queued = CompletableFuture.supplyAsync(() -> executor.execute(() -> 1));
+        while (executor.stats().queued() == 0) {
+            Thread.onSpinWait();
+        }
+
+        // Act & Assert
+        assertThatThrownBy(() -> executor.execute(() -> 2))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .satisfies(e -> assertThat(((ServiceUnavailableException) e).getRetryAfterSeconds()).isEqualTo(3));
+        assertThat(executor.stats().rejected()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(busy.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+    }
+
+    @Test
+    void execute_waitLongerThanTimeout_fails() {
+        // Arrange
+        executor = executor(properties(1, 1, Duration.ofMillis(50)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> executor.execute(() -> {
+            Thread.sleep(500);
+            return true;
+        })).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(executor.stats().timedOut()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_callerTimedOutWhileQueued_jobLeavesQueueAndNeverRuns() throws Exception {
+        // Arrange
+        executor = executor(properties(1, 1, Duration.ofMillis(50)));
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean queuedRan = new AtomicBoolean();
+        // como o BCrypt, o job em execução ignora a interrupção do cancel
+        CompletableFuture<Boolean> busy = CompletableFuture.supplyAsync(() -> executor.execute(() -> {
+            running.countDown();
+            while (release.getCount() > 0) {
+                Thread.onSpinWait();
+            }
+            return true;
+        }));
+        running.await(5, TimeUnit.SECONDS);
+
+        // Act
+        assertThatThrownBy(() -> executor.execute(() -> queuedRan.getAndSet(true)))
+                .isInstanceOf(ServiceUnavailableException.class);
+
+        // Assert
+        assertThat(executor.stats().queued()).isZero();
+        release.countDown();
+        assertThatThrownBy(() -> busy.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(ServiceUnavailableException.class);
+        while (executor.stats().active() > 0) {
+            Thread.onSpinWait();
+        }
+        assertThat(queuedRan).isFalse();
+        assertThat(executor.stats().timedOut()).isEqualTo(2);
+        assertThat(executor.stats().completed()).isEqualTo(1);
+    }
+
+    @Test
+    void offloadingEncoder_recordsPasswordHashEventsWithOperation(@TempDir Path dir) throws Exception {
+        // Arrange
+        executor = executor(properties(1, 4, Duration.ofSeconds(5)));
+        OffloadingPasswordEncoder encoder = new OffloadingPasswordEncoder(new BCryptPasswordEncoder(4), executor);
+        Path file = dir.resolve("hash.jfr");
+
+        // Act
+        try (Recording recording = new Recording()) {
+            recording.enable("teachgram.PasswordHash");
+            recording.start();
+            encoder.matches("secret", encoder.encode("secret"));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Assert
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertThat(events).extracting(event -> event.getString("operation")).containsExactly("encode", "matches");
+        assertThat(events).allSatisfy(event -> {
+            assertThat(event.getThread().getJavaName()).startsWith("password-hash-");
+            assertThat(event.getDuration()).isPositive();
+        });
+    }
+
+    private PasswordHashingExecutor executor(PasswordHashingProperties properties) {
+        PasswordHashingExecutor created = new PasswordHashingExecutor(properties);
+        created.bindTo(registry);
+        return created;
+    }
+
+    private static PasswordHashingProperties properties(int threads, int queueCapacity, Duration timeout) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setThreads(threads);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setTimeout(timeout);
+        properties.setRetryAfterSeconds(3);
+        return properties;
+    }
+}
@@ -0,0 +1,148 @@
+package com.felipe.teachgram_backend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.felipe.teachgram_backend.config.RateLimitProperties;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RateLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong(0);
+    private RateLimitProperties properties;
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setup() {
+        properties = new RateLimitProperties();
+        properties.setPolicies(List.of(
+                policy("posts-write", "/api/posts/**", List.of("POST", "DELETE"), 3),
+                policy("default", "/api/**", List.of(), 100)));
+        rateLimiter = new RateLimiter(properties, nanos::get);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void tryAcquire_burstUpToCapacityThenRejects() {
+        // Act
+        RateLimiter.Decision first = rateLimiter.tryAcquire("POST", "/api/posts", "u:1");
+        rateLimiter.tryAcquire("POST", "/api/posts", "u:1");
+        RateLimiter.Decision third = rateLimiter.tryAcquire("POST", "/api/posts/7", "u:1");
+        RateLimiter.Decision fourth = rateLimiter.tryAcquire("POST", "/api/posts", "u:1");
+
+        // Assert
+        assertThat(first.allowed()).isTrue();
+        assertThat(first.remaining()).isEqualTo(2);
+        assertThat(third.allowed()).isTrue();
+        assertThat(third.remaining()).isZero();
+        assertThat(fourth.allowed()).isFalse();
+        assertThat(fourth.retryAfterSeconds()).isEqualTo(20);
+        assertThat(rateLimiter.stats().policies().get("posts-write"))
+                .isEqualTo(new RateLimiter.PolicyStats(3, 1));
+    }
+
+    @Test
+    void tryAcquire_refillsOverTime() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("POST", "/api/posts", "u:1");
+        }
+
+        // Act
+        nanos.addAndGet(Duration.ofSeconds(20).toNanos());
+        RateLimiter.Decision afterOneInterval = rateLimiter.tryAcquire("POST", "/api/posts", "u:1");
+        RateLimiter.Decision immediatelyAfter = rateLimiter.tryAcquire("POST", "/api/posts", "u:1");
+
+        // Assert
+        assertThat(afterOneInterval.allowed()).isTrue();
+        assertThat(immediatelyAfter.allowed()).isFalse();
+    }
+
+    @Test
+    void tryAcquire_separatesCallersAndPolicies() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("POST", "/api/posts", "u:1");
+        }
+
+        // Act & Assert
+        assertThat(rateLimiter.tryAcquire("POST", "/api/posts", "u:2").allowed()).isTrue();
+        assertThat(rateLimiter.tryAcquire("GET", "/api/posts", "u:1").policy()).isEqualTo("default");
+        assertThat(rateLimiter.tryAcquire("GET", "/api/posts", "u:1").allowed()).isTrue();
+        assertThat(rateLimiter.tryAcquire("GET", "/v3/api-docs", "u:1")).isNull();
+    }
+
+    @Test
+    void tryAcquire_boundedBucketsEvictLeastRecentlyUsed() {
+        // Arrange
+        properties.setMaxTrackedBuckets(32);
+        RateLimiter bounded = new RateLimiter(properties, nanos::get);
+
+        // Act
+        for (int i = 0; i < 1_000; i++) {
+            bounded.tryAcquire("GET", "/api/users", "u:" + i);
+        }
+
+        // Assert
+        assertThat(bounded.stats().trackedBuckets()).isLessThanOrEqualTo(32);
+        assertThat(bounded.stats().evictedBuckets()).isGreaterThanOrEqualTo(1_000 - 32);
+    }
+
+    @Test
+    void filter_setsHeadersAndRejectsWith429PerUser() throws Exception {
+        // Arrange
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        RateLimitFilter filter = new RateLimitFilter(rateLimiter, objectMapper);
+        CustomUserDetails user = new CustomUserDetails(UUID.randomUUID(), "felipe", "felipe@teachgram.com",
+                null, List.of(), 0L);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+        FilterChain chain = mock(FilterChain.class);
+
+        // Act
+        MockHttpServletResponse last = null;
+        for (int i = 0; i < 4; i++) {
+            last = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("DELETE", "/api/posts/1"), last, chain);
+        }
+
+        // Assert
+        verify(chain, times(3)).doFilter(any(), any());
+        assertThat(last.getStatus()).isEqualTo(429);
+        assertThat(last.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("20");
+        assertThat(last.getHeader(RateLimitFilter.LIMIT_HEADER)).isEqualTo("3");
+        assertThat(last.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("0");
+        assertThat(last.getHeader(RateLimitFilter.POLICY_HEADER)).isEqualTo("3;w=60");
+        assertThat(last.getContentAsString()).contains("Limite de requisições");
+    }
+
+    private static RateLimitProperties.Policy policy(String name, String path, List<String> methods, int capacity) {
+        RateLimitProperties.Policy policy = new RateLimitProperties.Policy();
+        policy.setName(name);
+        policy.setPaths(List.of(path));
+        policy.setMethods(methods);
+        policy.setCapacity(capacity);
+        policy.setPeriod(Duration.ofMinutes(1));
+        return policy;
+    }
+}
@@ -0,0 +1,138 @@
+package com.felipe.teachgram_backend.security;
+
+import com.felipe.teachgram_backend.repository.UserRepository;
+import com.felipe.teachgram_backend.repository.UserStatusView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class UserStatusCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserStatusCache userStatusCache;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void isActive_cachesStatusBetweenRequests() {
+        // Arrange
+        when(userRepository.findStatusById(userId)).thenReturn(Optional.of(status(2, false, true)));
+
+        // Act & Assert
+        assertThat(userStatusCache.isActive(userId, 2)).isTrue();
+        assertThat(userStatusCache.isActive(userId, 2)).isTrue();
+        assertThat(userStatusCache.isActive(userId, 1)).isFalse();
+        verify(userRepository, times(1)).findStatusById(userId);
+    }
+
+    @Test
+    void isActive_lockedDeletedOrUnknownUser_isRejected() {
+        // Arrange
+        UUID deletedId = UUID.randomUUID();
+        UUID unknownId = UUID.randomUUID();
+        when(userRepository.findStatusById(userId)).thenReturn(Optional.of(status(0, false, false)));
+        when(userRepository.findStatusById(deletedId)).thenReturn(Optional.of(status(0, true, true)));
+        when(userRepository.findStatusById(unknownId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThat(userStatusCache.isActive(userId, 0)).isFalse();
+        assertThat(userStatusCache.isActive(deletedId, 0)).isFalse();
+        assertThat(userStatusCache.isActive(unknownId, 0)).isFalse();
+    }
+
+    @Test
+    void isActive_temporaryLock_expiresWithoutEviction() throws Exception {
+        // Arrange
+        UUID expiredId = UUID.randomUUID();
+        when(userRepository.findStatusById(expiredId))
+                .thenReturn(Optional.of(status(0, false, false, LocalDateTime.now().minusSeconds(1))));
+        when(userRepository.findStatusById(userId))
+                .thenReturn(Optional.of(status(0, false, false, LocalDateTime.now().plusNanos(50_000_000))));
+
+        // Act & Assert
+        assertThat(userStatusCache.isActive(expiredId, 0)).isTrue();
+        assertThat(userStatusCache.isActive(userId, 0)).isFalse();
+        Thread.sleep(100);
+        assertThat(userStatusCache.isActive(userId, 0)).isTrue();
+        verify(userRepository, times(2)).findStatusById(userId);
+    }
+
+    @Test
+    void evict_forcesReloadWithNewVersion() {
+        // Arrange
+        when(userRepository.findStatusById(userId))
+                .thenReturn(Optional.of(status(0, false, true)))
+                .thenReturn(Optional.of(status(1, false, true)));
+        userStatusCache.isActive(userId, 0);
+
+        // Act
+        userStatusCache.evict(userId);
+
+        // Assert
+        assertThat(userStatusCache.isActive(userId, 0)).isFalse();
+        assertThat(userStatusCache.isActive(userId, 1)).isTrue();
+    }
+
+    @Test
+    void isActive_fullCache_evictsLeastRecentlyUsedAndKeepsCaching() {
+        // Arrange
+        when(userRepository.findStatusById(any())).thenReturn(Optional.of(status(0, false, true)));
+        for (int i = 0; i < UserStatusCache.MAX_ENTRIES; i++) {
+            userStatusCache.isActive(UUID.randomUUID(), 0);
+        }
+
+        // Act
+        userStatusCache.isActive(userId, 0);
+        userStatusCache.isActive(userId, 0);
+
+        // Assert
+        verify(userRepository, times(1)).findStatusById(userId);
+    }
+
+    private static UserStatusView status(long tokenVersion, boolean deleted, boolean accountNonLocked) {
+        return status(tokenVersion, deleted, accountNonLocked, null);
+    }
+
+    private static UserStatusView status(long tokenVersion, boolean deleted, boolean accountNonLocked,
+                                         LocalDateTime lockedUntil) {
+        return new UserStatusView() {
+            @Override
+            public long getTokenVersion() {
+                return tokenVersion;
+            }
+
+            @Override
+            public Boolean getDeleted() {
+                return deleted;
+            }
+
+            @Override
+            public boolean getAccountNonLocked() {
+                return accountNonLocked;
+            }
+
+            @Override
+            public LocalDateTime getLockedUntil() {
+                return lockedUntil;
+            }
+        };
+    }
+}
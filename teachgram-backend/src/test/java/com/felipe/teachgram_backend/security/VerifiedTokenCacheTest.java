@@ -0,0 +1,44 @@
+package com.felipe.teachgram_backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    private final VerifiedTokenCache cache = new VerifiedTokenCache();
+    private final CustomUserDetails principal =
+            new CustomUserDetails(UUID.randomUUID(), "felipe", "felipe@teachgram.com", null, List.of());
+
+    @Test
+    void get_returnsPrincipalUntilTokenExpires() {
+        // Arrange
+        cache.put("valid", principal, Instant.now().plusSeconds(60));
+        cache.put("expired", principal, Instant.now().minusSeconds(1));
+
+        // Act & Assert
+        assertThat(cache.get("valid")).isSameAs(principal);
+        assertThat(cache.get("expired")).isNull();
+        assertThat(cache.get("unknown")).isNull();
+    }
+
+    @Test
+    void put_whenFull_evictsLeastRecentlyUsedAndKeepsCaching() {
+        // Arrange
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        for (int i = 0; i < VerifiedTokenCache.MAX_ENTRIES; i++) {
+            cache.put("token-" + i, principal, expiresAt);
+        }
+
+        // Act
+        cache.put("one-more", principal, expiresAt);
+
+        // Assert
+        assertThat(cache.size()).isLessThanOrEqualTo(VerifiedTokenCache.MAX_ENTRIES);
+        assertThat(cache.get("one-more")).isSameAs(principal);
+    }
+}
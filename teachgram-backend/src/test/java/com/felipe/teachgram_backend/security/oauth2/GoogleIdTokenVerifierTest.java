@@ -0,0 +1,125 @@
+package com.felipe.teachgram_backend.security.oauth2;
+
+import com.felipe.teachgram_backend.config.GoogleOAuth2Properties;
+import com.felipe.teachgram_backend.exception.ValidationException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GoogleIdTokenVerifierTest {
+
+    private static final String CLIENT_ID = "teachgram.apps.googleusercontent.com";
+
+    private RSAKey googleKey;
+    private GoogleIdTokenVerifier verifier;
+
+    @BeforeEach
+    void setup() throws Exception {
+        googleKey = new RSAKeyGenerator(2048).keyID("google-1").generate();
+
+        GoogleOAuth2Properties properties = new GoogleOAuth2Properties();
+        properties.setClientId(CLIENT_ID);
+        verifier = new GoogleIdTokenVerifier(properties, new ImmutableJWKSet<>(new JWKSet(googleKey.toPublicJWK())));
+    }
+
+    @Test
+    void verify_validToken_returnsClaims() throws Exception {
+        // Arrange
+        String token = sign(googleKey, claims().build());
+
+        // Act
+        Map<String, Object> result = verifier.verify(token);
+
+        // Assert
+        assertThat(result).containsEntry("email", "user@example.com").containsEntry("sub", "1234567890");
+    }
+
+    @Test
+    void verify_otherAudience_throws() throws Exception {
+        // Arrange
+        String token = sign(googleKey, claims().audience("another-app.apps.googleusercontent.com").build());
+
+        // Act & Assert
+        assertThatThrownBy(() -> verifier.verify(token))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("Token do Google inválido");
+    }
+
+    @Test
+    void verify_otherIssuer_throws() throws Exception {
+        // Arrange
+        String token = sign(googleKey, claims().issuer("https://evil.example.com").build());
+
+        // Act & Assert
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void verify_expiredToken_throws() throws Exception {
+        // Arrange
+        Instant issued = Instant.now().minusSeconds(7200);
+        String token = sign(googleKey, claims()
+                .issueTime(Date.from(issued))
+                .expirationTime(Date.from(issued.plusSeconds(3600)))
+                .build());
+
+        // Act & Assert
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void verify_unverifiedEmail_throws() throws Exception {
+        // Arrange
+        String token = sign(googleKey, claims().claim("email_verified", false).build());
+
+        // Act & Assert
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void verify_signedByUnknownKey_throws() throws Exception {
+        // Arrange
+        RSAKey forged = new RSAKeyGenerator(2048).keyID("google-1").generate();
+        String token = sign(forged, claims().build());
+
+        // Act & Assert
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(ValidationException.class);
+    }
+
+    private static JWTClaimsSet.Builder claims() {
+        Instant now = Instant.now();
+        return new JWTClaimsSet.Builder()
+                .issuer("https://accounts.google.com")
+                .audience(CLIENT_ID)
+                .subject("1234567890")
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plusSeconds(3600)))
+                .claim("email", "user@example.com")
+                .claim("email_verified", true)
+                .claim("name", "User");
+    }
+
+    private static String sign(RSAKey key, JWTClaimsSet claims) throws Exception {
+        SignedJWT jwt = new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).type(JOSEObjectType.JWT).build(),
+                claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+}
@@ -10,17 +10,16 @@ import com.felipe.teachgram_backend.exception.ValidationException;
 import com.felipe.teachgram_backend.repository.UserRepository;
 import com.felipe.teachgram_backend.security.AuthHandler;
 import com.felipe.teachgram_backend.security.JwtService;
+import com.felipe.teachgram_backend.security.oauth2.GoogleIdTokenVerifier;
 import com.felipe.teachgram_backend.security.oauth2.user.OAuth2UserInfoFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.web.client.RestTemplate;
 
 import java.lang.reflect.Field;
+import java.time.Duration;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.*;
@@ -48,7 +47,10 @@ class AuthServiceTest {
     private PasswordEncoder passwordEncoder;
 
     @Mock
-    private RestTemplate restTemplate;
+    private GoogleIdTokenVerifier googleIdTokenVerifier;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
 
     @Spy
     private OAuth2UserInfoFactory oAuth2UserInfoFactory;
@@ -56,7 +58,7 @@ class AuthServiceTest {
     @BeforeEach
     void setup() throws Exception {
         MockitoAnnotations.openMocks(this);
-        injectField(authService, "jwtExpirationMinutes", 60L);
+        when(jwtService.getAccessTokenTtl()).thenReturn(Duration.ofMinutes(60));
     }
 
     private void injectField(Object target, String fieldName, Object value) {
@@ -70,7 +72,7 @@ class AuthServiceTest {
     }
 
     @Test
-    void signup_callsCreateUserAndReturnsLoginResponse() {
+    void signup_issuesTokensForInsertedUserWithoutAuthenticatingAgain() {
         // Arrange
         UserRequestDTO userRequestDTO = new UserRequestDTO(
                 "username",
@@ -81,25 +83,22 @@ class AuthServiceTest {
                 null,
                 null
         );
-        LoginRequestDTO loginRequestDTO = new LoginRequestDTO(userRequestDTO.getUsername(), userRequestDTO.getPassword());
-        LoginResponseDTO loginResponseDTO = new LoginResponseDTO("token", UUID.randomUUID(), "username", 3600L);
-
-        // Cria spy do authService para poder mockar métodos internos
-        AuthService spyAuthService = Mockito.spy(authService);
-
-        // Mocka método createUser do userService (que é mock mesmo)
-        doNothing().when(userService).createUser(userRequestDTO);
-
-        // Mocka o método login dentro do spy
-        doReturn(loginResponseDTO).when(spyAuthService).login(loginRequestDTO);
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setName("name");
+        when(userService.registerUser(userRequestDTO)).thenReturn(user);
+        when(jwtService.generateToken(user)).thenReturn("token");
+        when(refreshTokenService.issue(user)).thenReturn("refresh");
 
         // Act
-        LoginResponseDTO response = spyAuthService.signup(userRequestDTO);
+        LoginResponseDTO response = authService.signup(userRequestDTO);
 
         // Assert
-        assertThat(response).isEqualTo(loginResponseDTO);
-        verify(userService).createUser(userRequestDTO);
-        verify(spyAuthService).login(loginRequestDTO);
+        assertThat(response.token()).isEqualTo("token");
+        assertThat(response.userId()).isEqualTo(user.getId());
+        assertThat(response.refreshToken()).isEqualTo("refresh");
+        assertThat(response.expiresIn()).isEqualTo(3600L);
+        verifyNoInteractions(authHandler);
     }
 
     @Test
@@ -232,46 +231,59 @@ class AuthServiceTest {
         verify(passwordEncoder).encode(anyString());
     }
 
-    protected RestTemplate createRestTemplate() {
-        return new RestTemplate();
+    @Test
+    void refresh_rotatesTokenWithoutCheckingPassword() {
+        // Arrange
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setName("User Name");
+        when(refreshTokenService.rotate("old-refresh"))
+                .thenReturn(new RefreshTokenService.Rotation(user, "new-refresh"));
+        when(jwtService.generateToken(user)).thenReturn("jwtToken");
+
+        // Act
+        LoginResponseDTO response = authService.refresh("old-refresh");
+
+        // Assert
+        assertThat(response.token()).isEqualTo("jwtToken");
+        assertThat(response.refreshToken()).isEqualTo("new-refresh");
+        assertThat(response.userId()).isEqualTo(user.getId());
+        assertThat(response.expiresIn()).isEqualTo(60L * 60);
+        verifyNoInteractions(authHandler, passwordEncoder);
+    }
+
+    @Test
+    void logout_revokesRefreshTokenFamily() {
+        // Act
+        authService.logout("refresh");
+
+        // Assert
+        verify(refreshTokenService).revoke("refresh");
     }
 
     @Test
     void verifyGoogleIdToken_validToken_returnsAttributes() {
         // Arrange
         String token = "valid-token";
-        Map<String, Object> responseMap = Map.of("email", "user@example.com");
-
-        RestTemplate restTemplate = mock(RestTemplate.class);
-        ResponseEntity<Map> responseEntity = new ResponseEntity<>(responseMap, HttpStatus.OK);
-
-        AuthService spyService = Mockito.spy(authService);
-        doReturn(restTemplate).when(spyService).createRestTemplate(); // precisa existir esse método
-
-        when(restTemplate.getForEntity(anyString(), eq(Map.class))).thenReturn(responseEntity);
+        Map<String, Object> claims = Map.of("email", "user@example.com");
+        when(googleIdTokenVerifier.verify(token)).thenReturn(claims);
 
         // Act
-        Map<String, Object> result = spyService.verifyGoogleIdToken(token);
+        Map<String, Object> result = authService.verifyGoogleIdToken(token);
 
         // Assert
-        assertThat(result).isEqualTo(responseMap);
+        assertThat(result).isEqualTo(claims);
     }
 
     @Test
     void verifyGoogleIdToken_invalidToken_throws() {
         // Arrange
         String token = "invalid-token";
-        RestTemplate restTemplate = mock(RestTemplate.class);
-        ResponseEntity<Map> responseEntity = new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
-
-        AuthService spyService = Mockito.spy(authService);
-        doReturn(restTemplate).when(spyService).createRestTemplate();
-
-        when(restTemplate.getForEntity(anyString(), eq(Map.class))).thenReturn(responseEntity);
+        when(googleIdTokenVerifier.verify(token)).thenThrow(new ValidationException("Token do Google inválido: assinatura"));
 
         // Act & Assert
-        assertThatThrownBy(() -> spyService.verifyGoogleIdToken(token))
-                .isInstanceOf(RuntimeException.class)
-                .hasMessageContaining("Token inválido");
+        assertThatThrownBy(() -> authService.verifyGoogleIdToken(token))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("Token do Google inválido");
     }
 }
@@ -0,0 +1,105 @@
+package com.felipe.teachgram_backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FollowGraphIndexTest {
+
+    private FollowGraphIndex index;
+
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final UUID carol = UUID.randomUUID();
+
+    @BeforeEach
+    void setup() {
+        index = new FollowGraphIndex();
+    }
+
+    @Test
+    void rebuild_loadsEdgesAndMarksReady() {
+        // Arrange
+        assertThat(index.isReady()).isFalse();
+
+        // Act
+        index.rebuild(sink -> {
+            sink.accept(alice, carol);
+            sink.accept(alice, bob);
+            sink.accept(bob, alice);
+            sink.accept(alice, bob);
+        });
+
+        // Assert
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.follows(alice, bob)).isTrue();
+        assertThat(index.follows(bob, alice)).isTrue();
+        assertThat(index.follows(carol, alice)).isFalse();
+        assertThat(index.followingCount(alice)).isEqualTo(2);
+        assertThat(index.followersCount(bob)).isEqualTo(1);
+    }
+
+    @Test
+    void addAndRemoveFollow_updateBothDirections() {
+        // Act
+        index.addFollows(alice, List.of(bob, carol));
+        index.removeFollow(alice, carol);
+
+        // Assert
+        assertThat(index.follows(alice, bob)).isTrue();
+        assertThat(index.follows(alice, carol)).isFalse();
+        assertThat(index.followingCount(alice)).isEqualTo(1);
+        assertThat(index.followersCount(carol)).isZero();
+    }
+
+    @Test
+    void rebuild_replaysMutationsMadeDuringTheScan() {
+        // Act
+        index.rebuild(sink -> {
+            sink.accept(alice, bob);
+            index.addFollow(carol, alice);
+            index.removeFollow(alice, bob);
+        });
+
+        // Assert
+        assertThat(index.follows(carol, alice)).isTrue();
+        assertThat(index.follows(alice, bob)).isFalse();
+    }
+
+    @Test
+    void followingOf_returnsSortedDenseIdsUpToLimit() {
+        // Arrange
+        index.addFollows(alice, List.of(bob, carol));
+
+        // Act
+        int[] following = index.followingOf(index.indexOf(alice), 1);
+
+        // Assert
+        assertThat(following).hasSize(1);
+        assertThat(index.userIdOf(following[0])).isIn(bob, carol);
+        assertThat(index.indexOf(UUID.randomUUID())).isEqualTo(-1);
+    }
+
+    @Test
+    void followingOf_overLimit_samplesAcrossTheWholeList() {
+        // Arrange
+        List<UUID> followed = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            followed.add(UUID.randomUUID());
+        }
+        index.addFollows(alice, followed);
+
+        // Act
+        int[] sample = index.followingOf(index.indexOf(alice), 10);
+
+        // Assert
+        assertThat(sample).hasSize(10).isSorted().doesNotHaveDuplicates();
+        assertThat(index.userIdOf(sample[0])).isEqualTo(followed.get(0));
+        assertThat(index.userIdOf(sample[9])).isEqualTo(followed.get(90));
+    }
+}
@@ -1,9 +1,17 @@
 package com.felipe.teachgram_backend.service;
 
+import com.felipe.teachgram_backend.constants.FollowOutcome;
+import com.felipe.teachgram_backend.dto.common.CursorPageDTO;
+import com.felipe.teachgram_backend.dto.user.FollowBatchRequestDTO;
+import com.felipe.teachgram_backend.dto.user.FollowBatchResultDTO;
+import com.felipe.teachgram_backend.dto.user.FollowOutcomeDTO;
+import com.felipe.teachgram_backend.dto.user.FollowStatusDTO;
 import com.felipe.teachgram_backend.dto.user.UserFollowDTO;
 import com.felipe.teachgram_backend.entity.Follow;
 import com.felipe.teachgram_backend.entity.User;
+import com.felipe.teachgram_backend.exception.ValidationException;
 import com.felipe.teachgram_backend.repository.FollowRepository;
+import com.felipe.teachgram_backend.repository.FollowUserView;
 import com.felipe.teachgram_backend.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,6 +33,12 @@ class FollowServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private FollowGraphIndex followGraphIndex;
+
+    @Mock
+    private FollowSuggestionService followSuggestionService;
+
     private UUID followerId;
     private UUID followingId;
     private User follower;
@@ -166,73 +180,196 @@ class FollowServiceTest {
         verify(followRepository, never()).deleteByFollowerAndFollowing(any(), any());
     }
 
+    private FollowUserView view(User user, LocalDateTime followedAt) {
+        FollowUserView view = mock(FollowUserView.class);
+        when(view.getId()).thenReturn(user.getId());
+        when(view.getName()).thenReturn(user.getName());
+        when(view.getUsername()).thenReturn(user.getUsername());
+        when(view.getProfileLink()).thenReturn(user.getProfileLink());
+        when(view.getFollowedAt()).thenReturn(followedAt);
+        return view;
+    }
+
     @Test
-    void getFollowers_success() {
+    void getFollowers_firstPage_success() {
         // Arrange
-        Follow follow = new Follow();
-        follow.setFollower(follower);
-        follow.setFollowing(following);
-        follow.setFollowedAt(LocalDateTime.now());
-
-        when(userRepository.findById(followingId)).thenReturn(Optional.of(following));
-        when(followRepository.findAllByFollowing(following)).thenReturn(List.of(follow));
+        List<FollowUserView> rows = List.of(view(follower, LocalDateTime.now()));
+        when(followRepository.findFollowersFirstPage(followingId, 21)).thenReturn(rows);
 
         // Act
-        List<UserFollowDTO> followers = followService.getFollowers(followingId);
+        CursorPageDTO<UserFollowDTO> page = followService.getFollowers(followingId, null, 20);
 
         // Assert
-        assertThat(followers).hasSize(1);
-        assertThat(followers.get(0).id()).isEqualTo(followerId);
-        assertThat(followers.get(0).name()).isEqualTo(follower.getName());
-        assertThat(followers.get(0).username()).isEqualTo(follower.getUsername());
-        assertThat(followers.get(0).profileLink()).isEqualTo(follower.getProfileLink());
+        assertThat(page.items()).hasSize(1);
+        assertThat(page.items().get(0).id()).isEqualTo(followerId);
+        assertThat(page.items().get(0).name()).isEqualTo(follower.getName());
+        assertThat(page.items().get(0).username()).isEqualTo(follower.getUsername());
+        assertThat(page.items().get(0).profileLink()).isEqualTo(follower.getProfileLink());
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.nextCursor()).isNull();
+        verify(userRepository, never()).findById(any());
     }
 
     @Test
-    void getFollowers_userNotFound_throws() {
+    void getFollowers_fullPage_returnsCursorThatResumesAfterLastRow() {
         // Arrange
-        when(userRepository.findById(followingId)).thenReturn(Optional.empty());
+        LocalDateTime newest = LocalDateTime.of(2025, 5, 10, 12, 0, 0, 123456000);
+        LocalDateTime older = newest.minusMinutes(5);
+        List<FollowUserView> rows = List.of(view(follower, newest), view(following, older));
+        when(followRepository.findFollowersFirstPage(followingId, 2)).thenReturn(rows);
+
+        // Act
+        CursorPageDTO<UserFollowDTO> firstPage = followService.getFollowers(followingId, null, 1);
+        followService.getFollowers(followingId, firstPage.nextCursor(), 1);
+
+        // Assert
+        assertThat(firstPage.items()).extracting(UserFollowDTO::id).containsExactly(followerId);
+        assertThat(firstPage.hasNext()).isTrue();
+        verify(followRepository).findFollowersAfter(followingId, newest, followerId, 2);
+    }
+
+    @Test
+    void getFollowers_pageSizeIsClamped() {
+        // Act
+        followService.getFollowers(followingId, null, 10_000);
+
+        // Assert
+        verify(followRepository).findFollowersFirstPage(followingId, FollowService.MAX_PAGE_SIZE + 1);
+    }
 
+    @Test
+    void getFollowers_invalidCursor_throws() {
         // Act & Assert
-        assertThatThrownBy(() -> followService.getFollowers(followingId))
-                .isInstanceOf(NoSuchElementException.class);
+        assertThatThrownBy(() -> followService.getFollowers(followingId, "not-a-cursor", 20))
+                .isInstanceOf(ValidationException.class);
 
-        verify(userRepository).findById(followingId);
-        verify(followRepository, never()).findAllByFollowing(any());
+        verify(followRepository, never()).findFollowersAfter(any(), any(), any(), anyInt());
     }
 
     @Test
-    void getFollowing_success() {
+    void getFollowing_firstPage_success() {
         // Arrange
-        Follow follow = new Follow();
-        follow.setFollower(follower);
-        follow.setFollowing(following);
-        follow.setFollowedAt(LocalDateTime.now());
+        List<FollowUserView> rows = List.of(view(following, LocalDateTime.now()));
+        when(followRepository.findFollowingFirstPage(followerId, 21)).thenReturn(rows);
 
-        when(userRepository.findById(followerId)).thenReturn(Optional.of(follower));
-        when(followRepository.findAllByFollower(follower)).thenReturn(List.of(follow));
+        // Act
+        CursorPageDTO<UserFollowDTO> page = followService.getFollowing(followerId, null, 20);
+
+        // Assert
+        assertThat(page.items()).hasSize(1);
+        assertThat(page.items().get(0).id()).isEqualTo(followingId);
+        assertThat(page.items().get(0).name()).isEqualTo(following.getName());
+        assertThat(page.items().get(0).username()).isEqualTo(following.getUsername());
+        assertThat(page.items().get(0).profileLink()).isEqualTo(following.getProfileLink());
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    void getFollowing_withCursor_queriesAfterCursor() {
+        // Arrange
+        LocalDateTime followedAt = LocalDateTime.of(2025, 1, 1, 8, 30);
+        List<FollowUserView> rows = List.of(view(following, followedAt), view(follower, followedAt));
+        when(followRepository.findFollowingFirstPage(followerId, 2)).thenReturn(rows);
+        String cursor = followService.getFollowing(followerId, null, 1).nextCursor();
 
         // Act
-        List<UserFollowDTO> followingList = followService.getFollowing(followerId);
+        followService.getFollowing(followerId, cursor, 1);
 
         // Assert
-        assertThat(followingList).hasSize(1);
-        assertThat(followingList.get(0).id()).isEqualTo(followingId);
-        assertThat(followingList.get(0).name()).isEqualTo(following.getName());
-        assertThat(followingList.get(0).username()).isEqualTo(following.getUsername());
-        assertThat(followingList.get(0).profileLink()).isEqualTo(following.getProfileLink());
+        verify(followRepository).findFollowingAfter(followerId, followedAt, followingId, 2);
     }
 
     @Test
-    void getFollowing_userNotFound_throws() {
+    void getFollowStatuses_answersFromBatchQueriesIgnoringIndex() {
         // Arrange
-        when(userRepository.findById(followerId)).thenReturn(Optional.empty());
+        UUID otherId = UUID.randomUUID();
+        when(followRepository.findFollowingIdsAmong(eq(followerId), any())).thenReturn(List.of(followingId));
+        when(followRepository.findFollowerIdsAmong(eq(followerId), any())).thenReturn(List.of(otherId));
+
+        // Act
+        List<FollowStatusDTO> statuses = followService.getFollowStatuses(followerId, List.of(followingId, otherId));
+
+        // Assert
+        assertThat(statuses).containsExactly(
+                new FollowStatusDTO(followingId, true, false, false),
+                new FollowStatusDTO(otherId, false, true, false));
+        verifyNoInteractions(followGraphIndex);
+    }
+
+    @Test
+    void getFollowStatuses_tooManyIds_throws() {
+        // Arrange
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i <= FollowService.MAX_STATUS_IDS; i++) {
+            ids.add(UUID.randomUUID());
+        }
 
         // Act & Assert
-        assertThatThrownBy(() -> followService.getFollowing(followerId))
-                .isInstanceOf(NoSuchElementException.class);
+        assertThatThrownBy(() -> followService.getFollowStatuses(followerId, ids))
+                .isInstanceOf(ValidationException.class);
+        verifyNoInteractions(followGraphIndex);
+    }
 
-        verify(userRepository).findById(followerId);
-        verify(followRepository, never()).findAllByFollower(any());
+    @Test
+    void batchFollow_mixedTargets_reportsOutcomePerTargetAndUpdatesIndex() {
+        // Arrange
+        UUID alreadyFollowed = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        UUID notFollowed = UUID.randomUUID();
+        FollowBatchRequestDTO request = FollowBatchRequestDTO.builder()
+                .follow(List.of(followingId, alreadyFollowed, missing, followerId))
+                .unfollow(List.of(notFollowed))
+                .build();
+        when(followRepository.insertFollowsIgnoringExisting(eq(followerId), any())).thenReturn(List.of(followingId));
+        when(followRepository.findFollowingIdsAmong(eq(followerId), any()))
+                .thenReturn(List.of(followingId, alreadyFollowed));
+        when(followRepository.deleteFollowsReturningIds(eq(followerId), any())).thenReturn(List.of());
+
+        // Act
+        FollowBatchResultDTO result = followService.batchFollow(followerId, request);
+
+        // Assert
+        assertThat(result.followed()).isEqualTo(1);
+        assertThat(result.unfollowed()).isZero();
+        assertThat(result.results()).containsExactly(
+                new FollowOutcomeDTO(followingId, FollowOutcome.FOLLOWED),
+                new FollowOutcomeDTO(alreadyFollowed, FollowOutcome.ALREADY_FOLLOWING),
+                new FollowOutcomeDTO(missing, FollowOutcome.NOT_FOUND),
+                new FollowOutcomeDTO(followerId, FollowOutcome.SELF),
+                new FollowOutcomeDTO(notFollowed, FollowOutcome.NOT_FOLLOWING));
+        verify(followGraphIndex).addFollows(followerId, Set.of(followingId));
+        verify(followSuggestionService).invalidate(followerId);
+        verify(followRepository, never()).save(any());
+    }
+
+    @Test
+    void batchFollow_unfollowOnly_deletesInOneStatement() {
+        // Arrange
+        FollowBatchRequestDTO request = FollowBatchRequestDTO.builder().unfollow(List.of(followingId)).build();
+        when(followRepository.deleteFollowsReturningIds(followerId, Set.of(followingId)))
+                .thenReturn(List.of(followingId));
+
+        // Act
+        FollowBatchResultDTO result = followService.batchFollow(followerId, request);
+
+        // Assert
+        assertThat(result.unfollowed()).isEqualTo(1);
+        assertThat(result.results()).containsExactly(new FollowOutcomeDTO(followingId, FollowOutcome.UNFOLLOWED));
+        verify(followRepository, never()).insertFollowsIgnoringExisting(any(), any());
+        verify(followGraphIndex).removeFollows(followerId, Set.of(followingId));
+    }
+
+    @Test
+    void batchFollow_sameIdInBothLists_throws() {
+        // Arrange
+        FollowBatchRequestDTO request = FollowBatchRequestDTO.builder()
+                .follow(List.of(followingId))
+                .unfollow(List.of(followingId))
+                .build();
+
+        // Act & Assert
+        assertThatThrownBy(() -> followService.batchFollow(followerId, request))
+                .isInstanceOf(ValidationException.class);
+        verifyNoInteractions(followRepository);
     }
 }
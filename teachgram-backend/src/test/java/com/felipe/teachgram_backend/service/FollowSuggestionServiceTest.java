@@ -0,0 +1,112 @@
+package com.felipe.teachgram_backend.service;
+
+import com.felipe.teachgram_backend.dto.user.FollowSuggestionDTO;
+import com.felipe.teachgram_backend.dto.user.UserFollowDTO;
+import com.felipe.teachgram_backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class FollowSuggestionServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private FollowGraphIndex followGraphIndex;
+    private FollowSuggestionService followSuggestionService;
+
+    private final UUID me = UUID.randomUUID();
+    private final UUID friendA = UUID.randomUUID();
+    private final UUID friendB = UUID.randomUUID();
+    private final UUID popular = UUID.randomUUID();
+    private final UUID lessPopular = UUID.randomUUID();
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        followGraphIndex = new FollowGraphIndex();
+        followSuggestionService = new FollowSuggestionService(followGraphIndex, userRepository);
+
+        followGraphIndex.rebuild(sink -> {
+            sink.accept(me, friendA);
+            sink.accept(me, friendB);
+            sink.accept(friendA, popular);
+            sink.accept(friendB, popular);
+            sink.accept(friendA, lessPopular);
+            sink.accept(friendA, friendB);
+            sink.accept(friendB, me);
+        });
+
+        when(userRepository.findFollowDTOsByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<UUID> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> new UserFollowDTO(id, "name", "user-" + id, null)).toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        followSuggestionService.shutdown();
+    }
+
+    @Test
+    void getSuggestions_ranksFriendsOfFriendsAndSkipsExistingFollowsAndSelf() {
+        // Act
+        List<FollowSuggestionDTO> suggestions = followSuggestionService.getSuggestions(me, 10);
+
+        // Assert
+        assertThat(suggestions).extracting(FollowSuggestionDTO::id).containsExactly(popular, lessPopular);
+        assertThat(suggestions).extracting(FollowSuggestionDTO::mutualConnections).containsExactly(2, 1);
+    }
+
+    @Test
+    void getSuggestions_cachesUntilInvalidated() {
+        // Act
+        followSuggestionService.getSuggestions(me, 10);
+        followSuggestionService.getSuggestions(me, 1);
+        followSuggestionService.invalidate(me);
+        followSuggestionService.getSuggestions(me, 10);
+
+        // Assert
+        verify(userRepository, times(2)).findFollowDTOsByIdIn(anyCollection());
+    }
+
+    @Test
+    void getSuggestions_indexNotReady_returnsEmpty() {
+        // Arrange
+        FollowSuggestionService coldService = new FollowSuggestionService(new FollowGraphIndex(), userRepository);
+
+        // Act & Assert
+        assertThat(coldService.getSuggestions(me, 10)).isEmpty();
+        coldService.shutdown();
+    }
+
+    @Test
+    void intIntCounter_countsAndMergesAcrossResizes() {
+        // Arrange
+        FollowSuggestionService.IntIntCounter left = new FollowSuggestionService.IntIntCounter(2);
+        FollowSuggestionService.IntIntCounter right = new FollowSuggestionService.IntIntCounter(2);
+        for (int key = 0; key < 1_000; key++) {
+            left.increment(key);
+            right.add(key, 2);
+        }
+
+        // Act
+        left.addAll(right);
+
+        // Assert
+        assertThat(left.size()).isEqualTo(1_000);
+        assertThat(left.get(0)).isEqualTo(3);
+        assertThat(left.get(999)).isEqualTo(3);
+        assertThat(left.get(1_000)).isZero();
+    }
+}
@@ -414,7 +414,7 @@ class PostServiceTest {
         when(postRepository.findById(privatePost.getId())).thenReturn(Optional.of(privatePost));
 
         // Act & Assert
-        assertThatThrownBy(() -> postService.getPostById(privatePost.getId(), otherUser))
+        assertThatThrownBy(() -> postService.getPostById(privatePost.getId(), otherUser.getId()))
                 .isInstanceOf(ValidationException.class)
                 .hasMessageContaining("Access denied");
 
@@ -431,7 +431,7 @@ class PostServiceTest {
         when(userMapper.toDto(any())).thenReturn(new UserResponseDTO());
 
         // Act
-        PostResponseDTO response = postService.getPostById(post.getId(), user);
+        PostResponseDTO response = postService.getPostById(post.getId(), user.getId());
 
         // Assert
         assertThat(response).isNotNull();
@@ -0,0 +1,188 @@
+package com.felipe.teachgram_backend.service;
+
+import com.felipe.teachgram_backend.config.ProfileProperties;
+import com.felipe.teachgram_backend.dto.post.PostResponseDTO;
+import com.felipe.teachgram_backend.dto.user.FollowStatusDTO;
+import com.felipe.teachgram_backend.dto.user.ProfileSummaryDTO;
+import com.felipe.teachgram_backend.dto.user.UserResponseDTO;
+import com.felipe.teachgram_backend.exception.ResourceNotFoundException;
+import com.felipe.teachgram_backend.observability.CountingStatementInspector;
+import com.felipe.teachgram_backend.observability.StatementCounter;
+import com.felipe.teachgram_backend.repository.FollowRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.stubbing.Answer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ProfileServiceTest {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private PostService postService;
+
+    @Mock
+    private FollowService followService;
+
+    @Mock
+    private FollowRepository followRepository;
+
+    private ProfileService profileService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID callerId = UUID.randomUUID();
+    private final Pageable pageable = PageRequest.of(0, 12);
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        profileService = new ProfileService(userService, postService, followService, followRepository,
+                new ProfileProperties());
+    }
+
+    @Test
+    void getProfileSummary_otherUser_returnsCountersRelationshipAndPublicGrid() {
+        // Arrange
+        UserResponseDTO user = UserResponseDTO.builder().id(userId).userName("target").build();
+        Page<PostResponseDTO> posts = new PageImpl<>(
+                List.of(PostResponseDTO.builder().id(1L).build()), PageRequest.of(0, 1), 7);
+
+        when(userService.getUserById(userId)).thenReturn(user);
+        when(followRepository.countByFollowing_Id(userId)).thenReturn(10L);
+        when(followRepository.countByFollower_Id(userId)).thenReturn(3L);
+        when(followService.getFollowStatus(callerId, userId))
+                .thenReturn(new FollowStatusDTO(userId, true, false, false));
+        when(postService.getProfileGrid(userId, false, pageable)).thenReturn(posts);
+
+        // Act
+        ProfileSummaryDTO summary = profileService.getProfileSummary(userId, callerId, pageable);
+
+        // Assert
+        assertThat(summary.user()).isEqualTo(user);
+        assertThat(summary.postsCount()).isEqualTo(7L);
+        assertThat(summary.followersCount()).isEqualTo(10L);
+        assertThat(summary.followingCount()).isEqualTo(3L);
+        assertThat(summary.following()).isTrue();
+        assertThat(summary.followedBy()).isFalse();
+        assertThat(summary.posts()).isSameAs(posts);
+        verify(postService).getProfileGrid(userId, false, pageable);
+    }
+
+    @Test
+    void getProfileSummary_ownProfile_includesPrivatePostsAndSkipsRelationshipQueries() {
+        // Arrange
+        when(userService.getUserById(userId)).thenReturn(UserResponseDTO.builder().id(userId).build());
+        when(postService.getProfileGrid(userId, true, pageable)).thenReturn(Page.empty(pageable));
+
+        // Act
+        ProfileSummaryDTO summary = profileService.getProfileSummary(userId, userId, pageable);
+
+        // Assert
+        assertThat(summary.following()).isFalse();
+        assertThat(summary.followedBy()).isFalse();
+        verify(postService).getProfileGrid(userId, true, pageable);
+        verify(followService, never()).getFollowStatus(any(), any());
+    }
+
+    @Test
+    void getProfileSummary_userNotFound_rethrowsResourceNotFound() {
+        // Arrange
+        when(userService.getUserById(userId))
+                .thenThrow(new ResourceNotFoundException("User not found with ID: " + userId));
+        when(postService.getProfileGrid(any(), anyBoolean(), any())).thenReturn(Page.empty(pageable));
+
+        // Act & Assert
+        assertThatThrownBy(() -> profileService.getProfileSummary(userId, callerId, pageable))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining(userId.toString());
+    }
+
+    @Test
+    void getProfileSummary_singlePermit_runsQueriesOneAtATime() {
+        // Arrange
+        ProfileProperties properties = new ProfileProperties();
+        properties.setMaxConcurrentQueries(1);
+        profileService = new ProfileService(userService, postService, followService, followRepository,
+                properties);
+
+        when(userService.getUserById(userId)).thenAnswer(tracked(UserResponseDTO.builder().id(userId).build()));
+        when(followRepository.countByFollowing_Id(userId)).thenAnswer(tracked(1L));
+        when(followRepository.countByFollower_Id(userId)).thenAnswer(tracked(2L));
+        when(followService.getFollowStatus(callerId, userId))
+                .thenAnswer(tracked(new FollowStatusDTO(userId, false, false, false)));
+        when(postService.getProfileGrid(userId, false, pageable)).thenAnswer(tracked(Page.empty(pageable)));
+
+        // Act
+        ProfileSummaryDTO summary = profileService.getProfileSummary(userId, callerId, pageable);
+
+        // Assert
+        assertThat(summary.followersCount()).isEqualTo(1L);
+        assertThat(summary.followingCount()).isEqualTo(2L);
+        assertThat(maxRunning.get()).isEqualTo(1);
+    }
+
+    @Test
+    void getProfileSummary_forkedQueries_areCountedByTheRequestRecording() {
+        // Arrange
+        when(userService.getUserById(userId))
+                .thenAnswer(querying("select * from users", UserResponseDTO.builder().id(userId).build()));
+        when(followRepository.countByFollowing_Id(userId)).thenAnswer(querying("select count(*) followers", 1L));
+        when(followRepository.countByFollower_Id(userId)).thenAnswer(querying("select count(*) following", 2L));
+        when(followService.getFollowStatus(callerId, userId))
+                .thenAnswer(querying("select * from follows", new FollowStatusDTO(userId, false, false, false)));
+        when(postService.getProfileGrid(userId, false, pageable))
+                .thenAnswer(querying("select * from posts", Page.empty(pageable)));
+
+        // Act
+        StatementCounter.Recording recording = StatementCounter.start(10);
+        try {
+            profileService.getProfileSummary(userId, callerId, pageable);
+        } finally {
+            recording.close();
+        }
+
+        // Assert
+        assertThat(recording.count()).isEqualTo(5);
+        assertThat(recording.statements()).containsExactlyInAnyOrder("select * from users",
+                "select count(*) followers", "select count(*) following", "select * from follows",
+                "select * from posts");
+    }
+
+    private static <T> Answer<T> querying(String sql, T result) {
+        CountingStatementInspector inspector = new CountingStatementInspector();
+        return invocation -> {
+            // roda na thread do fork, como o StatementInspector do Hibernate
+            inspector.inspect(sql);
+            return result;
+        };
+    }
+
+    private <T> Answer<T> tracked(T result) {
+        return invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+                return result;
+            } finally {
+                running.decrementAndGet();
+            }
+        };
+    }
+}
@@ -0,0 +1,137 @@
+package com.felipe.teachgram_backend.service;
+
+import com.felipe.teachgram_backend.constants.AuthErrorMessages;
+import com.felipe.teachgram_backend.entity.RefreshToken;
+import com.felipe.teachgram_backend.entity.User;
+import com.felipe.teachgram_backend.exception.ValidationException;
+import com.felipe.teachgram_backend.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    private User user;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(refreshTokenService, "refreshExpirationDays", 14L);
+
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setTokenVersion(2);
+    }
+
+    @Test
+    void issue_storesOnlyHashAndStartsNewFamily() {
+        // Act
+        String rawToken = refreshTokenService.issue(user);
+
+        // Assert
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        RefreshToken stored = captor.getValue();
+        assertThat(stored.getTokenHash()).isEqualTo(RefreshTokenService.hash(rawToken)).isNotEqualTo(rawToken);
+        assertThat(stored.getFamilyId()).isNotNull();
+        assertThat(stored.getTokenVersion()).isEqualTo(2);
+        assertThat(stored.getExpiresAt()).isAfter(LocalDateTime.now().plusDays(13));
+        verify(refreshTokenRepository).deleteExpiredByUserId(eq(user.getId()), any());
+    }
+
+    @Test
+    void rotate_validToken_consumesItAndIssuesNextInSameFamily() {
+        // Arrange
+        RefreshToken current = storedToken("raw");
+        when(refreshTokenRepository.markUsed(eq(current.getId()), any())).thenReturn(1);
+
+        // Act
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("raw");
+
+        // Assert
+        assertThat(rotation.user()).isSameAs(user);
+        assertThat(rotation.refreshToken()).isNotEqualTo("raw");
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        assertThat(captor.getValue().getFamilyId()).isEqualTo(current.getFamilyId());
+        verify(refreshTokenRepository, never()).revokeFamily(any(), any());
+    }
+
+    @Test
+    void rotate_reusedToken_revokesFamily() {
+        // Arrange
+        RefreshToken current = storedToken("raw");
+        current.setUsedAt(LocalDateTime.now().minusMinutes(1));
+
+        // Act & Assert
+        assertThatThrownBy(() -> refreshTokenService.rotate("raw"))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage(AuthErrorMessages.INVALID_REFRESH_TOKEN.getMessage());
+        verify(refreshTokenRepository).revokeFamily(eq(current.getFamilyId()), any());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_lostRaceOnMarkUsed_revokesFamily() {
+        // Arrange
+        RefreshToken current = storedToken("raw");
+        when(refreshTokenRepository.markUsed(eq(current.getId()), any())).thenReturn(0);
+
+        // Act & Assert
+        assertThatThrownBy(() -> refreshTokenService.rotate("raw")).isInstanceOf(ValidationException.class);
+        verify(refreshTokenRepository).revokeFamily(eq(current.getFamilyId()), any());
+    }
+
+    @Test
+    void rotate_tokenVersionBumped_rejects() {
+        // Arrange
+        RefreshToken current = storedToken("raw");
+        when(refreshTokenRepository.markUsed(eq(current.getId()), any())).thenReturn(1);
+        user.revokeTokens();
+
+        // Act & Assert
+        assertThatThrownBy(() -> refreshTokenService.rotate("raw")).isInstanceOf(ValidationException.class);
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_unknownToken_throws() {
+        // Arrange
+        when(refreshTokenRepository.findWithUserByTokenHash(any())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> refreshTokenService.rotate("nope")).isInstanceOf(ValidationException.class);
+    }
+
+    private RefreshToken storedToken(String rawToken) {
+        RefreshToken token = new RefreshToken();
+        token.setId(UUID.randomUUID());
+        token.setUser(user);
+        token.setFamilyId(UUID.randomUUID());
+        token.setTokenHash(RefreshTokenService.hash(rawToken));
+        token.setTokenVersion(user.getTokenVersion());
+        token.setExpiresAt(LocalDateTime.now().plusDays(1));
+        when(refreshTokenRepository.findWithUserByTokenHash(token.getTokenHash())).thenReturn(Optional.of(token));
+        return token;
+    }
+}
@@ -9,14 +9,19 @@ import com.felipe.teachgram_backend.exception.ResourceNotFoundException;
 import com.felipe.teachgram_backend.exception.ValidationException;
 import com.felipe.teachgram_backend.mapper.UserMapper;
 import com.felipe.teachgram_backend.repository.RoleRepository;
+import com.felipe.teachgram_backend.repository.UserIdentityView;
 import com.felipe.teachgram_backend.repository.UserRepository;
+import com.felipe.teachgram_backend.security.UserStatusCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.hibernate.exception.ConstraintViolationException;
 import org.mockito.*;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -39,7 +44,11 @@ class UserServiceTest {
     @Mock
     private UserMapper userMapper;
 
-    @InjectMocks
+    @Mock
+    private UserStatusCache userStatusCache;
+
+    private RoleRegistry roleRegistry;
+
     private UserService userService;
 
     private final UUID userId = UUID.randomUUID();
@@ -47,6 +56,8 @@ class UserServiceTest {
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
+        roleRegistry = new RoleRegistry(roleRepository);
+        userService = new UserService(userRepository, roleRegistry, passwordEncoder, userMapper, userStatusCache);
     }
 
     private UserRequestDTO buildUserRequestDTO() {
@@ -97,19 +108,18 @@ class UserServiceTest {
                 null
         );
 
-        when(userRepository.existsByUsername(dto.getUsername())).thenReturn(false);
-        when(userRepository.existsByEmail(dto.getEmail())).thenReturn(false);
-        when(userRepository.existsByPhone(dto.getPhone())).thenReturn(false);
+        when(userRepository.findIdentityConflicts(dto.getUsername(), dto.getEmail(), dto.getPhone()))
+                .thenReturn(List.of());
         when(roleRepository.findByName(UserRole.USER.getRoleName()))
                 .thenReturn(Optional.of(new Role(1L, UserRole.USER.getRoleName())));
         when(passwordEncoder.encode(dto.getPassword())).thenReturn("hashed-password");
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
         userService.createUser(dto);
 
         // Assert
-        verify(userRepository).save(argThat(user ->
+        verify(userRepository).saveAndFlush(argThat(user ->
                 user.getUsername().equals(dto.getUsername())
                         && user.getEmail().equals(dto.getEmail())
                         && user.getPhone().equals(dto.getPhone())
@@ -117,10 +127,29 @@ class UserServiceTest {
                         && user.getPassword().equals("hashed-password")
                         && user.getRoles().stream().anyMatch(role -> role.getName().equals(UserRole.USER.getRoleName()))
         ));
-        verify(roleRepository).findByName(UserRole.USER.getRoleName());
+        verify(userRepository).findIdentityConflicts(dto.getUsername(), dto.getEmail(), dto.getPhone());
+        verify(userRepository, never()).existsByUsername(any());
         verify(passwordEncoder).encode(dto.getPassword());
     }
 
+    @Test
+    @DisplayName("Should read the USER role from the registry once it is loaded")
+    void createUser_roleServedFromRegistry() {
+        // Arrange
+        UserRequestDTO dto = buildUserRequestDTO();
+        when(roleRepository.findAll()).thenReturn(List.of(new Role(1L, UserRole.USER.getRoleName())));
+        roleRegistry.load();
+        when(userRepository.findIdentityConflicts(any(), any(), any())).thenReturn(List.of());
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        userService.registerUser(dto);
+        userService.registerUser(dto);
+
+        // Assert
+        verify(roleRepository, never()).findByName(any());
+    }
+
     @Test
     @DisplayName("Should throw ValidationException when username already exists")
     void createUser_whenUsernameAlreadyExists_thenThrowsValidationException() {
@@ -134,15 +163,16 @@ class UserServiceTest {
                 null,
                 null
         );
-        when(userRepository.existsByUsername(dto.getUsername())).thenReturn(true);
+        when(userRepository.findIdentityConflicts(dto.getUsername(), dto.getEmail(), dto.getPhone()))
+                .thenReturn(List.of(identity(dto.getUsername(), "other@example.com", null)));
 
         // Act & Assert
         assertThatThrownBy(() -> userService.createUser(dto))
                 .isInstanceOf(ValidationException.class)
                 .hasMessageContaining("Username");
 
-        verify(userRepository).existsByUsername(dto.getUsername());
-        verify(userRepository, never()).save(any());
+        verify(userRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(passwordEncoder);
     }
 
     @Test
@@ -159,17 +189,15 @@ class UserServiceTest {
                 null
         );
 
-        when(userRepository.existsByUsername(dto.getUsername())).thenReturn(false);
-        when(userRepository.existsByEmail(dto.getEmail())).thenReturn(true);
+        when(userRepository.findIdentityConflicts(dto.getUsername(), dto.getEmail(), dto.getPhone()))
+                .thenReturn(List.of(identity("someoneelse", dto.getEmail(), null)));
 
         // Act & Assert
         assertThatThrownBy(() -> userService.createUser(dto))
                 .isInstanceOf(ValidationException.class)
                 .hasMessageContaining("Email");
 
-        verify(userRepository).existsByUsername(dto.getUsername());
-        verify(userRepository).existsByEmail(dto.getEmail());
-        verify(userRepository, never()).save(any());
+        verify(userRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -186,19 +214,32 @@ class UserServiceTest {
                 null
         );
 
-        when(userRepository.existsByUsername(dto.getUsername())).thenReturn(false);
-        when(userRepository.existsByEmail(dto.getEmail())).thenReturn(false);
-        when(userRepository.existsByPhone(dto.getPhone())).thenReturn(true);
+        when(userRepository.findIdentityConflicts(dto.getUsername(), dto.getEmail(), dto.getPhone()))
+                .thenReturn(List.of(identity("other", "other@example.com", dto.getPhone())));
 
         // Act & Assert
         assertThatThrownBy(() -> userService.createUser(dto))
                 .isInstanceOf(ValidationException.class)
                 .hasMessageContaining("Phone");
 
-        verify(userRepository).existsByUsername(dto.getUsername());
-        verify(userRepository).existsByEmail(dto.getEmail());
-        verify(userRepository).existsByPhone(dto.getPhone());
-        verify(userRepository, never()).save(any());
+        verify(userRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Should map a unique constraint violation from a concurrent signup to ValidationException")
+    void createUser_whenInsertViolatesUniqueConstraint_thenThrowsValidationException() {
+        // Arrange
+        UserRequestDTO dto = buildUserRequestDTO();
+        when(userRepository.findIdentityConflicts(any(), any(), any())).thenReturn(List.of());
+        when(roleRepository.findByName(UserRole.USER.getRoleName()))
+                .thenReturn(Optional.of(new Role(1L, UserRole.USER.getRoleName())));
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate key", new SQLException("duplicate key"), "users_email_key")));
+
+        // Act & Assert
+        assertThatThrownBy(() -> userService.createUser(dto))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("Email");
     }
 
     @Test
@@ -215,9 +256,8 @@ class UserServiceTest {
                 null
         );
 
-        when(userRepository.existsByUsername(dto.getUsername())).thenReturn(false);
-        when(userRepository.existsByEmail(dto.getEmail())).thenReturn(false);
-        when(userRepository.existsByPhone(dto.getPhone())).thenReturn(false);
+        when(userRepository.findIdentityConflicts(dto.getUsername(), dto.getEmail(), dto.getPhone()))
+                .thenReturn(List.of());
         when(roleRepository.findByName(UserRole.USER.getRoleName())).thenReturn(Optional.empty());
 
         // Act & Assert
@@ -225,49 +265,27 @@ class UserServiceTest {
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining(UserRole.USER.getRoleName());
 
-        verify(userRepository).existsByUsername(dto.getUsername());
-        verify(userRepository).existsByEmail(dto.getEmail());
-        verify(userRepository).existsByPhone(dto.getPhone());
         verify(roleRepository).findByName(UserRole.USER.getRoleName());
-        verify(userRepository, never()).save(any());
-    }
-
-    @Test
-    @DisplayName("Should increment failed login attempts and save user on failed login")
-    void processFailedLogin_whenValidUser_thenIncrementsFailedAttemptsAndSaves() {
-        // Arrange
-        User user = new User();
-        user.setUsername("felipeuser");
-        user.setFailedLoginAttempts(0);
-
-        when(userRepository.findByUsername(user.getUsername())).thenReturn(Optional.of(user));
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
-
-        // Act
-        userService.processFailedLogin(user.getUsername());
-
-        // Assert
-        assertThat(user.getFailedLoginAttempts())
-                .as("Failed login attempts should be incremented by 1")
-                .isEqualTo(1);
-
-        verify(userRepository).findByUsername(user.getUsername());
-        verify(userRepository).save(user);
+        verify(userRepository, never()).saveAndFlush(any());
     }
 
-    @Test
-    @DisplayName("Should do nothing and not throw when username not found during failed login process")
-    void processFailedLogin_userNotFound_noException() {
-        // Arrange
-        String username = "notfound";
-        when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
+    private static UserIdentityView identity(String username, String email, String phone) {
+        return new UserIdentityView() {
+            @Override
+            public String getUsername() {
+                return username;
+            }
 
-        // Act & Assert (no exception expected)
-        assertThatCode(() -> userService.processFailedLogin(username))
-                .doesNotThrowAnyException();
+            @Override
+            public String getEmail() {
+                return email;
+            }
 
-        // Verify no save was called
-        verify(userRepository, never()).save(any());
+            @Override
+            public String getPhone() {
+                return phone;
+            }
+        };
     }
 
     @Test
@@ -275,7 +293,9 @@ class UserServiceTest {
     void processSuccessfulLogin_resetsAndSaves() {
         // Arrange
         User user = buildUser();
-        user.incrementFailedLoginAttempts(); // Simulate failed attempts
+        user.setFailedLoginAttempts(5); // Simulate a lock from failed attempts
+        user.setAccountNonLocked(false);
+        user.setLockedUntil(LocalDateTime.now().plusMinutes(15));
         when(userRepository.findByUsername(user.getUsername())).thenReturn(Optional.of(user));
         when(userRepository.save(any(User.class))).thenReturn(user);
 
@@ -285,6 +305,8 @@ class UserServiceTest {
         // Assert
         verify(userRepository).save(user);
         assertThat(user.getFailedLoginAttempts()).isEqualTo(0);
+        assertThat(user.isAccountNonLocked()).isTrue();
+        assertThat(user.getLockedUntil()).isNull();
     }
 
     @Test